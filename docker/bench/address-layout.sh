@@ -0,0 +1,148 @@
+#!/bin/bash
+
+# Compares insert and read throughput of the two hotel address layouts directly in MariaDB:
+#   - joined:   addresses table + hotels.address_id (two IDENTITY inserts per hotel, JOIN on every read),
+#   - embedded: address columns in hotels (one insert, no JOIN) - the current mapping.
+# Both layouts are created as scratch tables (bench_*), filled row by row in one transaction per hotel
+# (as JPA does on create), then read by random ID and as name-ordered pages with the address.
+# The scratch tables are dropped at the end.
+#
+# Usage: docker/bench/address-layout.sh [hotels] [reads]
+# Requires the docker-compose stack (service "mariadb") to be running.
+set -e
+
+HOTELS=${1:-20000}
+READS=${2:-20000}
+PAGES=${PAGES:-2000}
+MYSQL=${MYSQL:-docker compose exec -T mariadb mariadb -uhotel -photel123 hoteldb}
+
+$MYSQL <<SQL
+DROP TABLE IF EXISTS bench_hotels_joined, bench_addresses, bench_hotels_embedded;
+
+CREATE TABLE bench_addresses (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    postal_code VARCHAR(20), city VARCHAR(100) NOT NULL, street VARCHAR(200) NOT NULL,
+    building VARCHAR(50) NOT NULL, latitude DOUBLE, longitude DOUBLE,
+    INDEX idx_city (city, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE bench_hotels_joined (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL, address_id BIGINT NOT NULL UNIQUE, category VARCHAR(20), notes TEXT,
+    INDEX idx_name_id (name, id),
+    FOREIGN KEY (address_id) REFERENCES bench_addresses(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE bench_hotels_embedded (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL, postal_code VARCHAR(20), city VARCHAR(100) NOT NULL,
+    street VARCHAR(200) NOT NULL, building VARCHAR(50) NOT NULL, latitude DOUBLE, longitude DOUBLE,
+    category VARCHAR(20), notes TEXT,
+    INDEX idx_name_id (name, id),
+    INDEX idx_city (city, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+DELIMITER //
+
+CREATE OR REPLACE PROCEDURE bench_report(label VARCHAR(40), ops INT, started DATETIME(6))
+BEGIN
+    DECLARE seconds DOUBLE DEFAULT TIMESTAMPDIFF(MICROSECOND, started, NOW(6)) / 1e6;
+    SELECT label AS layout, ops, ROUND(seconds, 2) AS seconds, ROUND(ops / seconds) AS ops_per_second;
+END//
+
+CREATE OR REPLACE PROCEDURE bench_insert_joined(n INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE started DATETIME(6) DEFAULT NOW(6);
+    WHILE i < n DO
+        START TRANSACTION;
+        INSERT INTO bench_addresses (postal_code, city, street, building, latitude, longitude)
+        VALUES ('101000', CONCAT('Город ', i MOD 500), 'Тестовая улица', i, 55 + RAND(), 37 + RAND());
+        INSERT INTO bench_hotels_joined (name, address_id, category, notes)
+        VALUES (CONCAT('Отель ', MD5(i)), LAST_INSERT_ID(), 'THREE_STARS', 'Примечание');
+        COMMIT;
+        SET i = i + 1;
+    END WHILE;
+    CALL bench_report('insert joined', n, started);
+END//
+
+CREATE OR REPLACE PROCEDURE bench_insert_embedded(n INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE started DATETIME(6) DEFAULT NOW(6);
+    WHILE i < n DO
+        START TRANSACTION;
+        INSERT INTO bench_hotels_embedded (name, postal_code, city, street, building, latitude, longitude,
+                                           category, notes)
+        VALUES (CONCAT('Отель ', MD5(i)), '101000', CONCAT('Город ', i MOD 500), 'Тестовая улица', i,
+                55 + RAND(), 37 + RAND(), 'THREE_STARS', 'Примечание');
+        COMMIT;
+        SET i = i + 1;
+    END WHILE;
+    CALL bench_report('insert embedded', n, started);
+END//
+
+CREATE OR REPLACE PROCEDURE bench_read_joined(n INT, pages INT, total INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE hotel_name VARCHAR(255);
+    DECLARE hotel_city VARCHAR(100);
+    DECLARE started DATETIME(6) DEFAULT NOW(6);
+    WHILE i < n DO
+        SELECT h.name, a.city INTO hotel_name, hotel_city
+        FROM bench_hotels_joined h LEFT JOIN bench_addresses a ON a.id = h.address_id
+        WHERE h.id = 1 + FLOOR(RAND() * total);
+        SET i = i + 1;
+    END WHILE;
+    CALL bench_report('get by id joined', n, started);
+
+    SET i = 0, started = NOW(6);
+    WHILE i < pages DO
+        SELECT MAX(p.city) INTO hotel_city FROM (
+            SELECT h.id, h.name, a.city FROM bench_hotels_joined h LEFT JOIN bench_addresses a ON a.id = h.address_id
+            ORDER BY h.name, h.id LIMIT 20 OFFSET 1000
+        ) p;
+        SET i = i + 1;
+    END WHILE;
+    CALL bench_report('page joined', pages, started);
+END//
+
+CREATE OR REPLACE PROCEDURE bench_read_embedded(n INT, pages INT, total INT)
+BEGIN
+    DECLARE i INT DEFAULT 0;
+    DECLARE hotel_name VARCHAR(255);
+    DECLARE hotel_city VARCHAR(100);
+    DECLARE started DATETIME(6) DEFAULT NOW(6);
+    WHILE i < n DO
+        SELECT h.name, h.city INTO hotel_name, hotel_city
+        FROM bench_hotels_embedded h
+        WHERE h.id = 1 + FLOOR(RAND() * total);
+        SET i = i + 1;
+    END WHILE;
+    CALL bench_report('get by id embedded', n, started);
+
+    SET i = 0, started = NOW(6);
+    WHILE i < pages DO
+        SELECT MAX(p.city) INTO hotel_city FROM (
+            SELECT h.id, h.name, h.city FROM bench_hotels_embedded h
+            ORDER BY h.name, h.id LIMIT 20 OFFSET 1000
+        ) p;
+        SET i = i + 1;
+    END WHILE;
+    CALL bench_report('page embedded', pages, started);
+END//
+
+DELIMITER ;
+
+CALL bench_insert_joined($HOTELS);
+CALL bench_insert_embedded($HOTELS);
+CALL bench_read_joined($READS, $PAGES, $HOTELS);
+CALL bench_read_embedded($READS, $PAGES, $HOTELS);
+
+DROP PROCEDURE bench_report;
+DROP PROCEDURE bench_insert_joined;
+DROP PROCEDURE bench_insert_embedded;
+DROP PROCEDURE bench_read_joined;
+DROP PROCEDURE bench_read_embedded;
+DROP TABLE bench_hotels_joined, bench_addresses, bench_hotels_embedded;
+SQL
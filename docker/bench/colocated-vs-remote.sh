@@ -0,0 +1,38 @@
+#!/bin/bash
+
+# Compares latency of the same HotelResource contract served
+#   - by Quarkus (hotel-rest) calling HotelServiceRemote over remote+http, and
+#   - by the co-located hotel-web module inside WildFly calling HotelServiceLocal by reference.
+#
+# Usage: docker/bench/colocated-vs-remote.sh [requests] [path]
+# Requires the docker-compose stack (or equivalent local setup) to be running.
+set -e
+
+REQUESTS=${1:-2000}
+REQUEST_PATH=${2:-/api/v1/hotels?page=0&size=20}
+REMOTE_URL=${REMOTE_URL:-http://localhost:8081}
+COLOCATED_URL=${COLOCATED_URL:-http://localhost:8080/hotel}
+WARMUP=${WARMUP:-200}
+
+measure() {
+    local name=$1
+    local url=$2
+
+    # Warm-up: JIT, connection pools, EJB client
+    for _ in $(seq 1 "$WARMUP"); do
+        curl -s -o /dev/null "$url"
+    done
+
+    for _ in $(seq 1 "$REQUESTS"); do
+        curl -s -o /dev/null -w "%{time_total}\n" "$url"
+    done | sort -n | awk -v name="$name" '
+        { t[NR] = $1 * 1000; sum += t[NR] }
+        END {
+            printf "%-10s n=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms\n",
+                name, NR, sum / NR, t[int(NR * 0.50)], t[int(NR * 0.90)], t[int(NR * 0.99)], t[NR]
+        }'
+}
+
+echo "=== $REQUEST_PATH, $REQUESTS requests (sequential) ==="
+measure "remote" "$REMOTE_URL$REQUEST_PATH"
+measure "colocated" "$COLOCATED_URL$REQUEST_PATH"
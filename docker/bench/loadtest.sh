@@ -0,0 +1,42 @@
+#!/bin/bash
+
+# End-to-end load test against the docker-compose stack:
+#   1. builds hotel-loadtest (profile "loadtest"),
+#   2. optionally seeds MariaDB with a synthetic dataset (HOTELS > 0),
+#   3. replays the read/write mix against HotelResource and writes a JSON report,
+#   4. compares it with BASELINE (a report of a previous build), if given.
+#
+# Usage: docker/bench/loadtest.sh <label> [extra LoadDriver options...]
+# Environment: HOTELS=1000000 TRUNCATE=true TARGET=http://localhost:8081 RATE=200 DURATION=60
+#              MIX=list=55,byId=30,nearby=5,create=5,update=4,delete=1 BASELINE=path/to/report.json
+set -e
+
+LABEL=${1:-$(git rev-parse --short HEAD 2>/dev/null || echo local)}
+shift || true
+HOTELS=${HOTELS:-0}
+TRUNCATE=${TRUNCATE:-false}
+DB_URL=${DB_URL:-jdbc:mariadb://localhost:3307/hoteldb}
+TARGET=${TARGET:-http://localhost:8081}
+RATE=${RATE:-200}
+DURATION=${DURATION:-60}
+MIX=${MIX:-list=55,byId=30,nearby=5,create=5,update=4,delete=1}
+REPORT_DIR=${REPORT_DIR:-hotel-loadtest/target/reports}
+
+./mvnw -q -B package -Ploadtest -pl hotel-loadtest -am -DskipTests
+CLASSPATH="hotel-loadtest/target/hotel-loadtest.jar:hotel-loadtest/target/lib/*"
+
+if [ "$HOTELS" -gt 0 ]; then
+    java -cp "$CLASSPATH" ru.example.hotel.loadtest.DataGenerator \
+        --url="$DB_URL" --hotels="$HOTELS" --truncate="$TRUNCATE"
+    echo "Dataset changed: restart WildFly so that in-memory indexes are rebuilt"
+    exit 0
+fi
+
+REPORT="$REPORT_DIR/report-$LABEL.json"
+java -cp "$CLASSPATH" ru.example.hotel.loadtest.LoadDriver \
+    --target="$TARGET" --rate="$RATE" --duration="$DURATION" --mix="$MIX" \
+    --label="$LABEL" --report="$REPORT" "$@"
+
+if [ -n "$BASELINE" ]; then
+    java -cp "$CLASSPATH" ru.example.hotel.loadtest.CompareReports "$BASELINE" "$REPORT"
+fi
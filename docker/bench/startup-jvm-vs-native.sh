@@ -0,0 +1,71 @@
+#!/bin/bash
+
+# Compares startup time and memory footprint of hotel-rest built
+#   - as a JVM application (docker/quarkus/Dockerfile) and
+#   - as a native executable (docker/quarkus/Dockerfile.native).
+#
+# Startup time is measured from "docker run" to the first successful /health/ready
+# (EJB proxy is looked up lazily, so a first GET is issued as well). Memory is the
+# container RSS after startup and after a short load.
+#
+# Usage: docker/bench/startup-jvm-vs-native.sh [runs] [requests]
+# Requires the docker-compose stack (wildfly, mariadb) to be running.
+set -e
+
+RUNS=${1:-5}
+REQUESTS=${2:-500}
+NETWORK=${NETWORK:-hotel-service_hotel-network}
+WILDFLY_HOST=${WILDFLY_HOST:-wildfly}
+PORT=${PORT:-18081}
+JVM_IMAGE=${JVM_IMAGE:-hotel-rest:jvm}
+NATIVE_IMAGE=${NATIVE_IMAGE:-hotel-rest:native}
+
+if [ -z "$SKIP_BUILD" ]; then
+    docker build -q -f docker/quarkus/Dockerfile -t "$JVM_IMAGE" . > /dev/null
+    docker build -q -f docker/quarkus/Dockerfile.native -t "$NATIVE_IMAGE" . > /dev/null
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_mb() {
+    docker stats --no-stream --format "{{.MemUsage}}" "$1" | awk '{ print $1 }'
+}
+
+measure() {
+    local name=$1
+    local image=$2
+    local total=0
+
+    for run in $(seq 1 "$RUNS"); do
+        local start
+        start=$(now_ms)
+        docker run -d --name hotel-rest-bench --network "$NETWORK" -p "$PORT:8081" \
+            -e WILDFLY_HOST="$WILDFLY_HOST" -e WILDFLY_PORT=8080 "$image" > /dev/null
+
+        until curl -sf -o /dev/null "http://localhost:$PORT/health/ready"; do
+            sleep 0.01
+        done
+        curl -sf -o /dev/null "http://localhost:$PORT/api/v1/hotels?page=0&size=10"
+        local elapsed=$(( $(now_ms) - start ))
+        total=$(( total + elapsed ))
+
+        if [ "$run" -eq "$RUNS" ]; then
+            local idle
+            idle=$(rss_mb hotel-rest-bench)
+            for _ in $(seq 1 "$REQUESTS"); do
+                curl -s -o /dev/null "http://localhost:$PORT/api/v1/hotels?page=0&size=10"
+            done
+            local loaded
+            loaded=$(rss_mb hotel-rest-bench)
+            printf "%-7s startup(avg of %d)=%dms  rss(idle)=%s  rss(after %d requests)=%s\n" \
+                "$name" "$RUNS" $(( total / RUNS )) "$idle" "$REQUESTS" "$loaded"
+        fi
+
+        docker rm -f hotel-rest-bench > /dev/null
+    done
+}
+
+measure "jvm" "$JVM_IMAGE"
+measure "native" "$NATIVE_IMAGE"
@@ -0,0 +1,95 @@
+#!/bin/bash
+
+# Measures time-to-first-request and time-to-peak-throughput of
+#   - hotel-rest: JVM without CDS, JVM with AppCDS, CRaC restore of a warmed-up checkpoint;
+#   - WildFly (co-located hotel-web): without CDS and with the AppCDS archive.
+#
+# Time-to-first-request: from "docker run" to the first successful API response.
+# Time-to-peak-throughput: from "docker run" to the first window (WINDOW requests,
+# CONCURRENCY parallel clients) reaching 95% of the best window throughput; the run stops
+# after PLATEAU windows without a 5% improvement.
+#
+# Usage: docker/bench/startup-modes.sh
+# Requires the docker-compose stack (mariadb, wildfly) to be running, images built with
+# docker/quarkus/Dockerfile (hotel-rest:jvm), docker/wildfly/Dockerfile (hotel-wildfly)
+# and docker/quarkus/crac-checkpoint.sh (hotel-rest:crac-restore).
+set -e
+
+NETWORK=${NETWORK:-hotel-service_hotel-network}
+WILDFLY_HOST=${WILDFLY_HOST:-wildfly}
+PORT=${PORT:-18081}
+WINDOW=${WINDOW:-200}
+CONCURRENCY=${CONCURRENCY:-8}
+PLATEAU=${PLATEAU:-5}
+MAX_WINDOWS=${MAX_WINDOWS:-100}
+JVM_IMAGE=${JVM_IMAGE:-hotel-rest:jvm}
+CRAC_IMAGE=${CRAC_IMAGE:-hotel-rest:crac-restore}
+WILDFLY_IMAGE=${WILDFLY_IMAGE:-hotel-wildfly}
+EAR=${EAR:-$(pwd)/hotel-ear/target/hotel-app.ear}
+CONTAINER=hotel-startup-bench
+
+now_ms() {
+    date +%s%3N
+}
+
+# measure <name> <url> <docker run args...>
+measure() {
+    local name=$1
+    local url=$2
+    shift 2
+
+    docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+    local start
+    start=$(now_ms)
+    docker run -d --name "$CONTAINER" --network "$NETWORK" "$@" > /dev/null
+
+    until curl -sf -o /dev/null "$url"; do
+        sleep 0.01
+    done
+    local first=$(( $(now_ms) - start ))
+
+    local best=0 best_at=0 stale=0
+    local -a rps_at=()
+    for _ in $(seq 1 "$MAX_WINDOWS"); do
+        local window_start
+        window_start=$(now_ms)
+        seq 1 "$WINDOW" | xargs -P "$CONCURRENCY" -I{} curl -s -o /dev/null "$url"
+        local window_end
+        window_end=$(now_ms)
+        local rps=$(( WINDOW * 1000 / (window_end - window_start + 1) ))
+        rps_at+=("$rps:$(( window_end - start ))")
+
+        if [ $(( rps * 100 )) -gt $(( best * 105 )) ]; then
+            best=$rps
+            stale=0
+        else
+            stale=$(( stale + 1 ))
+            [ "$stale" -ge "$PLATEAU" ] && break
+        fi
+    done
+
+    for entry in "${rps_at[@]}"; do
+        if [ $(( ${entry%%:*} * 100 )) -ge $(( best * 95 )) ]; then
+            best_at=${entry##*:}
+            break
+        fi
+    done
+
+    docker rm -f "$CONTAINER" > /dev/null
+    printf "%-22s first request=%6dms  peak=%5d req/s reached at %6dms\n" "$name" "$first" "$best" "$best_at"
+}
+
+REST_URL="http://localhost:$PORT/api/v1/hotels?page=0&size=20"
+REST_ENV=(-p "$PORT:8081" -e WILDFLY_HOST="$WILDFLY_HOST" -e WILDFLY_PORT=8080)
+
+measure "hotel-rest jvm" "$REST_URL" "${REST_ENV[@]}" -e CDS_OPTS=-Xshare:off "$JVM_IMAGE"
+measure "hotel-rest appcds" "$REST_URL" "${REST_ENV[@]}" "$JVM_IMAGE"
+measure "hotel-rest crac" "$REST_URL" "${REST_ENV[@]}" \
+    --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE "$CRAC_IMAGE"
+
+WILDFLY_URL="http://localhost:$PORT/hotel/api/v1/hotels?page=0&size=20"
+WILDFLY_ENV=(-p "$PORT:8080" -e DB_HOST=mariadb
+    -v "$EAR:/opt/jboss/wildfly/standalone/deployments/hotel-app.ear")
+
+measure "wildfly" "$WILDFLY_URL" "${WILDFLY_ENV[@]}" -e CDS_OPTS=-Xshare:off "$WILDFLY_IMAGE"
+measure "wildfly appcds" "$WILDFLY_URL" "${WILDFLY_ENV[@]}" "$WILDFLY_IMAGE"
@@ -9,38 +9,73 @@ USE hoteldb;
 -- Create tables (optional - Hibernate will create them automatically)
 -- These are just for reference and initial data
 
--- Addresses table
-CREATE TABLE IF NOT EXISTS addresses (
+-- Hotels table (the address is embedded: no separate table, no JOIN)
+CREATE TABLE IF NOT EXISTS hotels (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
     postal_code VARCHAR(20),
     city VARCHAR(100) NOT NULL,
     street VARCHAR(200) NOT NULL,
     building VARCHAR(50) NOT NULL,
-    INDEX idx_city (city)
+    latitude DOUBLE,
+    longitude DOUBLE,
+    category VARCHAR(20),
+    -- Star count of category (ONE_STAR = 1 ... FIVE_STARS = 5): sort key, codes sort alphabetically
+    category_rank TINYINT,
+    notes TEXT,
+    INDEX idx_name_id (name, id),
+    INDEX idx_category_id (category_rank, id),
+    INDEX idx_category_name_id (category_rank, name, id),
+    INDEX idx_city (city, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
--- Hotels table
-CREATE TABLE IF NOT EXISTS hotels (
+-- Room types of a hotel
+CREATE TABLE IF NOT EXISTS room_types (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    address_id BIGINT NOT NULL UNIQUE,
-    category VARCHAR(20),
-    notes TEXT,
-    INDEX idx_name (name),
-    FOREIGN KEY (address_id) REFERENCES addresses(id) ON DELETE CASCADE
+    hotel_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    capacity INT NOT NULL,
+    total_rooms INT NOT NULL,
+    INDEX idx_room_types_hotel (hotel_id),
+    FOREIGN KEY (hotel_id) REFERENCES hotels(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Free rooms per room type and night (booking horizon, extended daily by WildFly)
+CREATE TABLE IF NOT EXISTS room_inventory (
+    room_type_id BIGINT NOT NULL,
+    stay_date DATE NOT NULL,
+    available SMALLINT NOT NULL,
+    PRIMARY KEY (room_type_id, stay_date),
+    INDEX idx_room_inventory_date (stay_date),
+    FOREIGN KEY (room_type_id) REFERENCES room_types(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- Insert sample data
-INSERT INTO addresses (postal_code, city, street, building) VALUES
-    ('101000', 'Москва', 'Тверская улица', '15'),
-    ('190000', 'Санкт-Петербург', 'Невский проспект', '28'),
-    ('420000', 'Казань', 'улица Баумана', '44'),
-    ('630000', 'Новосибирск', 'Красный проспект', '100'),
-    ('350000', 'Краснодар', 'улица Красная', '75');
-
-INSERT INTO hotels (name, address_id, category, notes) VALUES
-    ('Grand Hotel Moscow', 1, 'FIVE_STARS', 'Роскошный отель в центре Москвы с видом на Кремль'),
-    ('Невский Палас', 2, 'FOUR_STARS', 'Исторический отель на Невском проспекте'),
-    ('Казань Плаза', 3, 'FOUR_STARS', 'Современный бизнес-отель в центре Казани'),
-    ('Сибирь', 4, 'THREE_STARS', 'Комфортабельный отель для деловых путешественников'),
-    ('Кубань', 5, 'THREE_STARS', 'Уютный отель в южной столице России');
+INSERT INTO hotels (name, postal_code, city, street, building, latitude, longitude, category, notes) VALUES
+    ('Grand Hotel Moscow', '101000', 'Москва', 'Тверская улица', '15', 55.7616, 37.6090,
+        'FIVE_STARS', 'Роскошный отель в центре Москвы с видом на Кремль'),
+    ('Невский Палас', '190000', 'Санкт-Петербург', 'Невский проспект', '28', 59.9355, 30.3250,
+        'FOUR_STARS', 'Исторический отель на Невском проспекте'),
+    ('Казань Плаза', '420000', 'Казань', 'улица Баумана', '44', 55.7908, 49.1149,
+        'FOUR_STARS', 'Современный бизнес-отель в центре Казани'),
+    ('Сибирь', '630000', 'Новосибирск', 'Красный проспект', '100', 55.0415, 82.9176,
+        'THREE_STARS', 'Комфортабельный отель для деловых путешественников'),
+    ('Кубань', '350000', 'Краснодар', 'улица Красная', '75', 45.0348, 38.9762,
+        'THREE_STARS', 'Уютный отель в южной столице России');
+
+UPDATE hotels SET category_rank = CASE category
+    WHEN 'ONE_STAR' THEN 1 WHEN 'TWO_STARS' THEN 2 WHEN 'THREE_STARS' THEN 3
+    WHEN 'FOUR_STARS' THEN 4 WHEN 'FIVE_STARS' THEN 5 END;
+
+INSERT INTO room_types (hotel_id, name, capacity, total_rooms) VALUES
+    (1, 'Стандарт', 2, 20),
+    (1, 'Люкс', 2, 5),
+    (2, 'Стандарт', 2, 15),
+    (2, 'Семейный', 4, 4),
+    (3, 'Стандарт', 2, 30),
+    (4, 'Стандарт', 2, 25),
+    (5, 'Стандарт', 3, 10);
+
+-- Inventory for the default 365-day horizon (seq_0_to_364 is MariaDB's Sequence engine)
+INSERT INTO room_inventory (room_type_id, stay_date, available)
+SELECT r.id, CURDATE() + INTERVAL s.seq DAY, r.total_rooms FROM room_types r JOIN seq_0_to_364 s;
@@ -0,0 +1,42 @@
+-- Moves hotel addresses from the addresses table into hotels columns.
+-- For databases created by an init.sql that still had the addresses table; fresh volumes already
+-- have the embedded layout. Run once with WildFly stopped:
+--   docker compose exec -T mariadb mariadb -uhotel -photel123 hoteldb < docker/mariadb/migrations/001-embed-address.sql
+
+USE hoteldb;
+
+ALTER TABLE hotels
+    ADD COLUMN IF NOT EXISTS postal_code VARCHAR(20) AFTER name,
+    ADD COLUMN IF NOT EXISTS city VARCHAR(100) AFTER postal_code,
+    ADD COLUMN IF NOT EXISTS street VARCHAR(200) AFTER city,
+    ADD COLUMN IF NOT EXISTS building VARCHAR(50) AFTER street,
+    ADD COLUMN IF NOT EXISTS latitude DOUBLE AFTER building,
+    ADD COLUMN IF NOT EXISTS longitude DOUBLE AFTER latitude;
+
+UPDATE hotels h JOIN addresses a ON a.id = h.address_id
+SET h.postal_code = a.postal_code,
+    h.city = a.city,
+    h.street = a.street,
+    h.building = a.building,
+    h.latitude = a.latitude,
+    h.longitude = a.longitude;
+
+-- The foreign key name was generated by MariaDB, so it is looked up before dropping
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'hotels'
+             AND COLUMN_NAME = 'address_id' AND REFERENCED_TABLE_NAME = 'addresses' LIMIT 1);
+SET @sql = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE hotels DROP FOREIGN KEY `', @fk, '`'));
+PREPARE drop_fk FROM @sql;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE hotels
+    MODIFY city VARCHAR(100) NOT NULL,
+    MODIFY street VARCHAR(200) NOT NULL,
+    MODIFY building VARCHAR(50) NOT NULL,
+    DROP COLUMN address_id,
+    ADD INDEX IF NOT EXISTS idx_city (city, id);
+
+DROP TABLE addresses;
+
+ANALYZE TABLE hotels;
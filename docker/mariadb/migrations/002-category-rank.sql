@@ -0,0 +1,25 @@
+-- Adds the category_rank sort key and rebuilds the category sort indexes on it.
+-- category is stored as its code (EnumType.STRING), so ORDER BY category sorted hotels alphabetically
+-- (FIVE_STARS, FOUR_STARS, ONE_STAR, ...). hbm2ddl update adds the column but never alters an index that
+-- already exists, so idx_category_id / idx_category_name_id stay on category until this script runs.
+-- Also creates idx_city (city, id) on schemas that predate it. Run once with WildFly stopped:
+--   docker compose exec -T mariadb mariadb -uhotel -photel123 hoteldb < docker/mariadb/migrations/002-category-rank.sql
+
+USE hoteldb;
+
+ALTER TABLE hotels
+    ADD COLUMN IF NOT EXISTS category_rank TINYINT AFTER category;
+
+UPDATE hotels SET category_rank = CASE category
+    WHEN 'ONE_STAR' THEN 1 WHEN 'TWO_STARS' THEN 2 WHEN 'THREE_STARS' THEN 3
+    WHEN 'FOUR_STARS' THEN 4 WHEN 'FIVE_STARS' THEN 5 END;
+
+ALTER TABLE hotels
+    DROP INDEX IF EXISTS idx_category_id,
+    DROP INDEX IF EXISTS idx_category_name_id,
+    DROP INDEX IF EXISTS idx_city,
+    ADD INDEX idx_category_id (category_rank, id),
+    ADD INDEX idx_category_name_id (category_rank, name, id),
+    ADD INDEX idx_city (city, id);
+
+ANALYZE TABLE hotels;
@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Builds a CRaC image of hotel-rest that restores an already warmed-up JVM:
+#   1. starts docker/quarkus/Dockerfile.crac with checkpointing enabled,
+#   2. warms it up with API requests (JIT, EJB proxy, connection pools),
+#   3. takes a checkpoint (EjbClientProducer closes the EJB context, the JVM exits),
+#   4. commits the container with the checkpoint files as $RESTORE_IMAGE.
+#
+# Usage: docker/quarkus/crac-checkpoint.sh [warmup-requests]
+# Requires the docker-compose stack (wildfly, mariadb) to be running.
+# Run the result with: docker run --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE $RESTORE_IMAGE
+set -e
+
+WARMUP=${1:-5000}
+NETWORK=${NETWORK:-hotel-service_hotel-network}
+WILDFLY_HOST=${WILDFLY_HOST:-wildfly}
+PORT=${PORT:-18081}
+IMAGE=${IMAGE:-hotel-rest:crac}
+RESTORE_IMAGE=${RESTORE_IMAGE:-hotel-rest:crac-restore}
+CONTAINER=hotel-rest-checkpoint
+
+docker build -q -f docker/quarkus/Dockerfile.crac -t "$IMAGE" . > /dev/null
+docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+
+docker run -d --name "$CONTAINER" --network "$NETWORK" -p "$PORT:8081" \
+    --cap-add CHECKPOINT_RESTORE --cap-add SYS_PTRACE \
+    -e WILDFLY_HOST="$WILDFLY_HOST" -e WILDFLY_PORT=8080 "$IMAGE" > /dev/null
+
+until curl -sf -o /dev/null "http://localhost:$PORT/health/ready"; do
+    sleep 0.1
+done
+
+echo "Warming up with $WARMUP requests..."
+for i in $(seq 1 "$WARMUP"); do
+    case $(( i % 3 )) in
+        0) curl -s -o /dev/null "http://localhost:$PORT/api/v1/hotels?page=0&size=20" ;;
+        1) curl -s -o /dev/null "http://localhost:$PORT/api/v1/hotels/$(( i % 5 + 1 ))" ;;
+        2) curl -s -o /dev/null "http://localhost:$PORT/api/v1/hotels/nearby?lat=55.7558&lon=37.6173&radius=10" ;;
+    esac
+done
+
+echo "Taking checkpoint..."
+docker exec "$CONTAINER" jcmd /app/quarkus-run.jar JDK.checkpoint
+docker wait "$CONTAINER" > /dev/null
+
+docker commit -c 'CMD ["sh", "/app/crac-entrypoint.sh"]' "$CONTAINER" "$RESTORE_IMAGE" > /dev/null
+docker rm "$CONTAINER" > /dev/null
+echo "Checkpoint image: $RESTORE_IMAGE"
@@ -0,0 +1,11 @@
+#!/bin/sh
+
+# Restores hotel-rest from a CRaC checkpoint when one exists in $CRAC_CHECKPOINT_DIR,
+# otherwise starts normally with checkpointing enabled (jcmd <pid> JDK.checkpoint).
+if [ -f "$CRAC_CHECKPOINT_DIR/core.img" ]; then
+    exec java -XX:CRaCRestoreFrom="$CRAC_CHECKPOINT_DIR"
+fi
+
+mkdir -p "$CRAC_CHECKPOINT_DIR"
+cd /app
+exec java -XX:CRaCCheckpointTo="$CRAC_CHECKPOINT_DIR" $JAVA_OPTS -jar /app/quarkus-run.jar
@@ -0,0 +1,10 @@
+#!/bin/sh
+
+# Starts hotel-rest with JAVA_OPTS and the AppCDS archive when the image was built with it.
+# CDS_OPTS overrides the archive options, e.g. CDS_OPTS=-Xshare:off for comparison runs.
+if [ -z "$CDS_OPTS" ] && [ -f /app/app-cds.jsa ]; then
+    CDS_OPTS="-XX:SharedArchiveFile=/app/app-cds.jsa -Xshare:auto"
+fi
+
+cd /app
+exec java $JAVA_OPTS $CDS_OPTS -jar /app/quarkus-run.jar
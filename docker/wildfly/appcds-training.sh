@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# AppCDS training run at image build time: boots WildFly once with -XX:ArchiveClassesAtExit
+# and shuts it down gracefully, the JVM writes the dynamic archive on exit.
+# Covers the classes loaded while the server boots; the EAR is mounted at run time.
+set -e
+
+WILDFLY=/opt/jboss/wildfly
+ARCHIVE=$WILDFLY/wildfly-cds.jsa
+TIMEOUT=${TIMEOUT:-180}
+
+CDS_OPTS="-XX:ArchiveClassesAtExit=$ARCHIVE" \
+    "$WILDFLY/bin/standalone.sh" -c standalone-full.xml > /tmp/appcds-training.log 2>&1 &
+
+for _ in $(seq 1 "$TIMEOUT"); do
+    if "$WILDFLY/bin/jboss-cli.sh" -c --command=":read-attribute(name=server-state)" 2>/dev/null | grep -q running; then
+        break
+    fi
+    sleep 1
+done
+
+"$WILDFLY/bin/jboss-cli.sh" -c --command=":shutdown"
+wait
+
+if [ ! -f "$ARCHIVE" ]; then
+    cat /tmp/appcds-training.log
+    echo "AppCDS archive was not created" >&2
+    exit 1
+fi
+rm -rf /tmp/appcds-training.log "$WILDFLY/standalone/log/"* "$WILDFLY/standalone/data/"* "$WILDFLY/standalone/tmp/"*
+echo "AppCDS archive: $(du -h "$ARCHIVE" | cut -f1)"
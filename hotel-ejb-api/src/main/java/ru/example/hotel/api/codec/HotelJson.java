@@ -0,0 +1,127 @@
+package ru.example.hotel.api.codec;
+
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+
+import java.util.List;
+
+/**
+ * JSON для отеля и страницы отелей без рефлексии
+ *
+ * Поля пишутся в порядке объявления в DTO, null-поля пропускаются - как ObjectMapper
+ * с serialization-inclusion=non_null, поэтому ответ совпадает с Jackson побайтно.
+ * При добавлении поля в HotelDTO, AddressDTO или PageResponse его нужно добавить и сюда.
+ */
+public final class HotelJson {
+
+    private static final byte[] ID = JsonOutput.name("id");
+    private static final byte[] NAME = JsonOutput.name("name");
+    private static final byte[] ADDRESS = JsonOutput.name("address");
+    private static final byte[] CATEGORY = JsonOutput.name("category");
+    private static final byte[] NOTES = JsonOutput.name("notes");
+
+    private static final byte[] POSTAL_CODE = JsonOutput.name("postalCode");
+    private static final byte[] CITY = JsonOutput.name("city");
+    private static final byte[] STREET = JsonOutput.name("street");
+    private static final byte[] BUILDING = JsonOutput.name("building");
+    private static final byte[] LATITUDE = JsonOutput.name("latitude");
+    private static final byte[] LONGITUDE = JsonOutput.name("longitude");
+
+    private static final byte[] CONTENT = JsonOutput.name("content");
+    private static final byte[] PAGE = JsonOutput.name("page");
+    private static final byte[] SIZE = JsonOutput.name("size");
+    private static final byte[] TOTAL_ELEMENTS = JsonOutput.name("totalElements");
+    private static final byte[] TOTAL_PAGES = JsonOutput.name("totalPages");
+    private static final byte[] HAS_NEXT = JsonOutput.name("hasNext");
+    private static final byte[] HAS_PREVIOUS = JsonOutput.name("hasPrevious");
+
+    /**
+     * Начальный размер буфера на отель; с адресом без примечаний отель занимает 200-250 байт
+     */
+    private static final int HOTEL_SIZE_HINT = 256;
+
+    private HotelJson() {
+    }
+
+    public static byte[] encodeHotel(HotelDTO hotel) {
+        JsonOutput out = new JsonOutput(HOTEL_SIZE_HINT);
+        writeHotel(out, hotel);
+        return out.toByteArray();
+    }
+
+    public static byte[] encodePage(PageResponse<HotelDTO> page) {
+        List<HotelDTO> content = page.getContent();
+        JsonOutput out = new JsonOutput(128 + (content != null ? content.size() * HOTEL_SIZE_HINT : 0));
+        out.beginObject();
+        if (content != null) {
+            out.field(CONTENT).beginArray();
+            for (int i = 0; i < content.size(); i++) {
+                if (i > 0) {
+                    out.comma();
+                }
+                writeHotel(out, content.get(i));
+            }
+            out.endArray();
+        }
+        out.field(PAGE).value(page.getPage());
+        out.field(SIZE).value(page.getSize());
+        out.field(TOTAL_ELEMENTS).value(page.getTotalElements());
+        out.field(TOTAL_PAGES).value(page.getTotalPages());
+        out.field(HAS_NEXT).value(page.isHasNext());
+        out.field(HAS_PREVIOUS).value(page.isHasPrevious());
+        out.endObject();
+        return out.toByteArray();
+    }
+
+    public static void writeHotel(JsonOutput out, HotelDTO hotel) {
+        if (hotel == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        if (hotel.getId() != null) {
+            out.field(ID).value(hotel.getId());
+        }
+        if (hotel.getName() != null) {
+            out.field(NAME).value(hotel.getName());
+        }
+        if (hotel.getAddress() != null) {
+            out.field(ADDRESS);
+            writeAddress(out, hotel.getAddress());
+        }
+        if (hotel.getCategory() != null) {
+            out.field(CATEGORY).value(hotel.getCategory().name());
+        }
+        if (hotel.getNotes() != null) {
+            out.field(NOTES).value(hotel.getNotes());
+        }
+        out.endObject();
+    }
+
+    private static void writeAddress(JsonOutput out, AddressDTO address) {
+        out.beginObject();
+        if (address.getId() != null) {
+            out.field(ID).value(address.getId());
+        }
+        if (address.getPostalCode() != null) {
+            out.field(POSTAL_CODE).value(address.getPostalCode());
+        }
+        if (address.getCity() != null) {
+            out.field(CITY).value(address.getCity());
+        }
+        if (address.getStreet() != null) {
+            out.field(STREET).value(address.getStreet());
+        }
+        if (address.getBuilding() != null) {
+            out.field(BUILDING).value(address.getBuilding());
+        }
+        if (address.getLatitude() != null) {
+            out.field(LATITUDE).value(address.getLatitude().doubleValue());
+        }
+        if (address.getLongitude() != null) {
+            out.field(LONGITUDE).value(address.getLongitude().doubleValue());
+        }
+        out.endObject();
+    }
+}
@@ -0,0 +1,206 @@
+package ru.example.hotel.api.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Запись JSON в UTF-8 прямо в массив байт, без промежуточных строк и дерева
+ *
+ * Имена полей кодируются один раз (name) и копируются в ответ как есть; запятые между полями
+ * расставляются автоматически, между элементами массива - вызовом comma. Строки экранируются
+ * так же, как в Jackson, а double пишется через Double.toString, поэтому результат совпадает
+ * с ObjectMapper побайтно.
+ */
+public final class JsonOutput {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer;
+    private int position;
+    private boolean first;
+
+    public JsonOutput(int capacity) {
+        buffer = new byte[Math.max(capacity, 16)];
+    }
+
+    /**
+     * Закодировать имя поля вместе с кавычками и двоеточием (имя - ASCII без экранирования)
+     */
+    public static byte[] name(String name) {
+        return ("\"" + name + "\":").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public JsonOutput beginObject() {
+        writeByte('{');
+        first = true;
+        return this;
+    }
+
+    public JsonOutput endObject() {
+        writeByte('}');
+        first = false;
+        return this;
+    }
+
+    public JsonOutput beginArray() {
+        writeByte('[');
+        return this;
+    }
+
+    public JsonOutput endArray() {
+        writeByte(']');
+        first = false;
+        return this;
+    }
+
+    /**
+     * Разделитель перед вторым и следующими элементами массива
+     */
+    public JsonOutput comma() {
+        writeByte(',');
+        return this;
+    }
+
+    /**
+     * Имя поля, закодированное через name
+     */
+    public JsonOutput field(byte[] name) {
+        ensureCapacity(name.length + 1);
+        if (!first) {
+            buffer[position++] = ',';
+        }
+        System.arraycopy(name, 0, buffer, position, name.length);
+        position += name.length;
+        first = false;
+        return this;
+    }
+
+    public JsonOutput value(long value) {
+        return ascii(Long.toString(value));
+    }
+
+    public JsonOutput value(double value) {
+        // Как Jackson по умолчанию (WRITE_NAN_AS_STRINGS): NaN и бесконечности - строкой
+        String text = Double.toString(value);
+        return Double.isFinite(value) ? ascii(text) : value(text);
+    }
+
+    public JsonOutput value(boolean value) {
+        return raw(value ? TRUE : FALSE);
+    }
+
+    public JsonOutput nullValue() {
+        return raw(NULL);
+    }
+
+    public JsonOutput value(String value) {
+        int length = value.length();
+        // Худший случай - 6 байт на символ (экранирование вида uXXXX)
+        ensureCapacity(length * 6 + 2);
+        byte[] out = buffer;
+        int pos = position;
+        out[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    out[pos++] = (byte) c;
+                } else {
+                    pos = escape(out, pos, c);
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Как Jackson: каждая половина суррогатной пары экранируется отдельно
+                pos = unicodeEscape(out, pos, c);
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >> 12));
+                out[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[pos++] = '"';
+        position = pos;
+        return this;
+    }
+
+    public JsonOutput raw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Записанный JSON; если буфер заполнен точно, возвращается без копирования
+     */
+    public byte[] toByteArray() {
+        return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+    }
+
+    private static int escape(byte[] out, int pos, char c) {
+        out[pos++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                out[pos++] = (byte) c;
+                break;
+            case '\b':
+                out[pos++] = 'b';
+                break;
+            case '\t':
+                out[pos++] = 't';
+                break;
+            case '\n':
+                out[pos++] = 'n';
+                break;
+            case '\f':
+                out[pos++] = 'f';
+                break;
+            case '\r':
+                out[pos++] = 'r';
+                break;
+            default:
+                return unicodeEscape(out, pos - 1, c);
+        }
+        return pos;
+    }
+
+    private static int unicodeEscape(byte[] out, int pos, char c) {
+        out[pos++] = '\\';
+        out[pos++] = 'u';
+        out[pos++] = HEX[c >> 12];
+        out[pos++] = HEX[(c >> 8) & 0xF];
+        out[pos++] = HEX[(c >> 4) & 0xF];
+        out[pos++] = HEX[c & 0xF];
+        return pos;
+    }
+
+    private JsonOutput ascii(String text) {
+        int length = text.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -29,4 +29,14 @@ public class AddressDTO implements Serializable {
     private String street;
 
     private String building;
+
+    /**
+     * Широта в градусах (WGS 84)
+     */
+    private Double latitude;
+
+    /**
+     * Долгота в градусах (WGS 84)
+     */
+    private Double longitude;
 }
@@ -0,0 +1,28 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * DTO для отеля в результатах поиска свободных номеров
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableHotelDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private HotelDTO hotel;
+
+    /**
+     * Типы номеров, подходящие под запрос
+     */
+    private List<RoomAvailabilityDTO> rooms;
+}
@@ -0,0 +1,49 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * DTO с изменениями отелей после заданной позиции журнала изменений
+ *
+ * Позиция - пара epoch и sequence. epoch меняется при перезапуске WildFly, поэтому позиция
+ * другого экземпляра журнала не действительна: тогда complete = false, а epoch и sequence
+ * указывают текущую позицию, с которой можно продолжить после полной перезагрузки каталога.
+ * Отель, изменённый несколько раз, входит в ответ один раз, в актуальном состоянии (без примечаний),
+ * прочитанном из основной БД. Отель, удалённый после чтения журнала, в ответ не входит: удаление
+ * перечисляется в deleted только по журналу, следующим ответом.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelChangesDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String epoch;
+
+    /**
+     * Позиция последнего изменения, вошедшего в ответ
+     */
+    private long sequence;
+
+    /**
+     * false - журнал не покрывает запрошенную позицию, изменения не перечислены
+     */
+    private boolean complete;
+
+    /**
+     * Есть изменения после sequence, не вошедшие в ответ
+     */
+    private boolean hasMore;
+
+    private List<HotelDTO> changed;
+
+    private List<Long> deleted;
+}
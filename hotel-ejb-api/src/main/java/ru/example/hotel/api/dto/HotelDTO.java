@@ -14,7 +14,7 @@ import java.io.Serializable;
  * DTO для отеля
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class HotelDTO implements Serializable {
@@ -0,0 +1,31 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * DTO с количеством отелей по категориям и городам
+ *
+ * Счётчики каждого фасета учитывают фильтр по другому фасету: categories - в выбранном городе,
+ * cities - в выбранной категории; total - отели, подходящие под оба фильтра.
+ * Значения упорядочены по убыванию количества.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelFacetsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long total;
+
+    private Map<HotelCategory, Long> categories;
+
+    private Map<String, Long> cities;
+}
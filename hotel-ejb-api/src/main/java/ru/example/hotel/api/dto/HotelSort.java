@@ -0,0 +1,47 @@
+package ru.example.hotel.api.dto;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживаемые варианты сортировки списка отелей
+ * Для каждого варианта есть составной индекс; последним ключом всегда идёт идентификатор,
+ * поэтому порядок детерминирован и страницы не перекрываются
+ */
+public enum HotelSort {
+    NAME("name"),
+    CATEGORY("category"),
+    CATEGORY_NAME("category,name"),
+    CITY("city"),
+    ID("id");
+
+    private final String key;
+
+    HotelSort(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Найти вариант сортировки по списку полей через запятую (null или пустая строка - по названию)
+     */
+    public static HotelSort fromKey(String value) {
+        if (value == null || value.isBlank()) {
+            return NAME;
+        }
+        String normalized = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .map(String::toLowerCase)
+                .collect(Collectors.joining(","));
+        for (HotelSort sort : values()) {
+            if (sort.key.equals(normalized)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value + ", supported: " +
+                Arrays.stream(values()).map(HotelSort::getKey).collect(Collectors.joining(" | ")));
+    }
+}
@@ -0,0 +1,27 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * DTO для отеля в результатах поиска поблизости
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyHotelDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private HotelDTO hotel;
+
+    /**
+     * Расстояние от точки поиска в километрах
+     */
+    private double distanceKm;
+}
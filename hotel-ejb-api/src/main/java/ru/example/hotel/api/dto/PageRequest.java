@@ -29,7 +29,23 @@ public class PageRequest implements Serializable {
     @Builder.Default
     private boolean sortAscending = true;
 
+    /**
+     * Включать ли адрес в элементы страницы (false - без колонок адреса)
+     */
+    @Builder.Default
+    private boolean includeAddress = true;
+
+    /**
+     * Включать ли примечания (TEXT-колонка notes) в элементы страницы; по умолчанию не читаются
+     */
+    @Builder.Default
+    private boolean includeNotes = false;
+
+    /**
+     * Смещение первого элемента страницы; произведение page * size считается в long и ограничивается
+     * Integer.MAX_VALUE, чтобы очень далёкая страница давала пустой результат, а не отрицательное смещение
+     */
     public int getOffset() {
-        return page * size;
+        return (int) Math.min((long) page * size, Integer.MAX_VALUE);
     }
 }
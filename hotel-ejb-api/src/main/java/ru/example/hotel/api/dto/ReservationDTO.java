@@ -0,0 +1,35 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * DTO для бронирования номеров одного типа
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long roomTypeId;
+
+    /**
+     * Дата заезда (первая ночь)
+     */
+    private LocalDate checkIn;
+
+    /**
+     * Дата выезда (ночь не включается)
+     */
+    private LocalDate checkOut;
+
+    private int rooms;
+}
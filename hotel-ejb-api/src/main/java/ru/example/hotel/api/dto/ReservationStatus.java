@@ -0,0 +1,19 @@
+package ru.example.hotel.api.dto;
+
+/**
+ * Результат бронирования
+ */
+public enum ReservationStatus {
+    /**
+     * Номера забронированы
+     */
+    CONFIRMED,
+    /**
+     * Хотя бы на одну ночь не хватает свободных номеров; ничего не изменено
+     */
+    SOLD_OUT,
+    /**
+     * Тип номера не найден
+     */
+    ROOM_TYPE_NOT_FOUND
+}
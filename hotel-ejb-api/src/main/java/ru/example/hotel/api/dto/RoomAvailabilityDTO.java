@@ -0,0 +1,31 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * DTO для свободных номеров одного типа на период
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAvailabilityDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long roomTypeId;
+
+    private String name;
+
+    private int capacity;
+
+    /**
+     * Сколько номеров свободно на каждую ночь периода (минимум по ночам)
+     */
+    private int available;
+}
@@ -0,0 +1,36 @@
+package ru.example.hotel.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * DTO для типа номера отеля
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomTypeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private Long hotelId;
+
+    private String name;
+
+    /**
+     * Вместимость номера (гостей)
+     */
+    private int capacity;
+
+    /**
+     * Количество номеров этого типа в отеле
+     */
+    private int totalRooms;
+}
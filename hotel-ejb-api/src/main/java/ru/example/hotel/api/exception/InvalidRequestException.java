@@ -0,0 +1,21 @@
+package ru.example.hotel.api.exception;
+
+import jakarta.ejb.ApplicationException;
+
+/**
+ * Некорректные входные данные вызова сервиса (ошибка клиента, HTTP 400)
+ *
+ * Ожидаемые ошибки передаются через remoting как есть: исключение прикладное, поэтому контейнер
+ * не оборачивает его в EJBException и не откатывает транзакцию, а стек не заполняется -
+ * он не нужен для 4xx и не пересылается по сети вместе с сообщением.
+ * Отсутствие сущности сигнализируется не исключением, а результатом (Optional, статус).
+ */
+@ApplicationException(rollback = false)
+public class InvalidRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
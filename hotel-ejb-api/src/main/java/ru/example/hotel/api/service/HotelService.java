@@ -0,0 +1,178 @@
+package ru.example.hotel.api.service;
+
+import ru.example.hotel.api.dto.AvailableHotelDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelChangesDTO;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.api.dto.NearbyHotelDTO;
+import ru.example.hotel.api.dto.PageRequest;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.ReservationStatus;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Контракт сервиса для работы с отелями
+ * Общий для Local и Remote представлений EJB: REST-ресурсы зависят только от него
+ * и одинаково работают как через remote-вызов, так и по ссылке внутри WildFly
+ */
+public interface HotelService {
+
+    /**
+     * Наибольший размер страницы findCatalogPage и findPageAfter
+     */
+    int MAX_CATALOG_PAGE = 1000;
+
+    /**
+     * Получить список отелей с пагинацией
+     * @param pageRequest параметры пагинации и сортировки
+     * @return страница с отелями
+     */
+    PageResponse<HotelDTO> findAll(PageRequest pageRequest);
+
+    /**
+     * Получить страницу списка, следующую за отелем предыдущей страницы (keyset вместо номера страницы)
+     * Стоимость не зависит от глубины, а отели, добавленные или удалённые между вызовами,
+     * не приводят к пропускам и повторам при последовательном проходе списка
+     * @param pageRequest размер (от 1 до MAX_CATALOG_PAGE), сортировка и состав полей; номер страницы не используется
+     * @param after последний отель предыдущей страницы в том же порядке (null - первая страница);
+     *              нужны ID и поля сортировки: название, категория, адрес с городом
+     * @return отели после after; меньше size - список пройден
+     */
+    List<HotelDTO> findPageAfter(PageRequest pageRequest, HotelDTO after);
+
+    /**
+     * Найти отель по ID (без примечаний)
+     * @param id идентификатор отеля
+     * @return отель или пустой Optional
+     */
+    Optional<HotelDTO> findById(Long id);
+
+    /**
+     * Найти отель по ID
+     * @param id идентификатор отеля
+     * @param includeNotes включать ли примечания (TEXT-колонка notes читается отдельным запросом)
+     * @return отель или пустой Optional
+     */
+    Optional<HotelDTO> findById(Long id, boolean includeNotes);
+
+    /**
+     * Найти несколько отелей по списку ID за один вызов (без примечаний)
+     * @param ids идентификаторы отелей
+     * @return найденные отели (отсутствующие ID пропускаются, порядок не гарантируется)
+     */
+    List<HotelDTO> findByIds(List<Long> ids);
+
+    /**
+     * Найти отели в радиусе от точки, упорядоченные по расстоянию
+     * @param latitude широта точки
+     * @param longitude долгота точки
+     * @param radiusKm радиус поиска в километрах
+     * @param pageRequest параметры пагинации и состава полей
+     * @return страница с отелями и расстояниями до них
+     */
+    PageResponse<NearbyHotelDTO> findNearby(double latitude, double longitude, double radiusKm,
+                                            PageRequest pageRequest);
+
+    /**
+     * Получить количество отелей по категориям и городам
+     * @param city фильтр по городу (null - все города)
+     * @param category фильтр по категории (null - все категории)
+     * @param cityLimit сколько городов с наибольшим количеством отелей вернуть
+     * @return счётчики фасетов
+     */
+    HotelFacetsDTO facets(String city, HotelCategory category, int cityLimit);
+
+    /**
+     * Подсказки по началу названия отеля или любого слова в нём
+     * @param query введённый текст (регистр и буква ё не учитываются)
+     * @param limit максимальное количество подсказок
+     * @return отели по убыванию популярности
+     */
+    List<HotelSuggestionDTO> suggest(String query, int limit);
+
+    /**
+     * Создать новый отель
+     * @param hotelDTO данные отеля
+     * @return созданный отель с присвоенным ID
+     */
+    HotelDTO create(HotelDTO hotelDTO);
+
+    /**
+     * Обновить существующий отель
+     * @param id идентификатор отеля
+     * @param hotelDTO новые данные отеля
+     * @return обновлённый отель или пустой Optional, если отель не найден
+     */
+    Optional<HotelDTO> update(Long id, HotelDTO hotelDTO);
+
+    /**
+     * Удалить отель по ID
+     * @param id идентификатор отеля
+     * @return true если отель был удалён
+     */
+    boolean delete(Long id);
+
+    /**
+     * Добавить отелю тип номера; номера этого типа сразу свободны на весь горизонт бронирования
+     * @param hotelId идентификатор отеля
+     * @param roomType данные типа номера
+     * @return созданный тип номера или пустой Optional, если отель не найден
+     */
+    Optional<RoomTypeDTO> addRoomType(Long hotelId, RoomTypeDTO roomType);
+
+    /**
+     * Получить типы номеров отеля
+     * @param hotelId идентификатор отеля
+     * @return типы номеров (пустой список, если их нет или отель не найден)
+     */
+    List<RoomTypeDTO> findRoomTypes(Long hotelId);
+
+    /**
+     * Найти отели, где на каждую ночь периода есть свободные номера
+     * @param city город (null - все города)
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда (позже даты заезда)
+     * @param guests минимальная вместимость номера
+     * @param rooms сколько номеров одного типа нужно
+     * @param pageRequest параметры пагинации (сортировка не используется, отели упорядочены по ID)
+     * @return страница с отелями и подходящими типами номеров
+     */
+    PageResponse<AvailableHotelDTO> findAvailable(String city, LocalDate checkIn, LocalDate checkOut,
+                                                  int guests, int rooms, PageRequest pageRequest);
+
+    /**
+     * Забронировать номера; на все ночи периода сразу или ни на одну
+     * @param reservation тип номера, период и количество номеров
+     * @return результат бронирования
+     */
+    ReservationStatus reserve(ReservationDTO reservation);
+
+    /**
+     * Получить общее количество отелей
+     * @return количество отелей
+     */
+    long count();
+
+    /**
+     * Изменения отелей после позиции журнала изменений (для догоняющих копий каталога)
+     * @param epoch epoch журнала из предыдущего ответа (null - получить текущую позицию)
+     * @param sequence позиция из предыдущего ответа
+     * @return изменённые и удалённые отели или, если позиция не действительна, текущая позиция с complete = false
+     */
+    HotelChangesDTO changesSince(String epoch, long sequence);
+
+    /**
+     * Страница каталога по возрастанию ID из основной БД (полная загрузка копий каталога)
+     * @param afterId последний ID предыдущей страницы (0 - с начала)
+     * @param limit количество отелей, от 1 до MAX_CATALOG_PAGE
+     * @return отели без примечаний с ID больше afterId; меньше limit - каталог пройден
+     */
+    List<HotelDTO> findCatalogPage(long afterId, int limit);
+}
@@ -1,26 +1,64 @@
 package ru.example.hotel.ejb.dao;
 
+import jakarta.annotation.Resource;
+import jakarta.ejb.EJB;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
+import jakarta.interceptor.Interceptors;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.Parameter;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import ru.example.hotel.api.dto.HotelSort;
 import ru.example.hotel.ejb.entity.Hotel;
+import ru.example.hotel.ejb.routing.ClientTokens;
+import ru.example.hotel.ejb.routing.ReplicaRoutingPolicy;
+import ru.example.hotel.ejb.tracing.TracingInterceptor;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DAO (Data Access Object) для работы с отелями
  * Реализован как Stateless EJB
+ *
+ * Запись всегда идёт в основную БД (hotelPU), чтение вне транзакции - на реплику (hotelReadPU),
+ * если это разрешает ReplicaRoutingPolicy
  */
 @Stateless
+@Interceptors(TracingInterceptor.class)
 public class HotelDAO {
 
+    /**
+     * Hibernate hint: загруженные сущности не снапшотятся и не участвуют в dirty checking
+     */
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
     @PersistenceContext(unitName = "hotelPU")
     private EntityManager em;
 
+    @PersistenceContext(unitName = "hotelReadPU")
+    private EntityManager replicaEm;
+
+    @EJB
+    private ReplicaRoutingPolicy routingPolicy;
+
+    @EJB
+    private HotelListQueries listQueries;
+
+    @Resource
+    private TransactionSynchronizationRegistry txRegistry;
+
     /**
      * Найти все отели с пагинацией
      * @param offset смещение
@@ -31,25 +69,216 @@ public class HotelDAO {
     @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public List<Hotel> findAll(int offset, int limit, boolean sortAscending) {
         String queryName = sortAscending ? "Hotel.findAll" : "Hotel.findAllDesc";
-        TypedQuery<Hotel> query = em.createNamedQuery(queryName, Hotel.class);
+        TypedQuery<Hotel> query = readOnly(readEm().createNamedQuery(queryName, Hotel.class));
         query.setFirstResult(offset);
         query.setMaxResults(limit);
         return query.getResultList();
     }
 
     /**
-     * Найти отель по ID
+     * Найти отели с пагинацией в виде проекции (без загрузки сущностей в контекст персистентности)
+     * Возвращает только запрошенные колонки: без notes и/или без колонок адреса
+     * @param offset смещение
+     * @param limit количество записей
+     * @param sort вариант сортировки (по индексу, с идентификатором в конце)
+     * @param sortAscending направление сортировки
+     * @param includeAddress выбирать ли колонки адреса
+     * @param includeNotes выбирать ли колонку notes
+     * @return строки с алиасами id, name, category [, notes]
+     *         [, postalCode, city, street, building, latitude, longitude]
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findAllProjected(int offset, int limit, HotelSort sort, boolean sortAscending,
+                                        boolean includeAddress, boolean includeNotes) {
+        String queryName = listQueries.queryName(sort, sortAscending, includeAddress, includeNotes);
+        TypedQuery<Tuple> query = readOnly(readEm().createNamedQuery(queryName, Tuple.class));
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    /**
+     * Страница списка по названию, начинающаяся с отеля fromId (включительно)
+     * Выполняется диапазоном по индексу idx_name_id, стоимость не зависит от номера страницы
+     * @param fromId отель, с которого начинается страница (позиция получена из NameOrderIndex)
+     * @param limit количество записей
+     * @param sortAscending направление сортировки
+     * @param includeAddress выбирать ли колонки адреса
+     * @param includeNotes выбирать ли колонку notes
+     * @return строки как в findAllProjected или пустой Optional, если отеля fromId уже нет
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public Optional<List<Tuple>> findAllProjectedFrom(Long fromId, int limit, boolean sortAscending,
+                                                      boolean includeAddress, boolean includeNotes) {
+        EntityManager readEm = readEm();
+        Optional<String> name = first(readOnly(readEm.createNamedQuery("Hotel.findName", String.class))
+                .setParameter("id", fromId));
+        if (name.isEmpty()) {
+            return Optional.empty();
+        }
+        String queryName = listQueries.seekQueryName(sortAscending, includeAddress, includeNotes);
+        TypedQuery<Tuple> query = readOnly(readEm.createNamedQuery(queryName, Tuple.class));
+        query.setParameter("name", name.get());
+        query.setParameter("id", fromId);
+        query.setMaxResults(limit);
+        return Optional.of(query.getResultList());
+    }
+
+    /**
+     * Страница списка строго после последнего отеля предыдущей страницы (keyset)
+     * Выполняется диапазоном по индексу сортировки: стоимость не зависит от глубины, а отели,
+     * добавленные или удалённые между страницами, не сдвигают следующие страницы
+     * @param categoryRank звёздность последнего отеля (null - отель без категории)
+     * @param name название последнего отеля
+     * @param city город последнего отеля
+     * @param id идентификатор последнего отеля
+     * @param limit количество записей
+     * @param sort вариант сортировки; из ключа используются только поля этой сортировки
+     * @param sortAscending направление сортировки
+     * @param includeAddress выбирать ли колонки адреса
+     * @param includeNotes выбирать ли колонку notes
+     * @return строки как в findAllProjected
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findAllProjectedAfter(Integer categoryRank, String name, String city, long id, int limit,
+                                             HotelSort sort, boolean sortAscending,
+                                             boolean includeAddress, boolean includeNotes) {
+        String queryName = listQueries.afterQueryName(sort, sortAscending, includeAddress, includeNotes,
+                categoryRank == null);
+        TypedQuery<Tuple> query = readOnly(readEm().createNamedQuery(queryName, Tuple.class));
+        Map<String, Object> key = new HashMap<>();
+        key.put("categoryRank", categoryRank);
+        key.put("name", name);
+        key.put("city", city);
+        key.put("id", id);
+        for (Parameter<?> parameter : query.getParameters()) {
+            query.setParameter(parameter.getName(), key.get(parameter.getName()));
+        }
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    /**
+     * Получить ключи сортировки по названию всех отелей из основной БД
+     * Индекс строится один раз при старте: отели, ещё не дошедшие до реплики, не попали бы в него никогда
+     * @return строки [id, WEIGHT_STRING(name)]
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findAllNameWeights() {
+        return em.createNamedQuery("Hotel.findAllNameWeights").getResultList();
+    }
+
+    /**
+     * Получить ключ сортировки по названию одного отеля из основной БД
+     * Вызывается после коммита записи, поэтому реплика не используется
+     * @param id идентификатор отеля
+     * @return WEIGHT_STRING(name) или пустой Optional, если отеля нет
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public Optional<byte[]> findNameWeight(Long id) {
+        List<?> rows = em.createNamedQuery("Hotel.findNameWeight")
+                .setParameter("id", id)
+                .getResultList();
+        return rows.stream().findFirst().map(byte[].class::cast);
+    }
+
+    /**
+     * Найти отель по ID только для чтения (вместе с адресом, без снапшота для dirty checking)
+     * Изменения возвращённой сущности не сохраняются - для изменения используйте findForUpdate
      * @param id идентификатор отеля
      * @return отель или пустой Optional
      */
     @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public Optional<Hotel> findById(Long id) {
-        Hotel hotel = em.find(Hotel.class, id);
-        if (hotel != null) {
-            // Инициализировать ленивые связи
-            hotel.getAddress();
+        TypedQuery<Hotel> query = readOnly(readEm().createNamedQuery("Hotel.findById", Hotel.class));
+        query.setParameter("id", id);
+        return first(query);
+    }
+
+    /**
+     * Найти отели по списку ID только для чтения (вместе с адресами)
+     * @param ids идентификаторы отелей
+     * @return найденные отели в произвольном порядке
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Hotel> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
-        return Optional.ofNullable(hotel);
+        TypedQuery<Hotel> query = readOnly(readEm().createNamedQuery("Hotel.findByIds", Hotel.class));
+        query.setParameter("ids", ids);
+        return query.getResultList();
+    }
+
+    /**
+     * Найти отель по ID вместе с примечаниями в виде проекции
+     * Сущность из findById отсоединяется по завершении вызова (SUPPORTS без транзакции), и её ленивое
+     * поле notes уже не загрузить, поэтому notes читаются тем же запросом
+     * @param id идентификатор отеля
+     * @return строка с алиасами как в findAllProjected (с адресом и notes) или пустой Optional
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public Optional<Tuple> findByIdWithNotes(Long id) {
+        TypedQuery<Tuple> query = readOnly(readEm().createNamedQuery("Hotel.findByIdWithNotes", Tuple.class));
+        query.setParameter("id", id);
+        return first(query);
+    }
+
+    /**
+     * Найти отели по списку ID вместе с примечаниями в виде проекции (см. findByIdWithNotes)
+     * @param ids идентификаторы отелей
+     * @return строки с адресом и notes в произвольном порядке
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findByIdsWithNotes(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        TypedQuery<Tuple> query = readOnly(readEm().createNamedQuery("Hotel.findByIdsWithNotes", Tuple.class));
+        query.setParameter("ids", ids);
+        return query.getResultList();
+    }
+
+    /**
+     * Получить координаты всех отелей, у которых они заданы, из основной БД
+     * Читается при построении GeoIndex на старте: с отстающей реплики недостающие отели не попали бы в него
+     * @return строки с алиасами id, latitude, longitude
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findAllLocations() {
+        return readOnly(em.createNamedQuery("Hotel.findAllLocations", Tuple.class)).getResultList();
+    }
+
+    /**
+     * Получить город и категорию всех отелей из основной БД
+     * Читается при построении FacetIndex и AvailabilityIndex на старте: с отстающей реплики недостающие
+     * отели не попали бы в индексы
+     * @return строки с алиасами id, city, category
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findAllFacetKeys() {
+        return readOnly(em.createNamedQuery("Hotel.findAllFacetKeys", Tuple.class)).getResultList();
+    }
+
+    /**
+     * Получить название, город и категорию всех отелей из основной БД
+     * Читается при построении SuggestIndex на старте: с отстающей реплики недостающие отели не попали бы в него
+     * @return строки с алиасами id, name, city, category
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findAllSuggestKeys() {
+        return readOnly(em.createNamedQuery("Hotel.findAllSuggestKeys", Tuple.class)).getResultList();
+    }
+
+    /**
+     * Найти отель по ID для последующего изменения в текущей транзакции
+     * @param id идентификатор отеля
+     * @return управляемая сущность или пустой Optional
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public Optional<Hotel> findForUpdate(Long id) {
+        return Optional.ofNullable(em.find(Hotel.class, id));
     }
 
     /**
@@ -61,6 +290,7 @@ public class HotelDAO {
     public Hotel save(Hotel hotel) {
         em.persist(hotel);
         em.flush();
+        registerWrite();
         return hotel;
     }
 
@@ -71,6 +301,7 @@ public class HotelDAO {
      */
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public Hotel update(Hotel hotel) {
+        registerWrite();
         return em.merge(hotel);
     }
 
@@ -84,17 +315,102 @@ public class HotelDAO {
         Hotel hotel = em.find(Hotel.class, id);
         if (hotel != null) {
             em.remove(hotel);
+            registerWrite();
             return true;
         }
         return false;
     }
 
+    /**
+     * Найти отели по списку ID в основной БД (журнал изменений записан после коммита, реплика может отставать)
+     * @param ids идентификаторы отелей
+     * @return найденные отели в произвольном порядке
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Hotel> findByIdsFromPrimary(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        TypedQuery<Hotel> query = readOnly(em.createNamedQuery("Hotel.findByIds", Hotel.class));
+        query.setParameter("ids", ids);
+        return query.getResultList();
+    }
+
+    /**
+     * Страница отелей по возрастанию ID после afterId из основной БД
+     * Выполняется диапазоном по первичному ключу: удаление во время обхода не сдвигает следующие страницы
+     * @param afterId последний ID предыдущей страницы (0 - с начала)
+     * @param limit количество записей
+     * @return отели с ID больше afterId по возрастанию ID
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Hotel> findAfterIdFromPrimary(long afterId, int limit) {
+        TypedQuery<Hotel> query = readOnly(em.createNamedQuery("Hotel.findAfterId", Hotel.class));
+        query.setParameter("id", afterId);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
     /**
      * Получить общее количество отелей
      * @return количество отелей
      */
     @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public long count() {
-        return em.createNamedQuery("Hotel.count", Long.class).getSingleResult();
+        return readOnly(readEm().createNamedQuery("Hotel.count", Long.class)).getSingleResult();
+    }
+
+    /**
+     * Выбрать EntityManager для чтения
+     * Внутри транзакции читаем из основной БД, чтобы не втягивать второй datasource в JTA
+     * и видеть собственные незакоммиченные изменения
+     */
+    private EntityManager readEm() {
+        if (txRegistry.getTransactionKey() != null) {
+            return em;
+        }
+        return routingPolicy.useReplica(ClientTokens.current()) ? replicaEm : em;
+    }
+
+    /**
+     * Зафиксировать запись клиентов вызова после успешного коммита (read-your-writes)
+     */
+    private void registerWrite() {
+        Set<String> clients = ClientTokens.current();
+        if (clients.isEmpty()) {
+            return;
+        }
+        txRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    routingPolicy.recordWrite(clients);
+                }
+            }
+        });
+    }
+
+    /**
+     * Первая строка результата или пустой Optional
+     * Через getResultList: getResultStream().findFirst() не закрывает поток, и курсор JDBC
+     * оставался бы открытым до закрытия сессии
+     */
+    private static <T> Optional<T> first(TypedQuery<T> query) {
+        List<T> rows = query.setMaxResults(1).getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * Перевести запрос в режим только для чтения:
+     * сущности не снапшотятся, перед выполнением не делается auto-flush контекста
+     */
+    private static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        query.setHint(HINT_READ_ONLY, true);
+        query.setFlushMode(FlushModeType.COMMIT);
+        return query;
     }
 }
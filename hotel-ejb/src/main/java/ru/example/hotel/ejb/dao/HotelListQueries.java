@@ -0,0 +1,213 @@
+package ru.example.hotel.ejb.dao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.Lock;
+import jakarta.ejb.LockType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.api.dto.HotelSort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Реестр предкомпилированных запросов списка отелей
+ *
+ * При старте для каждой комбинации (сортировка, направление, адрес, примечания) строится JPQL-проекция,
+ * которая разбирается и регистрируется как именованный запрос в обеих единицах персистентности.
+ * Для сортировки по названию дополнительно регистрируются запросы, начинающие страницу с ключа (name, id),
+ * а для каждой сортировки - запросы страницы строго после ключа последнего отеля предыдущей страницы.
+ * Ошибка в любом запросе проявляется при деплое, а не на первом запросе клиента.
+ */
+@Singleton
+@Startup
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class HotelListQueries {
+
+    private static final Logger LOG = Logger.getLogger(HotelListQueries.class.getName());
+
+    private static final String PROJECTION_BASE = "SELECT h.id AS id, h.name AS name, h.category AS category";
+    private static final String PROJECTION_NOTES = ", h.notes AS notes";
+    private static final String PROJECTION_ADDRESS = ", h.address.postalCode AS postalCode, " +
+            "h.address.city AS city, h.address.street AS street, h.address.building AS building, " +
+            "h.address.latitude AS latitude, h.address.longitude AS longitude";
+    private static final String PROJECTION_FROM = " FROM Hotel h";
+    // Поиск по (name, id) с заданного ключа: диапазон по idx_name_id вместо OFFSET
+    private static final String SEEK_NAME_ASC = " WHERE h.name > :name OR (h.name = :name AND h.id >= :id)";
+    private static final String SEEK_NAME_DESC = " WHERE h.name < :name OR (h.name = :name AND h.id <= :id)";
+    // Единственный ключ сортировки, допускающий NULL (отель без категории)
+    private static final String RANK_KEY = "h.categoryRank";
+
+    @PersistenceUnit(unitName = "hotelPU")
+    private EntityManagerFactory primaryEmf;
+
+    @PersistenceUnit(unitName = "hotelReadPU")
+    private EntityManagerFactory replicaEmf;
+
+    @PostConstruct
+    void init() {
+        int registered = 0;
+        for (HotelSort sort : HotelSort.values()) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                for (boolean includeAddress : new boolean[]{true, false}) {
+                    for (boolean includeNotes : new boolean[]{true, false}) {
+                        String name = queryName(sort, ascending, includeAddress, includeNotes);
+                        String jpql = buildJpql(sort, ascending, includeAddress, includeNotes, "");
+                        register(primaryEmf, name, jpql);
+                        register(replicaEmf, name, jpql);
+                        registered++;
+
+                        if (sort == HotelSort.NAME) {
+                            String seekName = seekQueryName(ascending, includeAddress, includeNotes);
+                            String seekJpql = buildJpql(sort, ascending, includeAddress, includeNotes,
+                                    ascending ? SEEK_NAME_ASC : SEEK_NAME_DESC);
+                            register(primaryEmf, seekName, seekJpql);
+                            register(replicaEmf, seekName, seekJpql);
+                            registered++;
+                        }
+
+                        for (boolean unranked : new boolean[]{false, true}) {
+                            if (unranked && !orderBy(sort)[0].equals(RANK_KEY)) {
+                                continue;
+                            }
+                            String afterName = afterQueryName(sort, ascending, includeAddress, includeNotes, unranked);
+                            String afterJpql = buildJpql(sort, ascending, includeAddress, includeNotes,
+                                    afterCondition(sort, ascending, unranked));
+                            register(primaryEmf, afterName, afterJpql);
+                            register(replicaEmf, afterName, afterJpql);
+                            registered++;
+                        }
+                    }
+                }
+            }
+        }
+        LOG.info("Registered " + registered + " hotel list queries");
+    }
+
+    /**
+     * Имя именованного запроса для комбинации параметров списка
+     */
+    @Lock(LockType.READ)
+    public String queryName(HotelSort sort, boolean ascending, boolean includeAddress, boolean includeNotes) {
+        return "Hotel.list." + sort.name() + (ascending ? ".asc" : ".desc") +
+                (includeAddress ? ".address" : "") + (includeNotes ? ".notes" : "");
+    }
+
+    /**
+     * Имя запроса страницы по названию, начинающейся с ключа (параметры name и id)
+     */
+    @Lock(LockType.READ)
+    public String seekQueryName(boolean ascending, boolean includeAddress, boolean includeNotes) {
+        return "Hotel.seek.NAME" + (ascending ? ".asc" : ".desc") +
+                (includeAddress ? ".address" : "") + (includeNotes ? ".notes" : "");
+    }
+
+    /**
+     * Имя запроса страницы строго после ключа последнего отеля; параметры называются по полям ключа
+     * (categoryRank, name, city, id) и совпадают с ключами сортировки
+     * @param unranked у последнего отеля нет категории (параметра categoryRank в запросе нет);
+     *                 учитывается только для сортировок по категории
+     */
+    @Lock(LockType.READ)
+    public String afterQueryName(HotelSort sort, boolean ascending, boolean includeAddress, boolean includeNotes,
+                                 boolean unranked) {
+        return "Hotel.after." + sort.name() + (ascending ? ".asc" : ".desc") +
+                (includeAddress ? ".address" : "") + (includeNotes ? ".notes" : "") +
+                (unranked && orderBy(sort)[0].equals(RANK_KEY) ? ".unranked" : "");
+    }
+
+    private static String buildJpql(HotelSort sort, boolean ascending, boolean includeAddress, boolean includeNotes,
+                                    String where) {
+        StringBuilder jpql = new StringBuilder(PROJECTION_BASE);
+        if (includeNotes) {
+            jpql.append(PROJECTION_NOTES);
+        }
+        if (includeAddress) {
+            jpql.append(PROJECTION_ADDRESS);
+        }
+        jpql.append(PROJECTION_FROM);
+        jpql.append(where);
+        String direction = ascending ? " ASC" : " DESC";
+        jpql.append(" ORDER BY ");
+        jpql.append(String.join(direction + ", ", orderBy(sort)));
+        jpql.append(direction);
+        return jpql.toString();
+    }
+
+    /**
+     * Ключи сортировки с уникальным ключом в конце; каждый набор совпадает с индексом
+     */
+    private static String[] orderBy(HotelSort sort) {
+        switch (sort) {
+            case CATEGORY:
+                return new String[]{"h.categoryRank", "h.id"};          // idx_category_id
+            case CATEGORY_NAME:
+                return new String[]{"h.categoryRank", "h.name", "h.id"}; // idx_category_name_id
+            case CITY:
+                return new String[]{"h.address.city", "h.id"};       // idx_city (city, id)
+            case ID:
+                return new String[]{"h.id"};                         // PRIMARY
+            case NAME:
+            default:
+                return new String[]{"h.name", "h.id"};              // idx_name_id
+        }
+    }
+
+    /**
+     * Условие "строго после ключа": (k1 > :k1) OR (k1 = :k1 AND k2 > :k2) ... для ключей сортировки.
+     * MariaDB ставит NULL категории перед всеми звёздностями при ASC и после них при DESC
+     */
+    private static String afterCondition(HotelSort sort, boolean ascending, boolean unranked) {
+        String[] keys = orderBy(sort);
+        String compare = ascending ? " > :" : " < :";
+        List<String> alternatives = new ArrayList<>();
+        String prefix = "";
+        int first = 0;
+        if (keys[0].equals(RANK_KEY)) {
+            if (unranked) {
+                // После отеля без категории: в ASC - все отели с категорией и отели без неё дальше по остальным ключам
+                if (ascending) {
+                    alternatives.add(RANK_KEY + " IS NOT NULL");
+                }
+                prefix = RANK_KEY + " IS NULL AND ";
+                first = 1;
+            } else if (!ascending) {
+                alternatives.add(RANK_KEY + " IS NULL");
+            }
+        }
+        for (int i = first; i < keys.length; i++) {
+            StringBuilder term = new StringBuilder("(").append(prefix);
+            for (int j = first; j < i; j++) {
+                term.append(keys[j]).append(" = :").append(parameterName(keys[j])).append(" AND ");
+            }
+            term.append(keys[i]).append(compare).append(parameterName(keys[i])).append(")");
+            alternatives.add(term.toString());
+        }
+        return " WHERE " + String.join(" OR ", alternatives);
+    }
+
+    private static String parameterName(String key) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    private static void register(EntityManagerFactory emf, String name, String jpql) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            Query query = em.createQuery(jpql, Tuple.class);
+            query.setHint("org.hibernate.readOnly", true);
+            query.setFlushMode(FlushModeType.COMMIT);
+            emf.addNamedQuery(name, query);
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package ru.example.hotel.ejb.dao;
+
+import jakarta.ejb.Stateless;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.interceptor.Interceptors;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.ejb.entity.RoomInventory;
+import ru.example.hotel.ejb.entity.RoomType;
+import ru.example.hotel.ejb.tracing.TracingInterceptor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO для типов номеров и их свободных номеров по ночам
+ * Реализован как Stateless EJB
+ *
+ * Все запросы идут в основную БД: отставание реплики показало бы уже проданные ночи свободными
+ */
+@Stateless
+@Interceptors(TracingInterceptor.class)
+public class RoomDAO {
+
+    /**
+     * Hibernate hint: загруженные сущности не снапшотятся и не участвуют в dirty checking
+     */
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
+    @PersistenceContext(unitName = "hotelPU")
+    private EntityManager em;
+
+    /**
+     * Найти тип номера по ID
+     * @param id идентификатор типа номера
+     * @return тип номера или пустой Optional
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public Optional<RoomType> findRoomType(Long id) {
+        return Optional.ofNullable(em.find(RoomType.class, id));
+    }
+
+    /**
+     * Получить все типы номеров
+     * @return строки с алиасами id, hotelId, name, capacity, totalRooms
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findAllRoomTypes() {
+        return em.createNamedQuery("RoomType.findAllForIndex", Tuple.class)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /**
+     * Получить свободные номера по ночам в диапазоне дат
+     * @param from первая дата (включительно)
+     * @param to последняя дата (не включительно)
+     * @return строки с алиасами roomTypeId, stayDate, available
+     */
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<Tuple> findInventory(LocalDate from, LocalDate to) {
+        return em.createNamedQuery("RoomInventory.findBetween", Tuple.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    /**
+     * Сохранить новый тип номера
+     * @param roomType тип номера
+     * @return сохранённый тип номера с присвоенным ID
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public RoomType save(RoomType roomType) {
+        em.persist(roomType);
+        em.flush();
+        return roomType;
+    }
+
+    /**
+     * Создать строки свободных номеров для нового типа номера
+     * @param roomTypeId идентификатор типа номера
+     * @param from первая ночь (включительно)
+     * @param to последняя ночь (не включительно)
+     * @param available количество свободных номеров на каждую ночь
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public void createInventory(Long roomTypeId, LocalDate from, LocalDate to, int available) {
+        for (LocalDate day = from; day.isBefore(to); day = day.plusDays(1)) {
+            em.persist(RoomInventory.builder()
+                    .roomTypeId(roomTypeId)
+                    .stayDate(day)
+                    .available((short) available)
+                    .build());
+        }
+        em.flush();
+    }
+
+    /**
+     * Уменьшить количество свободных номеров на каждую ночь периода
+     * Условный UPDATE блокирует строки ночей: параллельные бронирования выполняются по очереди
+     * и не уводят счётчик ниже нуля
+     * @param roomTypeId идентификатор типа номера
+     * @param checkIn первая ночь (включительно)
+     * @param checkOut дата выезда (не включительно)
+     * @param rooms количество номеров
+     * @return количество ночей, на которые номера списаны; меньше длины периода - мест не хватило
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public int reserve(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        return em.createNamedQuery("RoomInventory.reserve")
+                .setParameter("roomTypeId", roomTypeId)
+                .setParameter("checkIn", checkIn)
+                .setParameter("checkOut", checkOut)
+                .setParameter("rooms", (short) rooms)
+                .executeUpdate();
+    }
+
+    /**
+     * Добавить ночь в горизонт бронирования всех типов номеров
+     * @param day новая ночь
+     * @return количество созданных строк
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public int extendInventory(LocalDate day) {
+        return em.createNamedQuery("RoomInventory.extend")
+                .setParameter("day", day)
+                .executeUpdate();
+    }
+
+    /**
+     * Удалить прошедшие ночи
+     * @param day первая ночь, которую нужно сохранить
+     * @return количество удалённых строк
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public int deleteInventoryBefore(LocalDate day) {
+        return em.createNamedQuery("RoomInventory.deleteBefore")
+                .setParameter("day", day)
+                .executeUpdate();
+    }
+
+    /**
+     * Удалить типы номеров отеля вместе со свободными номерами
+     * @param hotelId идентификатор отеля
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public void deleteByHotel(Long hotelId) {
+        em.createNamedQuery("RoomInventory.deleteByHotel")
+                .setParameter("hotelId", hotelId)
+                .executeUpdate();
+        em.createNamedQuery("RoomType.deleteByHotel")
+                .setParameter("hotelId", hotelId)
+                .executeUpdate();
+    }
+}
@@ -5,21 +5,18 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 /**
- * JPA сущность для адреса отеля
+ * Адрес отеля, хранится в колонках таблицы hotels
+ *
+ * Отдельной таблицы и идентификатора у адреса нет: чтение отеля не требует JOIN,
+ * создание - одна вставка вместо двух, удаление не каскадируется на другую таблицу.
  */
-@Entity
-@Table(name = "addresses")
+@Embeddable
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(of = "id")
 public class Address {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
     @Column(name = "postal_code", length = 20)
     private String postalCode;
 
@@ -35,7 +32,9 @@ public class Address {
     @Column(name = "building", nullable = false, length = 50)
     private String building;
 
-    @OneToOne(mappedBy = "address")
-    @ToString.Exclude
-    private Hotel hotel;
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
 }
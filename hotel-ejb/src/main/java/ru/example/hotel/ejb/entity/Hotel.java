@@ -1,6 +1,7 @@
 package ru.example.hotel.ejb.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
@@ -10,7 +11,12 @@ import ru.example.hotel.api.dto.HotelCategory;
  * JPA сущность для отеля
  */
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels", indexes = {
+    @Index(name = "idx_name_id", columnList = "name, id"),
+    @Index(name = "idx_category_id", columnList = "category_rank, id"),
+    @Index(name = "idx_category_name_id", columnList = "category_rank, name, id"),
+    @Index(name = "idx_city", columnList = "city, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,15 +25,71 @@ import ru.example.hotel.api.dto.HotelCategory;
 @NamedQueries({
     @NamedQuery(
         name = "Hotel.findAll",
-        query = "SELECT h FROM Hotel h LEFT JOIN FETCH h.address ORDER BY h.name ASC"
+        query = "SELECT h FROM Hotel h ORDER BY h.name ASC, h.id ASC"
     ),
     @NamedQuery(
         name = "Hotel.findAllDesc",
-        query = "SELECT h FROM Hotel h LEFT JOIN FETCH h.address ORDER BY h.name DESC"
+        query = "SELECT h FROM Hotel h ORDER BY h.name DESC, h.id DESC"
+    ),
+    @NamedQuery(
+        name = "Hotel.findById",
+        query = "SELECT h FROM Hotel h WHERE h.id = :id"
+    ),
+    @NamedQuery(
+        name = "Hotel.findByIds",
+        query = "SELECT h FROM Hotel h WHERE h.id IN :ids"
+    ),
+    // Проекции с notes: ленивое поле отсоединённой сущности (чтение вне транзакции) уже не загрузить
+    @NamedQuery(
+        name = "Hotel.findByIdWithNotes",
+        query = "SELECT h.id AS id, h.name AS name, h.category AS category, h.notes AS notes, " +
+                "h.address.postalCode AS postalCode, h.address.city AS city, h.address.street AS street, " +
+                "h.address.building AS building, h.address.latitude AS latitude, h.address.longitude AS longitude " +
+                "FROM Hotel h WHERE h.id = :id"
+    ),
+    @NamedQuery(
+        name = "Hotel.findByIdsWithNotes",
+        query = "SELECT h.id AS id, h.name AS name, h.category AS category, h.notes AS notes, " +
+                "h.address.postalCode AS postalCode, h.address.city AS city, h.address.street AS street, " +
+                "h.address.building AS building, h.address.latitude AS latitude, h.address.longitude AS longitude " +
+                "FROM Hotel h WHERE h.id IN :ids"
+    ),
+    @NamedQuery(
+        name = "Hotel.findAllLocations",
+        query = "SELECT h.id AS id, h.address.latitude AS latitude, h.address.longitude AS longitude " +
+                "FROM Hotel h WHERE h.address.latitude IS NOT NULL AND h.address.longitude IS NOT NULL"
+    ),
+    @NamedQuery(
+        name = "Hotel.findAllFacetKeys",
+        query = "SELECT h.id AS id, h.address.city AS city, h.category AS category FROM Hotel h"
+    ),
+    @NamedQuery(
+        name = "Hotel.findAllSuggestKeys",
+        query = "SELECT h.id AS id, h.name AS name, h.address.city AS city, h.category AS category " +
+                "FROM Hotel h"
+    ),
+    @NamedQuery(
+        name = "Hotel.findAfterId",
+        query = "SELECT h FROM Hotel h WHERE h.id > :id ORDER BY h.id ASC"
     ),
     @NamedQuery(
         name = "Hotel.count",
         query = "SELECT COUNT(h) FROM Hotel h"
+    ),
+    @NamedQuery(
+        name = "Hotel.findName",
+        query = "SELECT h.name FROM Hotel h WHERE h.id = :id"
+    )
+})
+// Ключи сортировки по названию в collation колонки (порядок совпадает с ORDER BY name)
+@NamedNativeQueries({
+    @NamedNativeQuery(
+        name = "Hotel.findAllNameWeights",
+        query = "SELECT id, WEIGHT_STRING(name) FROM hotels"
+    ),
+    @NamedNativeQuery(
+        name = "Hotel.findNameWeight",
+        query = "SELECT WEIGHT_STRING(name) FROM hotels WHERE id = :id"
     )
 })
 public class Hotel {
@@ -41,14 +103,47 @@ public class Hotel {
     private String name;
 
     @NotNull
-    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
-    @JoinColumn(name = "address_id", nullable = false, unique = true)
+    @Valid
+    @Embedded
     private Address address;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "category", length = 20)
     private HotelCategory category;
 
+    /**
+     * Звёздность категории (1 - ONE_STAR ... 5 - FIVE_STARS), ключ сортировки по категории:
+     * category хранится кодом, и ORDER BY по нему дал бы алфавитный порядок (FIVE_STARS, FOUR_STARS, ONE_STAR...).
+     * Всегда вычисляется из category
+     */
+    @Column(name = "category_rank", columnDefinition = "TINYINT")
+    @Setter(AccessLevel.NONE)
+    private Integer categoryRank;
+
+    /**
+     * Примечания читаются отдельным запросом при первом обращении (нужно bytecode enhancement,
+     * включается в persistence.xml): страницы и получение по ID без notes не тянут TEXT-колонку
+     */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "notes", columnDefinition = "TEXT")
+    @ToString.Exclude
     private String notes;
+
+    public void setCategory(HotelCategory category) {
+        this.category = category;
+        this.categoryRank = rankOf(category);
+    }
+
+    /**
+     * Сущности из builder получают ключ сортировки перед вставкой
+     */
+    @PrePersist
+    @PreUpdate
+    void syncCategoryRank() {
+        categoryRank = rankOf(category);
+    }
+
+    public static Integer rankOf(HotelCategory category) {
+        return category != null ? category.ordinal() + 1 : null;
+    }
 }
@@ -0,0 +1,63 @@
+package ru.example.hotel.ejb.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * JPA сущность для количества свободных номеров одного типа на одну ночь
+ *
+ * Строки создаются на весь горизонт бронирования при добавлении типа номера и ежедневно
+ * продлеваются; бронирование уменьшает available условным UPDATE, который не даёт уйти ниже нуля.
+ */
+@Entity
+@Table(name = "room_inventory", indexes = {
+    @Index(name = "idx_room_inventory_date", columnList = "stay_date")
+})
+@IdClass(RoomInventoryId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@NamedQueries({
+    @NamedQuery(
+        name = "RoomInventory.findBetween",
+        query = "SELECT i.roomTypeId AS roomTypeId, i.stayDate AS stayDate, i.available AS available " +
+                "FROM RoomInventory i WHERE i.stayDate >= :from AND i.stayDate < :to"
+    ),
+    @NamedQuery(
+        name = "RoomInventory.reserve",
+        query = "UPDATE RoomInventory i SET i.available = i.available - :rooms " +
+                "WHERE i.roomTypeId = :roomTypeId AND i.stayDate >= :checkIn AND i.stayDate < :checkOut " +
+                "AND i.available >= :rooms"
+    ),
+    @NamedQuery(
+        name = "RoomInventory.deleteBefore",
+        query = "DELETE FROM RoomInventory i WHERE i.stayDate < :day"
+    ),
+    @NamedQuery(
+        name = "RoomInventory.deleteByHotel",
+        query = "DELETE FROM RoomInventory i WHERE i.roomTypeId IN " +
+                "(SELECT r.id FROM RoomType r WHERE r.hotel.id = :hotelId)"
+    )
+})
+// Новый день горизонта для всех типов номеров одним запросом; уже существующие строки не трогаются
+@NamedNativeQuery(
+    name = "RoomInventory.extend",
+    query = "INSERT IGNORE INTO room_inventory (room_type_id, stay_date, available) " +
+            "SELECT id, :day, total_rooms FROM room_types"
+)
+public class RoomInventory {
+
+    @Id
+    @Column(name = "room_type_id")
+    private Long roomTypeId;
+
+    @Id
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    @Column(name = "available", nullable = false, columnDefinition = "SMALLINT")
+    private short available;
+}
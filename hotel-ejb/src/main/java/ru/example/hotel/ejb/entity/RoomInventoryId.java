@@ -0,0 +1,23 @@
+package ru.example.hotel.ejb.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Составной ключ RoomInventory: тип номера и дата ночи
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomInventoryId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long roomTypeId;
+
+    private LocalDate stayDate;
+}
@@ -0,0 +1,58 @@
+package ru.example.hotel.ejb.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * JPA сущность для типа номера отеля
+ */
+@Entity
+@Table(name = "room_types", indexes = {
+    @Index(name = "idx_room_types_hotel", columnList = "hotel_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@NamedQueries({
+    @NamedQuery(
+        name = "RoomType.findAllForIndex",
+        query = "SELECT r.id AS id, r.hotel.id AS hotelId, r.name AS name, r.capacity AS capacity, " +
+                "r.totalRooms AS totalRooms FROM RoomType r"
+    ),
+    @NamedQuery(
+        name = "RoomType.deleteByHotel",
+        query = "DELETE FROM RoomType r WHERE r.hotel.id = :hotelId"
+    )
+})
+public class RoomType {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    @ToString.Exclude
+    private Hotel hotel;
+
+    @NotBlank
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Min(1)
+    @Column(name = "capacity", nullable = false)
+    private int capacity;
+
+    // Счётчик свободных номеров на день хранится в SMALLINT
+    @Min(0)
+    @Max(Short.MAX_VALUE)
+    @Column(name = "total_rooms", nullable = false)
+    private int totalRooms;
+}
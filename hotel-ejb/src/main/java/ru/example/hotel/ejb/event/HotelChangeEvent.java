@@ -0,0 +1,43 @@
+package ru.example.hotel.ejb.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.example.hotel.api.dto.HotelDTO;
+
+/**
+ * CDI событие об изменении отеля
+ * Публикуется HotelServiceBean; наблюдатели с during = AFTER_SUCCESS получают его только после коммита
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class HotelChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+
+    private final Long hotelId;
+
+    /**
+     * Актуальное состояние отеля (null для DELETED)
+     */
+    private final HotelDTO hotel;
+
+    public static HotelChangeEvent created(HotelDTO hotel) {
+        return new HotelChangeEvent(Type.CREATED, hotel.getId(), hotel);
+    }
+
+    public static HotelChangeEvent updated(HotelDTO hotel) {
+        return new HotelChangeEvent(Type.UPDATED, hotel.getId(), hotel);
+    }
+
+    public static HotelChangeEvent deleted(Long hotelId) {
+        return new HotelChangeEvent(Type.DELETED, hotelId, null);
+    }
+}
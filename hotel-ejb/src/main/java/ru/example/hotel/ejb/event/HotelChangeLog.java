@@ -0,0 +1,85 @@
+package ru.example.hotel.ejb.event;
+
+import jakarta.ejb.Lock;
+import jakarta.ejb.LockType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Журнал последних изменений отелей в памяти (кольцевой буфер на CAPACITY записей)
+ *
+ * Каждое закоммиченное HotelChangeEvent получает следующую позицию sequence. По позиции клиент
+ * (копия каталога в hotel-rest) забирает изменения, случившиеся после его снимка. Журнал живёт
+ * до перезапуска WildFly: epoch отличает его экземпляры, и позиция чужого или вытесненного
+ * из буфера участка не действительна - клиент перезагружает каталог целиком.
+ */
+@Singleton
+@Startup
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class HotelChangeLog {
+
+    private static final int CAPACITY = 10_000;
+
+    /**
+     * Ограничение на число изменений за вызов: изменённые отели читаются из БД одним запросом
+     */
+    private static final int MAX_CHANGES_PER_CALL = 500;
+
+    private final String epoch = UUID.randomUUID().toString();
+
+    private final long[] hotelIds = new long[CAPACITY];
+    private final boolean[] deleted = new boolean[CAPACITY];
+
+    /**
+     * Число записанных изменений; изменение с позицией s хранится в ячейке (s - 1) % CAPACITY
+     */
+    private long sequence;
+
+    /**
+     * Изменения после позиции: ID изменённых и удалённых отелей
+     */
+    public record Changes(String epoch, long sequence, boolean complete, boolean hasMore,
+                          Set<Long> changed, Set<Long> deleted) {
+    }
+
+    @Lock(LockType.WRITE)
+    public void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangeEvent event) {
+        int slot = (int) (sequence % CAPACITY);
+        hotelIds[slot] = event.getHotelId();
+        deleted[slot] = event.getType() == HotelChangeEvent.Type.DELETED;
+        sequence++;
+    }
+
+    /**
+     * @param clientEpoch epoch журнала, к которому относится позиция
+     * @param since позиция, после которой нужны изменения
+     */
+    @Lock(LockType.READ)
+    public Changes since(String clientEpoch, long since) {
+        if (!epoch.equals(clientEpoch) || since > sequence || since < sequence - CAPACITY) {
+            return new Changes(epoch, sequence, false, false, Set.of(), Set.of());
+        }
+        long until = Math.min(sequence, since + MAX_CHANGES_PER_CALL);
+
+        // Для каждого отеля важно только последнее изменение
+        Map<Long, Boolean> latest = new LinkedHashMap<>();
+        for (long position = since + 1; position <= until; position++) {
+            int slot = (int) ((position - 1) % CAPACITY);
+            latest.put(hotelIds[slot], deleted[slot]);
+        }
+        Set<Long> changed = new LinkedHashSet<>();
+        Set<Long> removed = new LinkedHashSet<>();
+        latest.forEach((hotelId, isDeleted) -> (isDeleted ? removed : changed).add(hotelId));
+        return new Changes(epoch, until, true, until < sequence, changed, removed);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.example.hotel.ejb.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+
+/**
+ * CDI событие об изменении номерного фонда
+ * Публикуется HotelServiceBean; наблюдатели с during = AFTER_SUCCESS получают его только после коммита
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RoomChangeEvent {
+
+    public enum Type {
+        ROOM_TYPE_ADDED,
+        RESERVED
+    }
+
+    private final Type type;
+
+    /**
+     * Добавленный тип номера (только для ROOM_TYPE_ADDED)
+     */
+    private final RoomTypeDTO roomType;
+
+    /**
+     * Подтверждённое бронирование (только для RESERVED)
+     */
+    private final ReservationDTO reservation;
+
+    public static RoomChangeEvent roomTypeAdded(RoomTypeDTO roomType) {
+        return new RoomChangeEvent(Type.ROOM_TYPE_ADDED, roomType, null);
+    }
+
+    public static RoomChangeEvent reserved(ReservationDTO reservation) {
+        return new RoomChangeEvent(Type.RESERVED, null, reservation);
+    }
+}
@@ -0,0 +1,312 @@
+package ru.example.hotel.ejb.index;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.RoomAvailabilityDTO;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+import ru.example.hotel.ejb.dao.HotelDAO;
+import ru.example.hotel.ejb.dao.RoomDAO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+import ru.example.hotel.ejb.event.RoomChangeEvent;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * Свободные номера по ночам в памяти
+ *
+ * Для каждого типа номера хранится short[] на горизонт бронирования: элемент i - сколько номеров
+ * свободно в ночь baseDay + i. Поиск "город + период" проходит по отелям города и берёт минимум
+ * по ночам периода, не обращаясь к БД. Источник истины - room_inventory: бронирование списывается
+ * там условным UPDATE, а сюда попадает после коммита (RoomChangeEvent), поэтому индекс никогда
+ * не показывает меньше свободных номеров, чем в БД, и годится для быстрого отказа.
+ * Раз в сутки горизонт сдвигается: прошедшая ночь удаляется, новая добавляется.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class AvailabilityIndex {
+
+    private static final Logger LOG = Logger.getLogger(AvailabilityIndex.class.getName());
+
+    /**
+     * На сколько ночей вперёд открыто бронирование
+     */
+    public static final int HORIZON_DAYS = Integer.getInteger("hotel.availability.horizon-days", 365);
+
+    @EJB
+    private HotelDAO hotelDAO;
+
+    @EJB
+    private RoomDAO roomDAO;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoomSlot> roomTypes = new HashMap<>();
+    private final TreeMap<Long, List<RoomSlot>> roomsByHotel = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> hotelsByCity = new HashMap<>();
+    private final Map<Long, String> cityByHotel = new HashMap<>();
+    private long baseDay;
+
+    /**
+     * Тип номера и его свободные номера по ночам горизонта
+     */
+    private static final class RoomSlot {
+        final RoomTypeDTO roomType;
+        short[] free;
+
+        RoomSlot(RoomTypeDTO roomType, short[] free) {
+            this.roomType = roomType;
+            this.free = free;
+        }
+    }
+
+    /**
+     * Отель с подходящими типами номеров
+     */
+    public record Hit(long hotelId, List<RoomAvailabilityDTO> rooms) {
+    }
+
+    @PostConstruct
+    void init() {
+        LocalDate today = LocalDate.now();
+        baseDay = today.toEpochDay();
+
+        for (Tuple row : hotelDAO.findAllFacetKeys()) {
+            setCity(row.get("id", Long.class), row.get("city", String.class));
+        }
+        for (Tuple row : roomDAO.findAllRoomTypes()) {
+            addRoomType(RoomTypeDTO.builder()
+                    .id(row.get("id", Long.class))
+                    .hotelId(row.get("hotelId", Long.class))
+                    .name(row.get("name", String.class))
+                    .capacity(row.get("capacity", Integer.class))
+                    .totalRooms(row.get("totalRooms", Integer.class))
+                    .build(), new short[HORIZON_DAYS]);
+        }
+        applyInventory(roomDAO.findInventory(today, today.plusDays(HORIZON_DAYS)));
+        LOG.info("Availability index built: " + roomTypes.size() + " room types, " + HORIZON_DAYS + " nights");
+    }
+
+    /**
+     * Найти отели, где на каждую ночь периода свободно не меньше rooms номеров одного типа
+     * @param city город (null - все города)
+     * @param checkIn дата заезда
+     * @param checkOut дата выезда
+     * @param guests минимальная вместимость номера
+     * @param rooms сколько номеров нужно
+     * @return отели по возрастанию ID (пусто, если период выходит за горизонт)
+     */
+    public List<Hit> findAvailable(String city, LocalDate checkIn, LocalDate checkOut, int guests, int rooms) {
+        lock.readLock().lock();
+        try {
+            int from = (int) (checkIn.toEpochDay() - baseDay);
+            int to = (int) (checkOut.toEpochDay() - baseDay);
+            if (from < 0 || to > HORIZON_DAYS || from >= to) {
+                return List.of();
+            }
+
+            Iterable<Long> hotelIds = city == null
+                    ? roomsByHotel.keySet()
+                    : hotelsByCity.getOrDefault(city, Collections.emptyNavigableSet());
+            List<Hit> hits = new ArrayList<>();
+            for (Long hotelId : hotelIds) {
+                List<RoomAvailabilityDTO> matching = null;
+                for (RoomSlot slot : roomsByHotel.getOrDefault(hotelId, List.of())) {
+                    if (slot.roomType.getCapacity() < guests) {
+                        continue;
+                    }
+                    int available = minFree(slot.free, from, to);
+                    if (available >= rooms) {
+                        if (matching == null) {
+                            matching = new ArrayList<>();
+                        }
+                        matching.add(RoomAvailabilityDTO.builder()
+                                .roomTypeId(slot.roomType.getId())
+                                .name(slot.roomType.getName())
+                                .capacity(slot.roomType.getCapacity())
+                                .available(available)
+                                .build());
+                    }
+                }
+                if (matching != null) {
+                    hits.add(new Hit(hotelId, matching));
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Могут ли быть свободны номера на период; false - в БД их точно нет
+     */
+    public boolean mayBeAvailable(Long roomTypeId, LocalDate checkIn, LocalDate checkOut, int rooms) {
+        lock.readLock().lock();
+        try {
+            RoomSlot slot = roomTypes.get(roomTypeId);
+            int from = (int) (checkIn.toEpochDay() - baseDay);
+            int to = (int) (checkOut.toEpochDay() - baseDay);
+            // Тип номера, добавленный после построения индекса, ещё может быть в пути
+            return slot == null || from >= 0 && to <= HORIZON_DAYS && minFree(slot.free, from, to) >= rooms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Типы номеров отеля
+     */
+    public List<RoomTypeDTO> roomTypes(Long hotelId) {
+        lock.readLock().lock();
+        try {
+            return roomsByHotel.getOrDefault(hotelId, List.of()).stream()
+                    .map(slot -> slot.roomType)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onRoomsChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) RoomChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == RoomChangeEvent.Type.ROOM_TYPE_ADDED) {
+                short[] free = new short[HORIZON_DAYS];
+                Arrays.fill(free, (short) event.getRoomType().getTotalRooms());
+                addRoomType(event.getRoomType(), free);
+            } else {
+                ReservationDTO reservation = event.getReservation();
+                RoomSlot slot = roomTypes.get(reservation.getRoomTypeId());
+                if (slot != null) {
+                    int from = (int) Math.max(0, reservation.getCheckIn().toEpochDay() - baseDay);
+                    int to = (int) Math.min(HORIZON_DAYS, reservation.getCheckOut().toEpochDay() - baseDay);
+                    for (int day = from; day < to; day++) {
+                        slot.free[day] -= (short) reservation.getRooms();
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            Long hotelId = event.getHotelId();
+            if (event.getType() == HotelChangeEvent.Type.DELETED) {
+                setCity(hotelId, null);
+                List<RoomSlot> removed = roomsByHotel.remove(hotelId);
+                if (removed != null) {
+                    removed.forEach(slot -> roomTypes.remove(slot.roomType.getId()));
+                }
+            } else {
+                HotelDTO hotel = event.getHotel();
+                setCity(hotelId, hotel.getAddress() != null ? hotel.getAddress().getCity() : null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Сдвинуть горизонт на текущую дату: удалить прошедшие ночи и открыть новые
+     */
+    @Schedule(hour = "0", minute = "1", persistent = false)
+    public void rollHorizon() {
+        LocalDate today = LocalDate.now();
+        LocalDate end = today.plusDays(HORIZON_DAYS);
+        LocalDate previousEnd = LocalDate.ofEpochDay(baseDay + HORIZON_DAYS);
+        if (!today.isAfter(LocalDate.ofEpochDay(baseDay))) {
+            return;
+        }
+
+        // Изменения в БД - до захвата блокировки, чтобы не держать поиск на время запросов
+        LocalDate firstNew = previousEnd.isAfter(today) ? previousEnd : today;
+        for (LocalDate day = firstNew; day.isBefore(end); day = day.plusDays(1)) {
+            roomDAO.extendInventory(day);
+        }
+        int deleted = roomDAO.deleteInventoryBefore(today);
+        List<Tuple> opened = roomDAO.findInventory(firstNew, end);
+
+        lock.writeLock().lock();
+        try {
+            int shift = (int) (today.toEpochDay() - baseDay);
+            for (RoomSlot slot : roomTypes.values()) {
+                short[] shifted = new short[HORIZON_DAYS];
+                if (shift < HORIZON_DAYS) {
+                    System.arraycopy(slot.free, shift, shifted, 0, HORIZON_DAYS - shift);
+                }
+                slot.free = shifted;
+            }
+            baseDay = today.toEpochDay();
+            applyInventory(opened);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOG.info("Booking horizon moved to " + today + ": " + deleted + " past nights removed");
+    }
+
+    private void addRoomType(RoomTypeDTO roomType, short[] free) {
+        RoomSlot slot = new RoomSlot(roomType, free);
+        roomTypes.put(roomType.getId(), slot);
+        roomsByHotel.computeIfAbsent(roomType.getHotelId(), id -> new ArrayList<>()).add(slot);
+    }
+
+    private void applyInventory(List<Tuple> rows) {
+        for (Tuple row : rows) {
+            RoomSlot slot = roomTypes.get(row.get("roomTypeId", Long.class));
+            int day = (int) (row.get("stayDate", LocalDate.class).toEpochDay() - baseDay);
+            if (slot != null && day >= 0 && day < HORIZON_DAYS) {
+                slot.free[day] = row.get("available", Short.class);
+            }
+        }
+    }
+
+    private void setCity(Long hotelId, String city) {
+        String previous = city != null ? cityByHotel.put(hotelId, city) : cityByHotel.remove(hotelId);
+        if (previous != null && !previous.equals(city)) {
+            NavigableSet<Long> hotels = hotelsByCity.get(previous);
+            hotels.remove(hotelId);
+            if (hotels.isEmpty()) {
+                hotelsByCity.remove(previous);
+            }
+        }
+        if (city != null) {
+            hotelsByCity.computeIfAbsent(city, c -> new TreeSet<>()).add(hotelId);
+        }
+    }
+
+    private static int minFree(short[] free, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int day = from; day < to; day++) {
+            min = Math.min(min, free[day]);
+        }
+        return min;
+    }
+}
@@ -0,0 +1,158 @@
+package ru.example.hotel.ejb.index;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Lock;
+import jakarta.ejb.LockType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.ejb.dao.HotelDAO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Счётчики фасетов (город x категория) в памяти
+ *
+ * Хранится матрица количества отелей по парам (город, категория) и итоги по строкам и столбцам,
+ * поэтому ответ не зависит от размера каталога - только от числа различных городов.
+ * Для каждого отеля запоминается его пара, чтобы при изменении и удалении уменьшить нужный счётчик.
+ * Индекс строится при старте и обновляется по HotelChangeEvent после коммита.
+ */
+@Singleton
+@Startup
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class FacetIndex {
+
+    private static final Logger LOG = Logger.getLogger(FacetIndex.class.getName());
+
+    @EJB
+    private HotelDAO hotelDAO;
+
+    /**
+     * Пара значений фасетов отеля; экземпляры переиспользуются, на отель хранится только ссылка
+     */
+    private record FacetKey(String city, HotelCategory category) {
+    }
+
+    private final Map<Long, FacetKey> hotelKeys = new HashMap<>();
+    private final Map<FacetKey, FacetKey> canonicalKeys = new HashMap<>();
+    private final Map<String, Map<HotelCategory, Long>> categoriesByCity = new HashMap<>();
+    private final Map<HotelCategory, Map<String, Long>> citiesByCategory = new EnumMap<>(HotelCategory.class);
+    private final Map<String, Long> cityTotals = new HashMap<>();
+    private final Map<HotelCategory, Long> categoryTotals = new EnumMap<>(HotelCategory.class);
+
+    @PostConstruct
+    void init() {
+        for (Tuple row : hotelDAO.findAllFacetKeys()) {
+            add(row.get("id", Long.class), row.get("city", String.class), row.get("category", HotelCategory.class));
+        }
+        LOG.info("Facet index built: " + hotelKeys.size() + " hotels, " + cityTotals.size() + " cities");
+    }
+
+    /**
+     * Посчитать фасеты с учётом фильтров
+     * @param city фильтр по городу (null - все города)
+     * @param category фильтр по категории (null - все категории)
+     * @param cityLimit сколько городов с наибольшим количеством вернуть
+     */
+    @Lock(LockType.READ)
+    public HotelFacetsDTO facets(String city, HotelCategory category, int cityLimit) {
+        Map<HotelCategory, Long> categories = city == null
+                ? categoryTotals
+                : categoriesByCity.getOrDefault(city, Map.of());
+        Map<String, Long> cities = category == null
+                ? cityTotals
+                : citiesByCategory.getOrDefault(category, Map.of());
+
+        long total;
+        if (city != null) {
+            // Итог города, а не сумма по категориям: отели без категории в categoriesByCity не попадают
+            total = category != null
+                    ? categories.getOrDefault(category, 0L)
+                    : cityTotals.getOrDefault(city, 0L);
+        } else {
+            total = category != null ? categoryTotals.getOrDefault(category, 0L) : hotelKeys.size();
+        }
+
+        return HotelFacetsDTO.builder()
+                .total(total)
+                .categories(sortedByCount(categories, Integer.MAX_VALUE))
+                .cities(sortedByCount(cities, cityLimit))
+                .build();
+    }
+
+    @Lock(LockType.WRITE)
+    public void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangeEvent event) {
+        remove(event.getHotelId());
+        if (event.getType() != HotelChangeEvent.Type.DELETED) {
+            HotelDTO hotel = event.getHotel();
+            add(event.getHotelId(), hotel.getAddress() != null ? hotel.getAddress().getCity() : null,
+                    hotel.getCategory());
+        }
+    }
+
+    private void add(Long id, String city, HotelCategory category) {
+        FacetKey key = canonicalKeys.computeIfAbsent(new FacetKey(city, category), k -> k);
+        hotelKeys.put(id, key);
+        change(key, 1);
+    }
+
+    private void remove(Long id) {
+        FacetKey key = hotelKeys.remove(id);
+        if (key != null) {
+            change(key, -1);
+        }
+    }
+
+    /**
+     * Изменить все счётчики пары на delta; обнулившиеся записи удаляются, чтобы не возвращать пустые фасеты
+     */
+    private void change(FacetKey key, long delta) {
+        if (key.city() != null) {
+            adjust(cityTotals, key.city(), delta);
+        }
+        if (key.category() != null) {
+            adjust(categoryTotals, key.category(), delta);
+        }
+        if (key.city() != null && key.category() != null) {
+            adjust(categoriesByCity.computeIfAbsent(key.city(), c -> new EnumMap<>(HotelCategory.class)),
+                    key.category(), delta);
+            adjust(citiesByCategory.computeIfAbsent(key.category(), c -> new HashMap<>()), key.city(), delta);
+            if (categoriesByCity.get(key.city()).isEmpty()) {
+                categoriesByCity.remove(key.city());
+            }
+        }
+    }
+
+    private static <K> void adjust(Map<K, Long> counts, K key, long delta) {
+        counts.compute(key, (k, count) -> {
+            long value = Objects.requireNonNullElse(count, 0L) + delta;
+            return value > 0 ? value : null;
+        });
+    }
+
+    private static <K> Map<K, Long> sortedByCount(Map<K, Long> counts, int limit) {
+        Map<K, Long> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(entry -> String.valueOf(entry.getKey())))
+                .limit(limit)
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
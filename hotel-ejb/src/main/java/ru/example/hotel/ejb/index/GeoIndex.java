@@ -0,0 +1,179 @@
+package ru.example.hotel.ejb.index;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Lock;
+import jakarta.ejb.LockType;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.ejb.dao.HotelDAO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Пространственный индекс отелей в памяти
+ *
+ * Координаты раскладываются по сетке ячеек CELL_DEGREES x CELL_DEGREES градусов.
+ * Поиск в радиусе перебирает только ячейки, покрывающие ограничивающий прямоугольник круга,
+ * и точно фильтрует кандидатов по формуле гаверсинусов.
+ * Индекс строится при старте и обновляется по HotelChangeEvent после коммита.
+ */
+@Singleton
+@Startup
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class GeoIndex {
+
+    private static final Logger LOG = Logger.getLogger(GeoIndex.class.getName());
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    /**
+     * Размер ячейки сетки в градусах (~5.5 км по широте)
+     */
+    private static final double CELL_DEGREES = 0.05;
+    private static final long LON_CELLS = (long) Math.ceil(360 / CELL_DEGREES);
+
+    /**
+     * Если прямоугольник поиска покрывает больше ячеек, чем точек в индексе, проще перебрать точки
+     */
+    private static final long MAX_CELLS_TO_SCAN = 10_000;
+
+    @EJB
+    private HotelDAO hotelDAO;
+
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private final Map<Long, double[]> locations = new HashMap<>();
+
+    /**
+     * Результат поиска: идентификатор отеля и расстояние до точки поиска
+     */
+    public record Hit(Long hotelId, double distanceKm) {
+    }
+
+    @PostConstruct
+    void init() {
+        for (Tuple row : hotelDAO.findAllLocations()) {
+            put(row.get("id", Long.class), row.get("latitude", Double.class), row.get("longitude", Double.class));
+        }
+        LOG.info("Geo index built: " + locations.size() + " hotels with coordinates");
+    }
+
+    /**
+     * Найти отели в радиусе от точки, упорядоченные по расстоянию
+     * @param latitude широта точки
+     * @param longitude долгота точки
+     * @param radiusKm радиус поиска в километрах
+     * @return попадания, отсортированные по возрастанию расстояния
+     */
+    @Lock(LockType.READ)
+    public List<Hit> findWithin(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        // У полюсов прямоугольник охватывает все долготы
+        double lonDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat));
+
+        long minLatCell = latCell(Math.max(-90, latitude - latDelta));
+        long maxLatCell = latCell(Math.min(90, latitude + latDelta));
+        long lonCellSpan = lonDelta >= 180 ? LON_CELLS : (long) Math.ceil(2 * lonDelta / CELL_DEGREES) + 1;
+
+        List<Hit> hits = new ArrayList<>();
+        if ((maxLatCell - minLatCell + 1) * lonCellSpan > Math.max(MAX_CELLS_TO_SCAN, locations.size())) {
+            locations.forEach((id, point) -> collect(hits, id, point, latitude, longitude, radiusKm));
+        } else {
+            long minLonCell = lonCell(longitude - lonDelta);
+            for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (long i = 0; i < lonCellSpan; i++) {
+                    // Долгота заворачивается через антимеридиан
+                    long lonCell = Math.floorMod(minLonCell + i, LON_CELLS);
+                    Set<Long> ids = cells.get(cellKey(latCell, lonCell));
+                    if (ids != null) {
+                        for (Long id : ids) {
+                            collect(hits, id, locations.get(id), latitude, longitude, radiusKm);
+                        }
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::hotelId));
+        return hits;
+    }
+
+    @Lock(LockType.WRITE)
+    public void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangeEvent event) {
+        remove(event.getHotelId());
+        if (event.getType() != HotelChangeEvent.Type.DELETED) {
+            AddressDTO address = event.getHotel().getAddress();
+            if (address != null) {
+                put(event.getHotelId(), address.getLatitude(), address.getLongitude());
+            }
+        }
+    }
+
+    /**
+     * Расстояние по большому кругу между двумя точками (формула гаверсинусов)
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void put(Long id, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        locations.put(id, new double[]{latitude, longitude});
+        cells.computeIfAbsent(cellKey(latCell(latitude), lonCell(longitude)), key -> new HashSet<>()).add(id);
+    }
+
+    private void remove(Long id) {
+        double[] point = locations.remove(id);
+        if (point != null) {
+            long key = cellKey(latCell(point[0]), lonCell(point[1]));
+            Set<Long> ids = cells.get(key);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static void collect(List<Hit> hits, Long id, double[] point,
+                                double latitude, double longitude, double radiusKm) {
+        double distance = distanceKm(latitude, longitude, point[0], point[1]);
+        if (distance <= radiusKm) {
+            hits.add(new Hit(id, distance));
+        }
+    }
+
+    private static long latCell(double latitude) {
+        return (long) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static long lonCell(double longitude) {
+        return Math.floorMod((long) Math.floor((longitude + 180) / CELL_DEGREES), LON_CELLS);
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return latCell * LON_CELLS + lonCell;
+    }
+}
@@ -0,0 +1,236 @@
+package ru.example.hotel.ejb.index;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import ru.example.hotel.ejb.dao.HotelDAO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+
+/**
+ * Порядковый индекс отелей по (name, id) в памяти
+ *
+ * Декартово дерево (treap) с размерами поддеревьев: позиция N в порядке ORDER BY name, id
+ * находится за O(log n), и DAO читает страницу диапазоном по idx_name_id вместо OFFSET.
+ * Ключом служит WEIGHT_STRING(name) из MariaDB, поэтому порядок в памяти совпадает
+ * с collation колонки (регистр, ё/е и т.п. сравниваются так же, как в ORDER BY).
+ * Индекс строится при старте и обновляется по HotelChangeEvent после коммита.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class NameOrderIndex {
+
+    private static final Logger LOG = Logger.getLogger(NameOrderIndex.class.getName());
+
+    /**
+     * С какого смещения страница читается через индекс; первые страницы дешевле обычным OFFSET
+     */
+    private static final int MIN_SEEK_OFFSET = Integer.getInteger("hotel.name-index.min-seek-offset", 1000);
+
+    /**
+     * Число мониторов, по которым распределяются обновления отелей
+     */
+    private static final int UPDATE_STRIPES = 64;
+
+    @EJB
+    private HotelDAO hotelDAO;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, byte[]> keys = new HashMap<>();
+    private final Random random = new Random();
+    private final Object[] updateStripes = new Object[UPDATE_STRIPES];
+    private Node root;
+
+    private static final class Node {
+        final byte[] weight;
+        final long id;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(byte[] weight, long id, int priority) {
+            this.weight = weight;
+            this.id = id;
+            this.priority = priority;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < updateStripes.length; i++) {
+            updateStripes[i] = new Object();
+        }
+        for (Object[] row : hotelDAO.findAllNameWeights()) {
+            put(((Number) row[0]).longValue(), (byte[]) row[1]);
+        }
+        LOG.info("Name order index built: " + keys.size() + " hotels");
+    }
+
+    /**
+     * Стоит ли читать страницу с таким смещением через индекс
+     */
+    public boolean isSeekWorthwhile(int offset) {
+        return offset >= MIN_SEEK_OFFSET;
+    }
+
+    /**
+     * Отель на позиции rank в порядке (name, id) по возрастанию
+     * @param rank позиция, начиная с 0
+     * @return идентификатор отеля или пустой Optional, если позиция за пределами индекса
+     */
+    public Optional<Long> idAtRank(long rank) {
+        lock.readLock().lock();
+        try {
+            if (rank < 0 || rank >= size(root)) {
+                return Optional.empty();
+            }
+            Node node = root;
+            long remaining = rank;
+            while (true) {
+                int leftSize = size(node.left);
+                if (remaining < leftSize) {
+                    node = node.left;
+                } else if (remaining == leftSize) {
+                    return Optional.of(node.id);
+                } else {
+                    remaining -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Количество отелей в индексе
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangeEvent event) {
+        Long id = event.getHotelId();
+        // Наблюдатели двух коммитов одного отеля могут выполняться одновременно: чтение ключа
+        // и его применение идут под монитором отеля, поэтому последним применяется ключ,
+        // прочитанный после обоих коммитов. Тип события не используется: удалённого отеля в БД уже нет.
+        // Ключ читается вне блокировки индекса, чтобы не держать читателей на время запроса к БД
+        synchronized (updateStripes[Math.floorMod(Long.hashCode(id), UPDATE_STRIPES)]) {
+            Optional<byte[]> weight = hotelDAO.findNameWeight(id);
+
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                weight.ifPresent(value -> put(id, value));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void put(long id, byte[] weight) {
+        keys.put(id, weight);
+        Node node = new Node(weight, id, random.nextInt());
+        Node[] parts = split(root, weight, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    private void remove(long id) {
+        byte[] weight = keys.remove(id);
+        if (weight != null) {
+            root = remove(root, weight, id);
+        }
+    }
+
+    private static Node remove(Node node, byte[] weight, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(weight, id, node);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, weight, id);
+        } else {
+            node.right = remove(node.right, weight, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Разделить дерево на ключи меньше (weight, id) и не меньше
+     */
+    private static Node[] split(Node node, byte[] weight, long id) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(weight, id, node) > 0) {
+            Node[] parts = split(node.right, weight, id);
+            node.right = parts[0];
+            update(node);
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, weight, id);
+        node.left = parts[1];
+        update(node);
+        return new Node[]{parts[0], node};
+    }
+
+    /**
+     * Объединить деревья, где все ключи left меньше ключей right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static int compare(byte[] weight, long id, Node node) {
+        int cmp = Arrays.compareUnsigned(weight, node.weight);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,528 @@
+package ru.example.hotel.ejb.index;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.EJB;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+import jakarta.ejb.TransactionAttribute;
+import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.ejb.dao.HotelDAO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Префиксный индекс названий отелей для подсказок при вводе
+ *
+ * Сжатое префиксное дерево (radix tree) по нормализованному названию: нижний регистр, ё -> е,
+ * знаки препинания заменены пробелом. В дерево попадает название целиком и его хвосты с начала
+ * каждого следующего слова, поэтому "пал" находит "Невский Палас". Каждый узел хранит лучшие
+ * TOP_K отелей своего поддерева, и ответ - это спуск по запросу без обхода поддерева.
+ * Популярность - число чтений отеля по ID, затухающее с периодом полураспада half-life-hours;
+ * просмотры копятся без блокировок и раз в 30 секунд переносятся в дерево.
+ * Индекс строится при старте и обновляется по HotelChangeEvent после коммита.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+public class SuggestIndex {
+
+    private static final Logger LOG = Logger.getLogger(SuggestIndex.class.getName());
+
+    /**
+     * Сколько лучших отелей хранится в каждом узле (максимум подсказок в ответе)
+     */
+    public static final int TOP_K = Integer.getInteger("hotel.suggest.top-k", 10);
+
+    /**
+     * С какого числа слов названия перестают индексироваться хвосты; ограничивает размер дерева
+     */
+    private static final int MAX_WORDS = Integer.getInteger("hotel.suggest.max-words", 4);
+
+    /**
+     * Период полураспада популярности: просмотр этого возраста весит вдвое меньше нового; 0 - без затухания
+     */
+    private static final long HALF_LIFE_NANOS =
+            TimeUnit.HOURS.toNanos(Long.getLong("hotel.suggest.half-life-hours", 168));
+
+    /**
+     * Через сколько периодов полураспада веса просмотров и популярность уменьшаются в 2^RESCALE_HALF_LIVES раз
+     */
+    private static final int RESCALE_HALF_LIVES = 32;
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final long[] NO_IDS = new long[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    @EJB
+    private HotelDAO hotelDAO;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    /**
+     * Счётчики просмотров по отелю; не удаляются при переносе (обнуляются sumThenReset), иначе просмотр,
+     * записанный в уже изъятый счётчик, потерялся бы. Удаляются вместе с отелем
+     */
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final Node root = new Node("");
+
+    /**
+     * Часы для веса просмотров (заменяются в тестах)
+     */
+    LongSupplier clock = System::nanoTime;
+
+    /**
+     * Начало отсчёта веса просмотров; меняется только под блокировкой записи
+     */
+    private long weightEpochNanos = System.nanoTime();
+
+    /**
+     * Проиндексированный отель; popularity меняется только под блокировкой записи
+     *
+     * Затухание без пересчёта дерева: новый просмотр весит 2^(t / период) относительно начала отсчёта,
+     * поэтому старые просмотры теряют вес относительно новых, а популярность уже учтённых отелей
+     * не меняется. Деление всех значений на степень двойки точное и порядок не меняет.
+     */
+    private static final class Entry {
+        final HotelSuggestionDTO suggestion;
+        final String[] keys;
+        double popularity;
+
+        Entry(HotelSuggestionDTO suggestion, String[] keys) {
+            this.suggestion = suggestion;
+            this.keys = keys;
+        }
+    }
+
+    /**
+     * Узел дерева; массивы не изменяются на месте, при изменении заменяются новыми
+     */
+    private static final class Node {
+        String label;
+        Node[] children = NO_CHILDREN;
+        long[] ids = NO_IDS;
+        long[] top = NO_IDS;
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        weightEpochNanos = clock.getAsLong();
+        for (Tuple row : hotelDAO.findAllSuggestKeys()) {
+            put(row.get("id", Long.class), row.get("name", String.class), row.get("city", String.class),
+                    row.get("category", HotelCategory.class), 0);
+        }
+        LOG.info("Suggest index built: " + entries.size() + " hotels");
+    }
+
+    /**
+     * Подсказки по началу названия или любого его слова
+     * @param query введённый текст
+     * @param limit максимальное количество подсказок (не больше TOP_K)
+     * @return отели по убыванию популярности
+     */
+    public List<HotelSuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            long[] top = find(prefix);
+            List<HotelSuggestionDTO> result = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                result.add(entries.get(top[i]).suggestion);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Учесть чтение отелей по ID; вызывается на каждом чтении, поэтому не берёт блокировку
+     */
+    public void recordViews(Collection<Long> ids) {
+        for (Long id : ids) {
+            pendingViews.computeIfAbsent(id, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Перенести накопленные просмотры в порядок подсказок
+     */
+    @Schedule(second = "*/30", minute = "*", hour = "*", persistent = false)
+    public void applyViews() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            double weight = viewWeight();
+            for (Map.Entry<Long, LongAdder> pending : pendingViews.entrySet()) {
+                Long id = pending.getKey();
+                Entry entry = entries.get(id);
+                // Отель, прочитанный до события о его создании, получит просмотры при следующем переносе
+                long views = entry != null ? pending.getValue().sumThenReset() : 0;
+                if (views > 0) {
+                    // Ключ сравнения меняется, поэтому отель переставляется во всех узлах своих ключей
+                    for (String key : entry.keys) {
+                        remove(key, id);
+                    }
+                    entry.popularity += views * weight;
+                    for (String key : entry.keys) {
+                        insert(key, id);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onHotelChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) HotelChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            Entry removed = removeHotel(event.getHotelId());
+            if (event.getType() == HotelChangeEvent.Type.DELETED) {
+                pendingViews.remove(event.getHotelId());
+            } else {
+                HotelDTO hotel = event.getHotel();
+                // Популярность переживает изменение названия
+                put(event.getHotelId(), hotel.getName(),
+                        hotel.getAddress() != null ? hotel.getAddress().getCity() : null, hotel.getCategory(),
+                        removed != null ? removed.popularity : 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Нормализовать текст: нижний регистр, ё -> е, последовательности прочих символов - один пробел
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(Math.min(text.length(), MAX_KEY_LENGTH));
+        boolean separator = false;
+        for (int i = 0; i < text.length() && normalized.length() < MAX_KEY_LENGTH; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (c == 'ё') {
+                c = 'е';
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Вес просмотра сейчас: 2^(время от начала отсчёта / период полураспада). Когда вес доходит
+     * до 2^RESCALE_HALF_LIVES, начало отсчёта сдвигается, а популярность всех отелей делится на тот же множитель
+     */
+    private double viewWeight() {
+        if (HALF_LIFE_NANOS <= 0) {
+            return 1;
+        }
+        long elapsed = clock.getAsLong() - weightEpochNanos;
+        if (elapsed >= RESCALE_HALF_LIVES * HALF_LIFE_NANOS) {
+            long halfLives = elapsed / HALF_LIFE_NANOS;
+            int exponent = (int) Math.min(halfLives, Integer.MAX_VALUE);
+            for (Entry entry : entries.values()) {
+                entry.popularity = Math.scalb(entry.popularity, -exponent);
+            }
+            weightEpochNanos += halfLives * HALF_LIFE_NANOS;
+            elapsed -= halfLives * HALF_LIFE_NANOS;
+            LOG.fine("Suggest popularity rescaled by 2^-" + exponent);
+        }
+        return Math.pow(2, (double) elapsed / HALF_LIFE_NANOS);
+    }
+
+    private void put(Long id, String name, String city, HotelCategory category, double popularity) {
+        String normalized = normalize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            keys.add(normalized);
+        }
+        int words = 1;
+        for (int i = normalized.indexOf(' '); i >= 0 && words < MAX_WORDS; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+            words++;
+        }
+
+        HotelSuggestionDTO suggestion = HotelSuggestionDTO.builder()
+                .id(id)
+                .name(name)
+                .city(city)
+                .category(category)
+                .build();
+        Entry entry = new Entry(suggestion, keys.toArray(String[]::new));
+        entry.popularity = popularity;
+        entries.put(id, entry);
+        for (String key : keys) {
+            insert(key, id);
+        }
+    }
+
+    private Entry removeHotel(Long id) {
+        Entry entry = entries.get(id);
+        if (entry != null) {
+            for (String key : entry.keys) {
+                remove(key, id);
+            }
+            entries.remove(id);
+        }
+        return entry;
+    }
+
+    private long[] find(String prefix) {
+        Node node = root;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int index = childIndex(node, prefix.charAt(pos));
+            if (index < 0) {
+                return NO_IDS;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, pos);
+            if (common < child.label.length() && pos + common < prefix.length()) {
+                return NO_IDS;
+            }
+            node = child;
+            pos += common;
+        }
+        return node.top;
+    }
+
+    private void insert(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = childIndex(node, key.charAt(pos));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(pos));
+                node.children = insertChild(node.children, -index - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, pos);
+            if (common < child.label.length()) {
+                // Ключ расходится с меткой ребра посередине - ребро делится промежуточным узлом
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[]{child};
+                middle.top = child.top;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            pos += common;
+        }
+
+        node.ids = append(node.ids, id);
+        for (Node onPath : path) {
+            onPath.top = offer(onPath.top, id);
+        }
+    }
+
+    private void remove(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int pos = 0;
+        while (pos < key.length()) {
+            int index = childIndex(node, key.charAt(pos));
+            if (index < 0) {
+                return;
+            }
+            node = node.children[index];
+            if (!key.startsWith(node.label, pos)) {
+                return;
+            }
+            path.add(node);
+            pos += node.label.length();
+        }
+        node.ids = without(node.ids, id);
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0 && current.ids.length == 0 && current.children.length <= 1) {
+                // Пустой узел удаляется, а узел с единственным потомком сливается с ним
+                Node parent = path.get(i - 1);
+                int index = childIndex(parent, current.label.charAt(0));
+                if (current.children.length == 0) {
+                    parent.children = removeChild(parent.children, index);
+                } else {
+                    Node child = current.children[0];
+                    child.label = current.label + child.label;
+                    parent.children[index] = child;
+                }
+            } else if (contains(current.top, id)) {
+                current.top = best(current);
+            }
+        }
+    }
+
+    /**
+     * Лучшие TOP_K отелей узла: собственные отели и лучшие отели потомков
+     */
+    private long[] best(Node node) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (long id : node.ids) {
+            candidates.add(id);
+        }
+        for (Node child : node.children) {
+            for (long id : child.top) {
+                candidates.add(id);
+            }
+        }
+        return candidates.stream()
+                .sorted(this::compare)
+                .limit(TOP_K)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private long[] offer(long[] top, long id) {
+        int position = 0;
+        while (position < top.length) {
+            if (top[position] == id) {
+                return top;
+            }
+            if (compare(id, top[position]) < 0) {
+                break;
+            }
+            position++;
+        }
+        if (position >= TOP_K) {
+            return top;
+        }
+        long[] result = new long[Math.min(top.length + 1, TOP_K)];
+        System.arraycopy(top, 0, result, 0, position);
+        result[position] = id;
+        System.arraycopy(top, position, result, position + 1, result.length - position - 1);
+        return result;
+    }
+
+    /**
+     * Порядок подсказок: популярнее, короче название, меньше ID
+     */
+    private int compare(long left, long right) {
+        Entry a = entries.get(left);
+        Entry b = entries.get(right);
+        int cmp = Double.compare(b.popularity, a.popularity);
+        if (cmp == 0) {
+            cmp = Integer.compare(a.suggestion.getName().length(), b.suggestion.getName().length());
+        }
+        return cmp != 0 ? cmp : Long.compare(left, right);
+    }
+
+    private static int childIndex(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char c = node.children[mid].label.charAt(0);
+            if (c < first) {
+                low = mid + 1;
+            } else if (c > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(String label, String key, int from) {
+        int length = Math.min(label.length(), key.length() - from);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(from + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Node[] insertChild(Node[] children, int index, Node child) {
+        Node[] result = new Node[children.length + 1];
+        System.arraycopy(children, 0, result, 0, index);
+        result[index] = child;
+        System.arraycopy(children, index, result, index + 1, children.length - index);
+        return result;
+    }
+
+    private static Node[] removeChild(Node[] children, int index) {
+        if (children.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] result = new Node[children.length - 1];
+        System.arraycopy(children, 0, result, 0, index);
+        System.arraycopy(children, index + 1, result, index, children.length - index - 1);
+        return result;
+    }
+
+    private static long[] append(long[] ids, long id) {
+        if (contains(ids, id)) {
+            return ids;
+        }
+        long[] result = Arrays.copyOf(ids, ids.length + 1);
+        result[ids.length] = id;
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        long[] result = Arrays.stream(ids).filter(value -> value != id).toArray();
+        return result.length == 0 ? NO_IDS : result;
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long value : ids) {
+            if (value == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,6 +1,8 @@
 package ru.example.hotel.ejb.mapper;
 
+import jakarta.persistence.Tuple;
 import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelCategory;
 import ru.example.hotel.api.dto.HotelDTO;
 import ru.example.hotel.ejb.entity.Address;
 import ru.example.hotel.ejb.entity.Hotel;
@@ -15,34 +17,39 @@ public class HotelMapper {
     }
 
     /**
-     * Преобразовать Address entity в AddressDTO
+     * Преобразовать адрес отеля в AddressDTO
+     * @param address адрес, встроенный в Hotel
+     * @param hotelId ID отеля - своего ID у адреса нет, в DTO сохраняется ID отеля
      */
-    public static AddressDTO toDTO(Address address) {
+    public static AddressDTO toDTO(Address address, Long hotelId) {
         if (address == null) {
             return null;
         }
         return AddressDTO.builder()
-                .id(address.getId())
+                .id(hotelId)
                 .postalCode(address.getPostalCode())
                 .city(address.getCity())
                 .street(address.getStreet())
                 .building(address.getBuilding())
+                .latitude(address.getLatitude())
+                .longitude(address.getLongitude())
                 .build();
     }
 
     /**
-     * Преобразовать AddressDTO в Address entity
+     * Преобразовать AddressDTO в адрес отеля (ID из DTO не используется)
      */
     public static Address toEntity(AddressDTO dto) {
         if (dto == null) {
             return null;
         }
         return Address.builder()
-                .id(dto.getId())
                 .postalCode(dto.getPostalCode())
                 .city(dto.getCity())
                 .street(dto.getStreet())
                 .building(dto.getBuilding())
+                .latitude(dto.getLatitude())
+                .longitude(dto.getLongitude())
                 .build();
     }
 
@@ -50,18 +57,51 @@ public class HotelMapper {
      * Преобразовать Hotel entity в HotelDTO
      */
     public static HotelDTO toDTO(Hotel hotel) {
+        return toDTO(hotel, true, true);
+    }
+
+    /**
+     * Преобразовать Hotel entity в HotelDTO с учётом запрошенного состава полей
+     * Без includeNotes ленивое поле notes не читается и не загружается из БД
+     */
+    public static HotelDTO toDTO(Hotel hotel, boolean includeAddress, boolean includeNotes) {
         if (hotel == null) {
             return null;
         }
         return HotelDTO.builder()
                 .id(hotel.getId())
                 .name(hotel.getName())
-                .address(toDTO(hotel.getAddress()))
+                .address(includeAddress ? toDTO(hotel.getAddress(), hotel.getId()) : null)
                 .category(hotel.getCategory())
-                .notes(hotel.getNotes())
+                .notes(includeNotes ? hotel.getNotes() : null)
                 .build();
     }
 
+    /**
+     * Преобразовать строку проекции (см. HotelDAO.findAllProjected) в HotelDTO
+     */
+    public static HotelDTO toDTO(Tuple row, boolean includeAddress, boolean includeNotes) {
+        HotelDTO.HotelDTOBuilder builder = HotelDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .category(row.get("category", HotelCategory.class));
+        if (includeNotes) {
+            builder.notes(row.get("notes", String.class));
+        }
+        if (includeAddress && row.get("city") != null) {
+            builder.address(AddressDTO.builder()
+                    .id(row.get("id", Long.class))
+                    .postalCode(row.get("postalCode", String.class))
+                    .city(row.get("city", String.class))
+                    .street(row.get("street", String.class))
+                    .building(row.get("building", String.class))
+                    .latitude(row.get("latitude", Double.class))
+                    .longitude(row.get("longitude", Double.class))
+                    .build());
+        }
+        return builder.build();
+    }
+
     /**
      * Преобразовать HotelDTO в Hotel entity
      */
@@ -69,20 +109,13 @@ public class HotelMapper {
         if (dto == null) {
             return null;
         }
-        Hotel hotel = Hotel.builder()
+        return Hotel.builder()
                 .id(dto.getId())
                 .name(dto.getName())
                 .address(toEntity(dto.getAddress()))
                 .category(dto.getCategory())
                 .notes(dto.getNotes())
                 .build();
-        
-        // Установить обратную связь
-        if (hotel.getAddress() != null) {
-            hotel.getAddress().setHotel(hotel);
-        }
-        
-        return hotel;
     }
 
     /**
@@ -95,16 +128,7 @@ public class HotelMapper {
         
         // Обновить адрес
         if (dto.getAddress() != null) {
-            Address address = hotel.getAddress();
-            if (address == null) {
-                address = new Address();
-                hotel.setAddress(address);
-                address.setHotel(hotel);
-            }
-            address.setPostalCode(dto.getAddress().getPostalCode());
-            address.setCity(dto.getAddress().getCity());
-            address.setStreet(dto.getAddress().getStreet());
-            address.setBuilding(dto.getAddress().getBuilding());
+            hotel.setAddress(toEntity(dto.getAddress()));
         }
     }
 }
@@ -0,0 +1,45 @@
+package ru.example.hotel.ejb.mapper;
+
+import ru.example.hotel.api.dto.RoomTypeDTO;
+import ru.example.hotel.ejb.entity.RoomType;
+
+/**
+ * Маппер для преобразования типов номеров между JPA сущностями и DTO
+ */
+public class RoomMapper {
+
+    private RoomMapper() {
+        // Utility class
+    }
+
+    /**
+     * Преобразовать RoomType entity в RoomTypeDTO
+     */
+    public static RoomTypeDTO toDTO(RoomType roomType) {
+        if (roomType == null) {
+            return null;
+        }
+        return RoomTypeDTO.builder()
+                .id(roomType.getId())
+                .hotelId(roomType.getHotel() != null ? roomType.getHotel().getId() : null)
+                .name(roomType.getName())
+                .capacity(roomType.getCapacity())
+                .totalRooms(roomType.getTotalRooms())
+                .build();
+    }
+
+    /**
+     * Преобразовать RoomTypeDTO в RoomType entity (без отеля)
+     */
+    public static RoomType toEntity(RoomTypeDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        return RoomType.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .capacity(dto.getCapacity())
+                .totalRooms(dto.getTotalRooms())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.example.hotel.ejb.routing;
+
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+import ru.example.hotel.api.service.HotelServiceRemote;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Берёт маркеры клиентов из context data Remote EJB вызова (их записывает EJB-клиент hotel-rest)
+ * и делает их текущими (ClientTokens) на время вызова
+ *
+ * Все вызовы hotel-rest идут от одного EJB principal, поэтому read-your-writes отслеживается по маркерам
+ * конечных клиентов, а не по principal. Вызов без маркеров (co-located режим, служебные вызовы) чтения
+ * собственных записей не отслеживает.
+ */
+public class ClientTokenInterceptor {
+
+    /**
+     * Ограничения на присланные маркеры: их значения приходят из HTTP-заголовка клиента
+     */
+    private static final int MAX_TOKENS = 100;
+    private static final int MAX_TOKEN_LENGTH = 128;
+
+    @AroundInvoke
+    public Object withClientTokens(InvocationContext invocation) throws Exception {
+        Object value = invocation.getContextData().get(HotelServiceRemote.CLIENT_TOKENS_KEY);
+        if (!(value instanceof String tokens) || tokens.isEmpty()) {
+            return invocation.proceed();
+        }
+        Set<String> previous = ClientTokens.replace(parse(tokens));
+        try {
+            return invocation.proceed();
+        } finally {
+            ClientTokens.replace(previous);
+        }
+    }
+
+    static Set<String> parse(String tokens) {
+        return Arrays.stream(tokens.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH)
+                .limit(MAX_TOKENS)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
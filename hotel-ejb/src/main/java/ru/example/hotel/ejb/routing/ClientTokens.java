@@ -0,0 +1,30 @@
+package ru.example.hotel.ejb.routing;
+
+import java.util.Set;
+
+/**
+ * Маркеры клиентов текущего вызова сервиса (см. HotelServiceRemote.CLIENT_TOKENS_KEY)
+ *
+ * Устанавливаются ClientTokenInterceptor на время бизнес-метода HotelServiceBean и видны
+ * вложенным локальным вызовам (HotelDAO) в том же потоке.
+ */
+public final class ClientTokens {
+
+    private static final ThreadLocal<Set<String>> CURRENT = ThreadLocal.withInitial(Set::of);
+
+    private ClientTokens() {
+    }
+
+    /**
+     * Маркеры клиентов текущего вызова; пустое множество - клиент не передал маркер
+     */
+    public static Set<String> current() {
+        return CURRENT.get();
+    }
+
+    static Set<String> replace(Set<String> tokens) {
+        Set<String> previous = CURRENT.get();
+        CURRENT.set(tokens);
+        return previous;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.example.hotel.ejb.routing;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.ConcurrencyManagement;
+import jakarta.ejb.ConcurrencyManagementType;
+import jakarta.ejb.Schedule;
+import jakarta.ejb.Singleton;
+import jakarta.ejb.Startup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Политика маршрутизации чтений между основной БД и репликой
+ *
+ * Чтение идёт на реплику, если она исправна, её отставание не превышает допустимого
+ * и клиент, от имени которого оно выполняется, не выполнял запись в последние
+ * (окно read-your-writes + текущее отставание). Клиенты различаются маркерами из context data
+ * вызова (ClientTokens), а не EJB principal: весь трафик hotel-rest идёт от одного principal.
+ * Отставание реплики периодически читается из SHOW REPLICA STATUS.
+ */
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+public class ReplicaRoutingPolicy {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaRoutingPolicy.class.getName());
+
+    private static final long MAX_LAG_SECONDS =
+            Long.getLong("hotel.replica.max-lag-seconds", 5);
+    private static final long READ_YOUR_WRITES_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("hotel.replica.read-your-writes-ms", 2000));
+
+    @Resource(lookup = "java:jboss/datasources/HotelReadDS")
+    private DataSource replicaDataSource;
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+
+    private volatile boolean replicaHealthy = true;
+    private volatile long replicaLagSeconds = 0;
+
+    /**
+     * Можно ли направить чтение на реплику
+     * @param clients маркеры клиентов, от имени которых выполняется чтение (ClientTokens);
+     *                пакетное чтение hotel-rest несёт маркеры всех клиентов пакета
+     * @return true - читать с реплики, false - с основной БД
+     */
+    public boolean useReplica(Collection<String> clients) {
+        boolean replica = replicaHealthy
+                && replicaLagSeconds <= MAX_LAG_SECONDS
+                && clients.stream().noneMatch(this::wroteRecently);
+        (replica ? replicaReads : primaryReads).incrementAndGet();
+        return replica;
+    }
+
+    /**
+     * Зафиксировать успешную запись клиентов (вызывается после коммита)
+     * @param clients маркеры клиентов, от имени которых выполнена запись
+     */
+    public void recordWrite(Collection<String> clients) {
+        long now = System.nanoTime();
+        clients.forEach(client -> lastWriteNanos.put(client, now));
+    }
+
+    /**
+     * Обновить сведения об отставании реплики
+     */
+    @Schedule(second = "*/5", minute = "*", hour = "*", persistent = false)
+    public void checkReplicaLag() {
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                // Источник чтения не является репликой (например, указывает на основную БД)
+                replicaLagSeconds = 0;
+                replicaHealthy = true;
+            } else {
+                long lag = rs.getLong("Seconds_Behind_Master");
+                // NULL означает, что репликация остановлена
+                replicaHealthy = !rs.wasNull();
+                replicaLagSeconds = replicaHealthy ? lag : Long.MAX_VALUE;
+            }
+        } catch (SQLException e) {
+            replicaHealthy = false;
+            LOG.log(Level.WARNING, "Replica status check failed, reads fall back to primary: " + e.getMessage());
+        }
+
+        // Записи старше окна больше не влияют на маршрутизацию
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(written -> now - written > stickinessNanos());
+
+        LOG.fine("Replica routing: healthy=" + replicaHealthy + ", lag=" + replicaLagSeconds +
+                 "s, replicaReads=" + replicaReads.get() + ", primaryReads=" + primaryReads.get());
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    public long getReplicaLagSeconds() {
+        return replicaLagSeconds;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.get();
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.get();
+    }
+
+    private boolean wroteRecently(String client) {
+        Long written = lastWriteNanos.get(client);
+        return written != null && System.nanoTime() - written <= stickinessNanos();
+    }
+
+    /**
+     * Окно, в течение которого чтения вызывающего после записи идут на основную БД
+     */
+    private long stickinessNanos() {
+        long lag = replicaLagSeconds;
+        return READ_YOUR_WRITES_NANOS + (lag == Long.MAX_VALUE ? 0 : TimeUnit.SECONDS.toNanos(lag));
+    }
+}
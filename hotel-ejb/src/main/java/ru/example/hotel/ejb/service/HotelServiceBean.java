@@ -1,20 +1,55 @@
 package ru.example.hotel.ejb.service;
 
+import jakarta.annotation.Resource;
 import jakarta.ejb.EJB;
+import jakarta.ejb.SessionContext;
 import jakarta.ejb.Stateless;
 import jakarta.ejb.TransactionAttribute;
 import jakarta.ejb.TransactionAttributeType;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptors;
+import jakarta.persistence.Tuple;
+import ru.example.hotel.api.dto.AvailableHotelDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelChangesDTO;
 import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.api.dto.HotelSort;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.api.dto.NearbyHotelDTO;
 import ru.example.hotel.api.dto.PageRequest;
 import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.ReservationStatus;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+import ru.example.hotel.api.exception.InvalidRequestException;
 import ru.example.hotel.api.service.HotelServiceLocal;
 import ru.example.hotel.api.service.HotelServiceRemote;
 import ru.example.hotel.ejb.dao.HotelDAO;
+import ru.example.hotel.ejb.dao.RoomDAO;
 import ru.example.hotel.ejb.entity.Hotel;
+import ru.example.hotel.ejb.entity.RoomType;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+import ru.example.hotel.ejb.event.HotelChangeLog;
+import ru.example.hotel.ejb.event.RoomChangeEvent;
+import ru.example.hotel.ejb.index.AvailabilityIndex;
+import ru.example.hotel.ejb.index.FacetIndex;
+import ru.example.hotel.ejb.index.GeoIndex;
+import ru.example.hotel.ejb.index.NameOrderIndex;
+import ru.example.hotel.ejb.index.SuggestIndex;
 import ru.example.hotel.ejb.mapper.HotelMapper;
+import ru.example.hotel.ejb.mapper.RoomMapper;
+import ru.example.hotel.ejb.routing.ClientTokenInterceptor;
+import ru.example.hotel.ejb.tracing.TracingInterceptor;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -23,6 +58,7 @@ import java.util.stream.Collectors;
  * Реализует как Local, так и Remote интерфейсы EJB
  */
 @Stateless
+@Interceptors({ClientTokenInterceptor.class, TracingInterceptor.class})
 public class HotelServiceBean implements HotelServiceLocal, HotelServiceRemote {
 
     private static final Logger LOG = Logger.getLogger(HotelServiceBean.class.getName());
@@ -30,34 +66,299 @@ public class HotelServiceBean implements HotelServiceLocal, HotelServiceRemote {
     @EJB
     private HotelDAO hotelDAO;
 
+    @EJB
+    private GeoIndex geoIndex;
+
+    @EJB
+    private NameOrderIndex nameIndex;
+
+    @EJB
+    private FacetIndex facetIndex;
+
+    @EJB
+    private SuggestIndex suggestIndex;
+
+    @EJB
+    private RoomDAO roomDAO;
+
+    @EJB
+    private AvailabilityIndex availabilityIndex;
+
+    @EJB
+    private HotelChangeLog changeLog;
+
+    @Resource
+    private SessionContext sessionContext;
+
+    @Inject
+    private Event<HotelChangeEvent> hotelEvents;
+
+    @Inject
+    private Event<RoomChangeEvent> roomEvents;
+
     @Override
     @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public PageResponse<HotelDTO> findAll(PageRequest pageRequest) {
         LOG.info("Finding all hotels with pagination: page=" + pageRequest.getPage() + 
                  ", size=" + pageRequest.getSize());
 
+        HotelSort sort = sortOf(pageRequest);
         boolean sortAscending = pageRequest.isSortAscending();
-        
-        List<Hotel> hotels = hotelDAO.findAll(
-                pageRequest.getOffset(),
-                pageRequest.getSize(),
-                sortAscending
-        );
-
-        List<HotelDTO> dtos = hotels.stream()
-                .map(HotelMapper::toDTO)
+        boolean includeAddress = pageRequest.isIncludeAddress();
+        boolean includeNotes = pageRequest.isIncludeNotes();
+
+        // Проекция вместо сущностей: без снапшотов в контексте персистентности и лишних колонок
+        List<Tuple> rows = findPageByNameIndex(pageRequest, sort)
+                .orElseGet(() -> hotelDAO.findAllProjected(
+                        pageRequest.getOffset(),
+                        pageRequest.getSize(),
+                        sort,
+                        sortAscending,
+                        includeAddress,
+                        includeNotes
+                ));
+
+        List<HotelDTO> dtos = rows.stream()
+                .map(row -> HotelMapper.toDTO(row, includeAddress, includeNotes))
                 .collect(Collectors.toList());
 
-        long totalElements = hotelDAO.count();
+        // Размер индекса вместо COUNT(*): полный проход по таблице съел бы выигрыш глубоких страниц
+        long totalElements = nameIndex.size();
 
         return PageResponse.of(dtos, pageRequest.getPage(), pageRequest.getSize(), totalElements);
     }
 
+    /**
+     * Сортировка страницы; неизвестный ключ - ошибка клиента, а не системное исключение с откатом
+     */
+    private static HotelSort sortOf(PageRequest pageRequest) {
+        try {
+            return HotelSort.fromKey(pageRequest.getSortField());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    /**
+     * Глубокая страница по названию: первый ключ страницы берётся из порядкового индекса,
+     * строки читаются диапазоном по idx_name_id. Пусто - использовать обычный OFFSET
+     * (мелкая страница, другая сортировка или отеля-ключа уже нет в БД)
+     */
+    private Optional<List<Tuple>> findPageByNameIndex(PageRequest pageRequest, HotelSort sort) {
+        int offset = pageRequest.getOffset();
+        if (sort != HotelSort.NAME || !nameIndex.isSeekWorthwhile(offset)) {
+            return Optional.empty();
+        }
+        long rank = pageRequest.isSortAscending() ? offset : nameIndex.size() - 1 - offset;
+        return nameIndex.idAtRank(rank)
+                .flatMap(fromId -> hotelDAO.findAllProjectedFrom(fromId, pageRequest.getSize(),
+                        pageRequest.isSortAscending(), pageRequest.isIncludeAddress(), pageRequest.isIncludeNotes()));
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<HotelDTO> findPageAfter(PageRequest pageRequest, HotelDTO after) {
+        int size = pageRequest.getSize();
+        if (size < 1 || size > MAX_CATALOG_PAGE) {
+            throw new InvalidRequestException("Page size must be between 1 and " + MAX_CATALOG_PAGE + ": " + size);
+        }
+        HotelSort sort = sortOf(pageRequest);
+        boolean includeAddress = pageRequest.isIncludeAddress();
+        boolean includeNotes = pageRequest.isIncludeNotes();
+
+        List<Tuple> rows;
+        if (after == null) {
+            rows = hotelDAO.findAllProjected(0, size, sort, pageRequest.isSortAscending(), includeAddress, includeNotes);
+        } else {
+            String city = after.getAddress() != null ? after.getAddress().getCity() : null;
+            boolean byName = sort == HotelSort.NAME || sort == HotelSort.CATEGORY_NAME;
+            if (after.getId() == null || (byName && after.getName() == null) || (sort == HotelSort.CITY && city == null)) {
+                throw new InvalidRequestException("Previous hotel must contain id and the fields of sort " + sort.getKey());
+            }
+            rows = hotelDAO.findAllProjectedAfter(Hotel.rankOf(after.getCategory()), after.getName(), city,
+                    after.getId(), size, sort, pageRequest.isSortAscending(), includeAddress, includeNotes);
+        }
+        return rows.stream()
+                .map(row -> HotelMapper.toDTO(row, includeAddress, includeNotes))
+                .collect(Collectors.toList());
+    }
+
     @Override
     @TransactionAttribute(TransactionAttributeType.SUPPORTS)
     public Optional<HotelDTO> findById(Long id) {
-        LOG.info("Finding hotel by id: " + id);
-        return hotelDAO.findById(id).map(HotelMapper::toDTO);
+        return findById(id, false);
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public Optional<HotelDTO> findById(Long id, boolean includeNotes) {
+        LOG.info("Finding hotel by id: " + id + (includeNotes ? " with notes" : ""));
+        // Сущность отсоединена к моменту преобразования: notes читаются проекцией, а не ленивой загрузкой
+        Optional<HotelDTO> hotel = includeNotes
+                ? hotelDAO.findByIdWithNotes(id).map(row -> HotelMapper.toDTO(row, true, true))
+                : hotelDAO.findById(id).map(found -> HotelMapper.toDTO(found, true, false));
+        hotel.ifPresent(found -> suggestIndex.recordViews(List.of(id)));
+        return hotel;
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<HotelDTO> findByIds(List<Long> ids) {
+        LOG.info("Finding hotels by ids: " + ids.size());
+        List<HotelDTO> hotels = hotelDAO.findByIds(ids).stream()
+                .map(hotel -> HotelMapper.toDTO(hotel, true, false))
+                .collect(Collectors.toList());
+        suggestIndex.recordViews(hotels.stream().map(HotelDTO::getId).toList());
+        return hotels;
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public PageResponse<NearbyHotelDTO> findNearby(double latitude, double longitude, double radiusKm,
+                                                   PageRequest pageRequest) {
+        LOG.info("Finding hotels within " + radiusKm + " km of (" + latitude + ", " + longitude + ")");
+
+        List<GeoIndex.Hit> hits = geoIndex.findWithin(latitude, longitude, radiusKm);
+        List<GeoIndex.Hit> pageHits = page(hits, pageRequest);
+
+        Map<Long, HotelDTO> hotels = pageHotels(pageHits.stream().map(GeoIndex.Hit::hotelId).toList(), pageRequest);
+
+        List<NearbyHotelDTO> content = pageHits.stream()
+                .filter(hit -> hotels.containsKey(hit.hotelId()))
+                .map(hit -> NearbyHotelDTO.builder()
+                        .hotel(hotels.get(hit.hotelId()))
+                        .distanceKm(hit.distanceKm())
+                        .build())
+                .collect(Collectors.toList());
+
+        return PageResponse.of(content, pageRequest.getPage(), pageRequest.getSize(), hits.size());
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public HotelFacetsDTO facets(String city, HotelCategory category, int cityLimit) {
+        LOG.info("Counting facets: city=" + city + ", category=" + category);
+        return facetIndex.facets(city, category, cityLimit);
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<HotelSuggestionDTO> suggest(String query, int limit) {
+        // Вызывается на каждое нажатие клавиши, поэтому только на уровне FINE
+        LOG.fine("Suggesting hotels for: " + query);
+        return suggestIndex.suggest(query, Math.min(limit, SuggestIndex.TOP_K));
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public Optional<RoomTypeDTO> addRoomType(Long hotelId, RoomTypeDTO roomTypeDTO) {
+        LOG.info("Adding room type to hotel " + hotelId + ": " + roomTypeDTO.getName());
+
+        Optional<Hotel> hotel = hotelDAO.findForUpdate(hotelId);
+        if (hotel.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RoomType roomType = RoomMapper.toEntity(roomTypeDTO);
+        roomType.setId(null);
+        roomType.setHotel(hotel.get());
+        RoomType saved = roomDAO.save(roomType);
+
+        LocalDate today = LocalDate.now();
+        roomDAO.createInventory(saved.getId(), today, today.plusDays(AvailabilityIndex.HORIZON_DAYS),
+                saved.getTotalRooms());
+
+        RoomTypeDTO created = RoomMapper.toDTO(saved);
+        roomEvents.fire(RoomChangeEvent.roomTypeAdded(created));
+        return Optional.of(created);
+    }
+
+    /**
+     * Отели страницы индекса по ID с запрошенным составом полей; notes читаются проекцией,
+     * так как сущности отсоединены к моменту преобразования
+     */
+    private Map<Long, HotelDTO> pageHotels(List<Long> ids, PageRequest pageRequest) {
+        boolean includeAddress = pageRequest.isIncludeAddress();
+        List<HotelDTO> hotels = pageRequest.isIncludeNotes()
+                ? hotelDAO.findByIdsWithNotes(ids).stream()
+                        .map(row -> HotelMapper.toDTO(row, includeAddress, true))
+                        .toList()
+                : hotelDAO.findByIds(ids).stream()
+                        .map(hotel -> HotelMapper.toDTO(hotel, includeAddress, false))
+                        .toList();
+        return hotels.stream().collect(Collectors.toMap(HotelDTO::getId, Function.identity()));
+    }
+
+    /**
+     * Элементы страницы из уже отобранного индексом списка; границы считаются в long,
+     * поэтому смещение около Integer.MAX_VALUE даёт пустую страницу
+     */
+    private static <T> List<T> page(List<T> hits, PageRequest pageRequest) {
+        int from = (int) Math.min(pageRequest.getOffset(), hits.size());
+        int to = (int) Math.min((long) pageRequest.getOffset() + pageRequest.getSize(), hits.size());
+        return hits.subList(from, Math.max(from, to));
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<RoomTypeDTO> findRoomTypes(Long hotelId) {
+        LOG.info("Finding room types of hotel " + hotelId);
+        return availabilityIndex.roomTypes(hotelId);
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public PageResponse<AvailableHotelDTO> findAvailable(String city, LocalDate checkIn, LocalDate checkOut,
+                                                         int guests, int rooms, PageRequest pageRequest) {
+        LOG.info("Finding available hotels in " + city + " for " + checkIn + " - " + checkOut +
+                 ", guests=" + guests + ", rooms=" + rooms);
+
+        List<AvailabilityIndex.Hit> hits = availabilityIndex.findAvailable(city, checkIn, checkOut, guests, rooms);
+        List<AvailabilityIndex.Hit> pageHits = page(hits, pageRequest);
+
+        Map<Long, HotelDTO> hotels = pageHotels(pageHits.stream().map(AvailabilityIndex.Hit::hotelId).toList(), pageRequest);
+
+        List<AvailableHotelDTO> content = pageHits.stream()
+                .filter(hit -> hotels.containsKey(hit.hotelId()))
+                .map(hit -> AvailableHotelDTO.builder()
+                        .hotel(hotels.get(hit.hotelId()))
+                        .rooms(hit.rooms())
+                        .build())
+                .collect(Collectors.toList());
+
+        return PageResponse.of(content, pageRequest.getPage(), pageRequest.getSize(), hits.size());
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.REQUIRED)
+    public ReservationStatus reserve(ReservationDTO reservation) {
+        LOG.info("Reserving " + reservation.getRooms() + " rooms of type " + reservation.getRoomTypeId() +
+                 " for " + reservation.getCheckIn() + " - " + reservation.getCheckOut());
+
+        LocalDate checkIn = reservation.getCheckIn();
+        LocalDate checkOut = reservation.getCheckOut();
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn) || reservation.getRooms() < 1) {
+            throw new InvalidRequestException("Invalid reservation: " + reservation);
+        }
+        if (roomDAO.findRoomType(reservation.getRoomTypeId()).isEmpty()) {
+            return ReservationStatus.ROOM_TYPE_NOT_FOUND;
+        }
+        // Индекс не показывает меньше свободных номеров, чем в БД: его отказ окончателен
+        if (!availabilityIndex.mayBeAvailable(reservation.getRoomTypeId(), checkIn, checkOut,
+                reservation.getRooms())) {
+            return ReservationStatus.SOLD_OUT;
+        }
+
+        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+        int reserved = roomDAO.reserve(reservation.getRoomTypeId(), checkIn, checkOut, reservation.getRooms());
+        if (reserved != nights) {
+            // Часть ночей уже списана - откатить, чтобы бронь была на весь период или не была вовсе
+            sessionContext.setRollbackOnly();
+            return ReservationStatus.SOLD_OUT;
+        }
+
+        roomEvents.fire(RoomChangeEvent.reserved(reservation));
+        return ReservationStatus.CONFIRMED;
     }
 
     @Override
@@ -67,36 +368,42 @@ public class HotelServiceBean implements HotelServiceLocal, HotelServiceRemote {
         
         Hotel hotel = HotelMapper.toEntity(hotelDTO);
         hotel.setId(null); // Убедиться, что ID null для новой записи
-        if (hotel.getAddress() != null) {
-            hotel.getAddress().setId(null);
-        }
         
         Hotel saved = hotelDAO.save(hotel);
-        return HotelMapper.toDTO(saved);
+        HotelDTO created = HotelMapper.toDTO(saved);
+        hotelEvents.fire(HotelChangeEvent.created(created));
+        return created;
     }
 
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
-    public HotelDTO update(Long id, HotelDTO hotelDTO) {
+    public Optional<HotelDTO> update(Long id, HotelDTO hotelDTO) {
         LOG.info("Updating hotel with id: " + id);
         
-        Optional<Hotel> existingOpt = hotelDAO.findById(id);
+        Optional<Hotel> existingOpt = hotelDAO.findForUpdate(id);
         if (existingOpt.isEmpty()) {
-            throw new IllegalArgumentException("Hotel not found with id: " + id);
+            return Optional.empty();
         }
         
         Hotel existing = existingOpt.get();
         HotelMapper.updateEntity(existing, hotelDTO);
         
         Hotel updated = hotelDAO.update(existing);
-        return HotelMapper.toDTO(updated);
+        HotelDTO result = HotelMapper.toDTO(updated);
+        hotelEvents.fire(HotelChangeEvent.updated(result));
+        return Optional.of(result);
     }
 
     @Override
     @TransactionAttribute(TransactionAttributeType.REQUIRED)
     public boolean delete(Long id) {
         LOG.info("Deleting hotel with id: " + id);
-        return hotelDAO.delete(id);
+        roomDAO.deleteByHotel(id);
+        boolean deleted = hotelDAO.delete(id);
+        if (deleted) {
+            hotelEvents.fire(HotelChangeEvent.deleted(id));
+        }
+        return deleted;
     }
 
     @Override
@@ -104,4 +411,39 @@ public class HotelServiceBean implements HotelServiceLocal, HotelServiceRemote {
     public long count() {
         return hotelDAO.count();
     }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public HotelChangesDTO changesSince(String epoch, long sequence) {
+        HotelChangeLog.Changes changes = changeLog.since(epoch, sequence);
+        LOG.fine("Changes since " + sequence + ": " + changes.changed().size() + " changed, "
+                + changes.deleted().size() + " deleted, complete=" + changes.complete());
+
+        // Журнал пишется после коммита основной БД: реплика может ещё не видеть изменённые отели.
+        // Отель, удалённый после чтения журнала, не найден и пропускается - его удаление придёт из журнала
+        List<HotelDTO> changed = hotelDAO.findByIdsFromPrimary(changes.changed()).stream()
+                .map(hotel -> HotelMapper.toDTO(hotel, true, false))
+                .collect(Collectors.toList());
+        List<Long> deleted = new ArrayList<>(changes.deleted());
+
+        return HotelChangesDTO.builder()
+                .epoch(changes.epoch())
+                .sequence(changes.sequence())
+                .complete(changes.complete())
+                .hasMore(changes.hasMore())
+                .changed(changed)
+                .deleted(deleted)
+                .build();
+    }
+
+    @Override
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public List<HotelDTO> findCatalogPage(long afterId, int limit) {
+        if (limit < 1 || limit > MAX_CATALOG_PAGE) {
+            throw new InvalidRequestException("Catalogue page size must be between 1 and " + MAX_CATALOG_PAGE + ": " + limit);
+        }
+        return hotelDAO.findAfterIdFromPrimary(afterId, limit).stream()
+                .map(hotel -> HotelMapper.toDTO(hotel, true, false))
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,80 @@
+package ru.example.hotel.ejb.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanKind;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Span на каждое выполнение JDBC-оператора Hibernate (CLIENT, db.statement - текст SQL)
+ *
+ * Hibernate создаёт экземпляр на каждую сессию (hibernate.session.events.auto в persistence.xml)
+ * и сообщает о начале и конце выполнения оператора или пакета; span дочерний к текущему -
+ * span'у метода DAO (TracingInterceptor). Выполнение оператора MariaDB включает получение всех
+ * строк результата, поэтому длительность span'а - время БД и сети без разбора сущностей.
+ */
+public class JdbcTracingListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_STATEMENT_LENGTH = 2000;
+
+    private transient Span statement;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statement = start(SqlStatementInspector.takeLastSql(), false);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        end();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        // Операторы пакета подготавливаются до выполнения: span получает текст последнего из них
+        statement = start(SqlStatementInspector.takeLastSql(), true);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        end();
+    }
+
+    private static Span start(String sql, boolean batch) {
+        String operation = operation(sql);
+        SpanBuilder span = Tracing.tracer()
+                .spanBuilder(batch ? operation + " (batch)" : operation)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("db.system", "mariadb");
+        if (sql != null) {
+            span.setAttribute("db.operation", operation);
+            span.setAttribute("db.statement", sql.length() > MAX_STATEMENT_LENGTH
+                    ? sql.substring(0, MAX_STATEMENT_LENGTH) + "..." : sql);
+        }
+        return span.startSpan();
+    }
+
+    private void end() {
+        if (statement != null) {
+            statement.end();
+            statement = null;
+        }
+    }
+
+    /**
+     * Первое слово оператора: SELECT, INSERT, UPDATE, DELETE...
+     */
+    private static String operation(String sql) {
+        if (sql == null) {
+            return "SQL";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end > 0 ? trimmed.substring(0, end).toUpperCase() : "SQL";
+    }
+}
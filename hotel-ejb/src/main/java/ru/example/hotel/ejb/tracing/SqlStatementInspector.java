@@ -0,0 +1,30 @@
+package ru.example.hotel.ejb.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Запоминает текст SQL перед подготовкой оператора для span'а JdbcTracingListener
+ *
+ * Hibernate вызывает inspect в том же потоке непосредственно перед prepareStatement,
+ * а SessionEventListener текста оператора не получает. SQL не изменяется.
+ * Подключается в persistence.xml (hibernate.session_factory.statement_inspector).
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<String> LAST_SQL = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        LAST_SQL.set(sql);
+        return sql;
+    }
+
+    /**
+     * Текст последнего подготовленного в этом потоке оператора (однократно)
+     */
+    static String takeLastSql() {
+        String sql = LAST_SQL.get();
+        LAST_SQL.remove();
+        return sql;
+    }
+}
@@ -0,0 +1,48 @@
+package ru.example.hotel.ejb.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Tracer;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.spi.CDI;
+
+/**
+ * OpenTelemetry деплоймента: его предоставляет подсистема opentelemetry WildFly через CDI
+ *
+ * Без подсистемы (или вне CDI-контейнера) используется no-op реализация: span'ы не создаются.
+ * Класс загружается загрузчиком деплоймента, поэтому кэш в статическом поле принадлежит ему.
+ */
+final class Tracing {
+
+    static final String INSTRUMENTATION_NAME = "ru.example.hotel.ejb";
+
+    private static volatile OpenTelemetry openTelemetry;
+    private static volatile Tracer tracer;
+
+    private Tracing() {
+    }
+
+    static OpenTelemetry openTelemetry() {
+        OpenTelemetry telemetry = openTelemetry;
+        if (telemetry != null) {
+            return telemetry;
+        }
+        try {
+            Instance<OpenTelemetry> instance = CDI.current().select(OpenTelemetry.class);
+            telemetry = instance.isResolvable() ? instance.get() : OpenTelemetry.noop();
+        } catch (IllegalStateException e) {
+            // CDI-контейнер ещё не запущен: повторим при следующем вызове
+            return OpenTelemetry.noop();
+        }
+        tracer = telemetry.getTracer(INSTRUMENTATION_NAME);
+        openTelemetry = telemetry;
+        return telemetry;
+    }
+
+    static Tracer tracer() {
+        Tracer current = tracer;
+        if (current != null) {
+            return current;
+        }
+        return openTelemetry().getTracer(INSTRUMENTATION_NAME);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.example.hotel.ejb.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import jakarta.ejb.ApplicationException;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Span на каждый бизнес-метод EJB
+ *
+ * Если вызов пришёл из hotel-rest с контекстом трассировки в context data (traceparent/tracestate,
+ * их записывает TracingEjbClientInterceptor EJB-клиента), span продолжает трассу HTTP-запроса Quarkus
+ * и имеет вид SERVER; иначе он дочерний к текущему span'у (вызов DAO из сервиса, JAX-RS в
+ * co-located режиме). Span текущий на время вызова, поэтому SQL-запросы (JdbcTracingListener)
+ * и вложенные EJB попадают под него.
+ */
+public class TracingInterceptor {
+
+    private static final TextMapGetter<Map<String, Object>> CONTEXT_DATA = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Map<String, Object> carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(Map<String, Object> carrier, String key) {
+            return carrier != null && carrier.get(key) instanceof String value ? value : null;
+        }
+    };
+
+    @AroundInvoke
+    public Object trace(InvocationContext invocation) throws Exception {
+        Context parent = Tracing.openTelemetry().getPropagators().getTextMapPropagator()
+                .extract(Context.current(), invocation.getContextData(), CONTEXT_DATA);
+        boolean remote = Span.fromContext(parent).getSpanContext().isRemote();
+        Method method = invocation.getMethod();
+        String beanName = method.getDeclaringClass().getSimpleName();
+
+        Span span = Tracing.tracer()
+                .spanBuilder(beanName + "/" + method.getName())
+                .setParent(parent)
+                .setSpanKind(remote ? SpanKind.SERVER : SpanKind.INTERNAL)
+                .setAttribute("code.namespace", method.getDeclaringClass().getName())
+                .setAttribute("code.function", method.getName())
+                .startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return invocation.proceed();
+        } catch (Exception | Error e) {
+            span.recordException(e);
+            // Прикладные исключения (неверный запрос) - ответ клиенту, а не сбой
+            if (!e.getClass().isAnnotationPresent(ApplicationException.class)) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.example.hotel.ejb.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FacetIndexTest {
+
+    private final FacetIndex index = new FacetIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.onHotelChanged(HotelChangeEvent.created(hotel(1L, "Москва", HotelCategory.FIVE_STARS)));
+        index.onHotelChanged(HotelChangeEvent.created(hotel(2L, "Москва", HotelCategory.FOUR_STARS)));
+        index.onHotelChanged(HotelChangeEvent.created(hotel(3L, "Москва", null)));
+        index.onHotelChanged(HotelChangeEvent.created(hotel(4L, "Казань", HotelCategory.FOUR_STARS)));
+    }
+
+    @Test
+    void cityTotalIncludesHotelsWithoutCategory() {
+        HotelFacetsDTO facets = index.facets("Москва", null, 10);
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of(HotelCategory.FIVE_STARS, 1L, HotelCategory.FOUR_STARS, 1L), facets.getCategories());
+    }
+
+    @Test
+    void totalsFollowFilters() {
+        assertEquals(4, index.facets(null, null, 10).getTotal());
+        assertEquals(2, index.facets(null, HotelCategory.FOUR_STARS, 10).getTotal());
+        assertEquals(1, index.facets("Москва", HotelCategory.FOUR_STARS, 10).getTotal());
+        assertEquals(0, index.facets("Сочи", null, 10).getTotal());
+        assertEquals(Map.of("Москва", 3L, "Казань", 1L), index.facets(null, null, 10).getCities());
+    }
+
+    @Test
+    void changeMovesHotelBetweenCounters() {
+        index.onHotelChanged(HotelChangeEvent.updated(hotel(3L, "Казань", HotelCategory.THREE_STARS)));
+        index.onHotelChanged(HotelChangeEvent.deleted(1L));
+
+        assertEquals(1, index.facets("Москва", null, 10).getTotal());
+        assertEquals(2, index.facets("Казань", null, 10).getTotal());
+        assertEquals(Map.of(HotelCategory.FOUR_STARS, 1L, HotelCategory.THREE_STARS, 1L),
+                index.facets("Казань", null, 10).getCategories());
+    }
+
+    private static HotelDTO hotel(Long id, String city, HotelCategory category) {
+        return HotelDTO.builder()
+                .id(id)
+                .name("Hotel " + id)
+                .address(AddressDTO.builder().city(city).street("Street").building("1").build())
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package ru.example.hotel.ejb.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.ejb.event.HotelChangeEvent;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SuggestIndexTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SuggestIndex index = new SuggestIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.clock = now::get;
+        index.onHotelChanged(HotelChangeEvent.created(hotel(1L, "Невский Палас")));
+        index.onHotelChanged(HotelChangeEvent.created(hotel(2L, "Невский Бор")));
+    }
+
+    @Test
+    void findsByPrefixOfAnyWord() {
+        assertEquals(List.of(2L), ids(index.suggest("бор", 10)));
+        // Без просмотров: короче название, затем меньше ID
+        assertEquals(List.of(2L, 1L), ids(index.suggest("невск", 10)));
+    }
+
+    @Test
+    void viewsRecordedAfterTransferAreKept() {
+        index.recordViews(List.of(1L));
+        index.applyViews();
+        index.recordViews(Collections.nCopies(2, 2L));
+        index.applyViews();
+        assertEquals(List.of(2L, 1L), ids(index.suggest("невск", 10)));
+
+        index.recordViews(Collections.nCopies(2, 1L));
+        index.applyViews();
+        assertEquals(List.of(1L, 2L), ids(index.suggest("невск", 10)));
+    }
+
+    @Test
+    void oldViewsDecay() {
+        index.recordViews(Collections.nCopies(3, 1L));
+        index.applyViews();
+
+        // Через два периода полураспада (168 ч) два новых просмотра весят больше трёх старых
+        now.addAndGet(TimeUnit.HOURS.toNanos(2 * 168));
+        index.recordViews(Collections.nCopies(2, 2L));
+        index.applyViews();
+        assertEquals(List.of(2L, 1L), ids(index.suggest("невск", 10)));
+    }
+
+    @Test
+    void rescalingKeepsOrder() {
+        index.recordViews(Collections.nCopies(5, 1L));
+        index.applyViews();
+        index.recordViews(Collections.nCopies(4, 2L));
+        index.applyViews();
+
+        now.addAndGet(TimeUnit.HOURS.toNanos(40 * 168));
+        index.recordViews(List.of(2L));
+        index.applyViews();
+        assertEquals(List.of(2L, 1L), ids(index.suggest("невск", 10)));
+    }
+
+    private static List<Long> ids(List<HotelSuggestionDTO> suggestions) {
+        return suggestions.stream().map(HotelSuggestionDTO::getId).toList();
+    }
+
+    private static HotelDTO hotel(Long id, String name) {
+        return HotelDTO.builder()
+                .id(id)
+                .name(name)
+                .address(AddressDTO.builder().city("Санкт-Петербург").street("Невский проспект").building("1").build())
+                .build();
+    }
+}
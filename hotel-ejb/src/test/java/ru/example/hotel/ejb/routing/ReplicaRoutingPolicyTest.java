@@ -0,0 +1,46 @@
+package ru.example.hotel.ejb.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicaRoutingPolicyTest {
+
+    private final ReplicaRoutingPolicy policy = new ReplicaRoutingPolicy();
+
+    @Test
+    void readsGoToReplicaWithoutRecentWrites() {
+        assertTrue(policy.useReplica(Set.of("client-a")));
+        assertTrue(policy.useReplica(Set.of()));
+        assertEquals(2, policy.getReplicaReads());
+    }
+
+    @Test
+    void writerReadsFromPrimaryOtherClientsStayOnReplica() {
+        policy.recordWrite(Set.of("client-a"));
+
+        assertFalse(policy.useReplica(Set.of("client-a")));
+        assertTrue(policy.useReplica(Set.of("client-b")));
+        // Вызов без маркеров (co-located режим) записи клиентов не видит
+        assertTrue(policy.useReplica(Set.of()));
+    }
+
+    @Test
+    void batchWithAnyRecentWriterReadsFromPrimary() {
+        policy.recordWrite(List.of("client-a"));
+
+        assertFalse(policy.useReplica(Set.of("client-b", "client-a")));
+        assertEquals(1, policy.getPrimaryReads());
+    }
+
+    @Test
+    void parsesTokensFromContextData() {
+        assertEquals(Set.of("a", "b"), ClientTokenInterceptor.parse(" a, b ,,a"));
+        assertEquals(Set.of(), ClientTokenInterceptor.parse("x".repeat(129)));
+    }
+}
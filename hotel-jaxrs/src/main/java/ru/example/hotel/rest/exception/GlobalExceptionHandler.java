@@ -2,9 +2,11 @@ package ru.example.hotel.rest.exception;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
+import ru.example.hotel.api.exception.InvalidRequestException;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -13,6 +15,9 @@ import java.util.stream.Collectors;
 
 /**
  * Глобальный обработчик исключений для REST API
+ *
+ * Ошибки клиента (4xx) ожидаемы и логируются одной строкой на уровне FINE без стека;
+ * стек пишется только для непредвиденных ошибок (5xx).
  */
 @Provider
 public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
@@ -21,24 +26,39 @@ public class GlobalExceptionHandler implements ExceptionMapper<Exception> {
 
     @Override
     public Response toResponse(Exception exception) {
-        LOG.log(Level.WARNING, "Handling exception: " + exception.getClass().getName(), exception);
-
         if (exception instanceof ConstraintViolationException) {
+            logClientError(exception);
             return handleConstraintViolation((ConstraintViolationException) exception);
         }
 
-        if (exception instanceof IllegalArgumentException) {
+        if (exception instanceof InvalidRequestException || exception instanceof IllegalArgumentException) {
+            logClientError(exception);
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(ErrorResponse.of(400, exception.getMessage()))
                     .build();
         }
 
+        if (exception instanceof WebApplicationException) {
+            Response response = ((WebApplicationException) exception).getResponse();
+            if (response.getStatus() < 500) {
+                logClientError(exception);
+                return response;
+            }
+        }
+
         // Общая обработка для непредвиденных исключений
+        LOG.log(Level.WARNING, "Handling exception: " + exception.getClass().getName(), exception);
         return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
                 .entity(ErrorResponse.of(500, "Internal server error: " + exception.getMessage()))
                 .build();
     }
 
+    private void logClientError(Exception exception) {
+        if (LOG.isLoggable(Level.FINE)) {
+            LOG.fine("Client error: " + exception.getClass().getName() + ": " + exception.getMessage());
+        }
+    }
+
     private Response handleConstraintViolation(ConstraintViolationException e) {
         List<String> errors = e.getConstraintViolations()
                 .stream()
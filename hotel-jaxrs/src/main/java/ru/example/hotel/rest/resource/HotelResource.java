@@ -0,0 +1,830 @@
+package ru.example.hotel.rest.resource;
+
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import ru.example.hotel.api.dto.AvailableHotelDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.api.dto.HotelSort;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.api.dto.NearbyHotelDTO;
+import ru.example.hotel.api.dto.PageRequest;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.ReservationStatus;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+import ru.example.hotel.api.service.HotelService;
+import ru.example.hotel.rest.exception.ErrorResponse;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * REST API ресурс для работы с отелями
+ */
+@Path("/api/v1/hotels")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Hotels", description = "API для управления отелями")
+public class HotelResource {
+
+    private static final Logger LOG = Logger.getLogger(HotelResource.class.getName());
+
+    /**
+     * Поля, которые можно перечислить в параметре fields (id, name и category возвращаются всегда)
+     */
+    private static final Set<String> SELECTABLE_FIELDS = Set.of("id", "name", "category", "address", "notes");
+
+    @Inject
+    HotelService hotelService;
+
+    /**
+     * Получить список отелей с пагинацией
+     */
+    @GET
+    @Operation(summary = "Получить список отелей",
+            description = "Возвращает постраничный список отелей с возможностью сортировки")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Успешный ответ",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = PageResponse.class)
+                    )
+            )
+    })
+    public Response getAllHotels(
+            @Parameter(description = "Номер страницы (начиная с 0)")
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+
+            @Parameter(description = "Размер страницы")
+            @QueryParam("size") @DefaultValue("10") @Min(1) @Max(100) int size,
+
+            @Parameter(description = "Порядок сортировки (asc/desc)")
+            @QueryParam("sort") @DefaultValue("asc") String sort,
+
+            @Parameter(description = "Поля сортировки: name, category, category,name, city, id")
+            @QueryParam("sortBy") @DefaultValue("name") String sortBy,
+
+            @Parameter(description = "Возвращаемые поля через запятую (id,name,category,address,notes), " +
+                    "по умолчанию все, кроме notes")
+            @QueryParam("fields") String fields) {
+
+        LOG.info("GET /api/v1/hotels - page=" + page + ", size=" + size + ", sort=" + sort +
+                 ", sortBy=" + sortBy + ", fields=" + fields);
+
+        boolean sortAscending = !"desc".equalsIgnoreCase(sort);
+
+        HotelSort hotelSort;
+        try {
+            hotelSort = HotelSort.fromKey(sortBy);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, e.getMessage()))
+                    .build();
+        }
+
+        Set<String> selectedFields = parseFields(fields);
+        Response unknownFields = checkFields(selectedFields);
+        if (unknownFields != null) {
+            return unknownFields;
+        }
+
+        PageRequest pageRequest = PageRequest.builder()
+                .page(page)
+                .size(size)
+                .sortField(hotelSort.getKey())
+                .sortAscending(sortAscending)
+                .includeAddress(selectedFields.isEmpty() || selectedFields.contains("address"))
+                .includeNotes(selectedFields.contains("notes"))
+                .build();
+
+        PageResponse<HotelDTO> response = hotelService.findAll(pageRequest);
+
+        // Объявленный тип страницы выбирает формат ответа (HotelPage в Protobuf), а не её содержимое
+        return Response.ok(new GenericEntity<PageResponse<HotelDTO>>(response) {}).build();
+    }
+
+    /**
+     * Найти отели поблизости от точки
+     */
+    @GET
+    @Path("/nearby")
+    @Operation(summary = "Найти отели поблизости",
+            description = "Возвращает отели в радиусе от точки, упорядоченные по расстоянию")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Успешный ответ",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = PageResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Некорректные координаты или радиус",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response getNearbyHotels(
+            @Parameter(description = "Широта точки", required = true)
+            @QueryParam("lat") @NotNull @DecimalMin("-90") @DecimalMax("90") Double lat,
+
+            @Parameter(description = "Долгота точки", required = true)
+            @QueryParam("lon") @NotNull @DecimalMin("-180") @DecimalMax("180") Double lon,
+
+            @Parameter(description = "Радиус поиска в километрах")
+            @QueryParam("radius") @DefaultValue("5") @DecimalMin(value = "0", inclusive = false)
+            @DecimalMax("1000") double radius,
+
+            @Parameter(description = "Номер страницы (начиная с 0)")
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+
+            @Parameter(description = "Размер страницы")
+            @QueryParam("size") @DefaultValue("10") @Min(1) @Max(100) int size) {
+
+        LOG.info("GET /api/v1/hotels/nearby - lat=" + lat + ", lon=" + lon + ", radius=" + radius);
+
+        PageRequest pageRequest = PageRequest.builder()
+                .page(page)
+                .size(size)
+                .build();
+
+        PageResponse<NearbyHotelDTO> response = hotelService.findNearby(lat, lon, radius, pageRequest);
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Получить количество отелей по категориям и городам
+     */
+    @GET
+    @Path("/facets")
+    @Operation(summary = "Получить фасеты",
+            description = "Возвращает количество отелей по категориям и городам; фильтр по городу ограничивает "
+                    + "счётчики категорий, фильтр по категории - счётчики городов")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Успешный ответ",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = HotelFacetsDTO.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Неизвестная категория",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response getFacets(
+            @Parameter(description = "Фильтр по городу")
+            @QueryParam("city") String city,
+
+            @Parameter(description = "Фильтр по категории (ONE_STAR ... FIVE_STARS)")
+            @QueryParam("category") String category,
+
+            @Parameter(description = "Сколько городов с наибольшим количеством отелей вернуть")
+            @QueryParam("limit") @DefaultValue("20") @Min(1) @Max(1000) int limit) {
+
+        LOG.info("GET /api/v1/hotels/facets - city=" + city + ", category=" + category + ", limit=" + limit);
+
+        HotelCategory hotelCategory = null;
+        if (category != null && !category.isBlank()) {
+            try {
+                hotelCategory = HotelCategory.valueOf(category.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(ErrorResponse.of(400, "Неизвестная категория: " + category))
+                        .build();
+            }
+        }
+
+        String cityFilter = city == null || city.isBlank() ? null : city.trim();
+        HotelFacetsDTO response = hotelService.facets(cityFilter, hotelCategory, limit);
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Подсказки по названию отеля при вводе
+     */
+    @GET
+    @Path("/suggest")
+    @Operation(summary = "Подсказки по названию",
+            description = "Возвращает отели, название которых или одно из слов названия начинается с введённого "
+                    + "текста, по убыванию популярности")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Успешный ответ",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = HotelSuggestionDTO.class, type = SchemaType.ARRAY)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Не указан текст запроса",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response suggestHotels(
+            @Parameter(description = "Введённый текст", required = true)
+            @QueryParam("q") @NotNull String q,
+
+            @Parameter(description = "Максимальное количество подсказок")
+            @QueryParam("limit") @DefaultValue("10") @Min(1) @Max(50) int limit) {
+
+        List<HotelSuggestionDTO> response = hotelService.suggest(q, limit);
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Найти отели со свободными номерами на период
+     */
+    @GET
+    @Path("/available")
+    @Operation(summary = "Найти свободные номера",
+            description = "Возвращает отели, где на каждую ночь периода свободно нужное количество номеров "
+                    + "одного типа подходящей вместимости")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Успешный ответ",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = PageResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Некорректные даты",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response getAvailableHotels(
+            @Parameter(description = "Город")
+            @QueryParam("city") String city,
+
+            @Parameter(description = "Дата заезда (YYYY-MM-DD)", required = true)
+            @QueryParam("checkIn") @NotNull String checkIn,
+
+            @Parameter(description = "Дата выезда (YYYY-MM-DD)", required = true)
+            @QueryParam("checkOut") @NotNull String checkOut,
+
+            @Parameter(description = "Минимальная вместимость номера")
+            @QueryParam("guests") @DefaultValue("1") @Min(1) @Max(20) int guests,
+
+            @Parameter(description = "Сколько номеров одного типа нужно")
+            @QueryParam("rooms") @DefaultValue("1") @Min(1) @Max(100) int rooms,
+
+            @Parameter(description = "Номер страницы (начиная с 0)")
+            @QueryParam("page") @DefaultValue("0") @Min(0) int page,
+
+            @Parameter(description = "Размер страницы")
+            @QueryParam("size") @DefaultValue("10") @Min(1) @Max(100) int size) {
+
+        LOG.info("GET /api/v1/hotels/available - city=" + city + ", checkIn=" + checkIn +
+                 ", checkOut=" + checkOut + ", guests=" + guests + ", rooms=" + rooms);
+
+        LocalDate checkInDate;
+        LocalDate checkOutDate;
+        try {
+            checkInDate = LocalDate.parse(checkIn);
+            checkOutDate = LocalDate.parse(checkOut);
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, "Даты ожидаются в формате YYYY-MM-DD"))
+                    .build();
+        }
+        if (!checkOutDate.isAfter(checkInDate)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, "Дата выезда должна быть позже даты заезда"))
+                    .build();
+        }
+
+        PageRequest pageRequest = PageRequest.builder()
+                .page(page)
+                .size(size)
+                .build();
+
+        String cityFilter = city == null || city.isBlank() ? null : city.trim();
+        PageResponse<AvailableHotelDTO> response = hotelService.findAvailable(
+                cityFilter, checkInDate, checkOutDate, guests, rooms, pageRequest);
+
+        return Response.ok(response).build();
+    }
+
+    /**
+     * Получить типы номеров отеля
+     */
+    @GET
+    @Path("/{id}/room-types")
+    @Operation(summary = "Получить типы номеров",
+            description = "Возвращает типы номеров отеля")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Успешный ответ",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = RoomTypeDTO.class, type = SchemaType.ARRAY)
+                    )
+            )
+    })
+    public Response getRoomTypes(
+            @Parameter(description = "ID отеля", required = true)
+            @PathParam("id") Long id) {
+
+        LOG.info("GET /api/v1/hotels/" + id + "/room-types");
+
+        return Response.ok(hotelService.findRoomTypes(id)).build();
+    }
+
+    /**
+     * Добавить отелю тип номера
+     */
+    @POST
+    @Path("/{id}/room-types")
+    @Operation(summary = "Добавить тип номера",
+            description = "Создаёт тип номера; все номера этого типа свободны на весь горизонт бронирования")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "201",
+                    description = "Тип номера создан",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = RoomTypeDTO.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Некорректные данные",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Отель не найден",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response addRoomType(
+            @Parameter(description = "ID отеля", required = true)
+            @PathParam("id") Long id,
+            RoomTypeDTO roomTypeDTO) {
+
+        LOG.info("POST /api/v1/hotels/" + id + "/room-types");
+
+        List<String> errors = validateRoomType(roomTypeDTO);
+        if (!errors.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, "Ошибка валидации", errors))
+                    .build();
+        }
+
+        Optional<RoomTypeDTO> created = hotelService.addRoomType(id, roomTypeDTO);
+
+        if (created.isPresent()) {
+            return Response.status(Response.Status.CREATED)
+                    .entity(created.get())
+                    .build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.of(404, "Отель с ID " + id + " не найден"))
+                    .build();
+        }
+    }
+
+    /**
+     * Забронировать номера
+     */
+    @POST
+    @Path("/room-types/{roomTypeId}/reservations")
+    @Operation(summary = "Забронировать номера",
+            description = "Списывает номера на все ночи периода сразу; если хотя бы на одну ночь номеров "
+                    + "не хватает, ничего не списывается")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "201",
+                    description = "Номера забронированы",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ReservationDTO.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Некорректные данные",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Тип номера не найден",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "409",
+                    description = "Нет свободных номеров на весь период",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response reserveRooms(
+            @Parameter(description = "ID типа номера", required = true)
+            @PathParam("roomTypeId") Long roomTypeId,
+            ReservationDTO reservationDTO) {
+
+        LOG.info("POST /api/v1/hotels/room-types/" + roomTypeId + "/reservations");
+
+        List<String> errors = validateReservation(reservationDTO);
+        if (!errors.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, "Ошибка валидации", errors))
+                    .build();
+        }
+        reservationDTO.setRoomTypeId(roomTypeId);
+
+        ReservationStatus status = hotelService.reserve(reservationDTO);
+
+        return switch (status) {
+            case CONFIRMED -> Response.status(Response.Status.CREATED)
+                    .entity(reservationDTO)
+                    .build();
+            case SOLD_OUT -> Response.status(Response.Status.CONFLICT)
+                    .entity(ErrorResponse.of(409, "Нет свободных номеров на весь период"))
+                    .build();
+            case ROOM_TYPE_NOT_FOUND -> Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.of(404, "Тип номера с ID " + roomTypeId + " не найден"))
+                    .build();
+        };
+    }
+
+    /**
+     * Получить отель по ID
+     */
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Получить отель по ID",
+            description = "Возвращает информацию об отеле по его идентификатору")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Отель найден",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = HotelDTO.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Неизвестное поле в fields",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Отель не найден",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response getHotelById(
+            @Parameter(description = "ID отеля", required = true)
+            @PathParam("id") Long id,
+
+            @Parameter(description = "Возвращаемые поля через запятую (id,name,category,address,notes), " +
+                    "по умолчанию все, кроме notes")
+            @QueryParam("fields") String fields) {
+
+        LOG.info("GET /api/v1/hotels/" + id + (fields != null ? "?fields=" + fields : ""));
+
+        Set<String> selectedFields = parseFields(fields);
+        Response unknownFields = checkFields(selectedFields);
+        if (unknownFields != null) {
+            return unknownFields;
+        }
+
+        Optional<HotelDTO> hotel = selectedFields.contains("notes")
+                ? hotelService.findById(id, true)
+                : hotelService.findById(id);
+
+        if (hotel.isPresent()) {
+            HotelDTO found = hotel.get();
+            if (!selectedFields.isEmpty() && !selectedFields.contains("address")) {
+                // Копия: полученный отель может разделяться с другими запросами (пакет, кэш hotel-rest)
+                found = found.toBuilder().address(null).build();
+            }
+            return Response.ok(found).build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.of(404, "Отель с ID " + id + " не найден"))
+                    .build();
+        }
+    }
+
+    /**
+     * Создать новый отель
+     */
+    @POST
+    @Operation(summary = "Создать отель",
+            description = "Создаёт новый отель с указанными данными")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "201",
+                    description = "Отель создан",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = HotelDTO.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Некорректные данные",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response createHotel(HotelDTO hotelDTO) {
+        LOG.info("POST /api/v1/hotels - Creating hotel: " + (hotelDTO != null ? hotelDTO.getName() : "null"));
+
+        // Ручная валидация
+        List<String> errors = validateHotel(hotelDTO);
+        if (!errors.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, "Ошибка валидации", errors))
+                    .build();
+        }
+
+        HotelDTO created = hotelService.create(hotelDTO);
+
+        return Response.status(Response.Status.CREATED)
+                .entity(created)
+                .build();
+    }
+
+    /**
+     * Обновить существующий отель
+     */
+    @PUT
+    @Path("/{id}")
+    @Operation(summary = "Обновить отель",
+            description = "Обновляет данные существующего отеля")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "200",
+                    description = "Отель обновлён",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = HotelDTO.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Отель не найден",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            ),
+            @APIResponse(
+                    responseCode = "400",
+                    description = "Некорректные данные",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response updateHotel(
+            @Parameter(description = "ID отеля", required = true)
+            @PathParam("id") Long id,
+            HotelDTO hotelDTO) {
+
+        LOG.info("PUT /api/v1/hotels/" + id);
+
+        // Ручная валидация
+        List<String> errors = validateHotel(hotelDTO);
+        if (!errors.isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(ErrorResponse.of(400, "Ошибка валидации", errors))
+                    .build();
+        }
+
+        Optional<HotelDTO> updated = hotelService.update(id, hotelDTO);
+        if (updated.isPresent()) {
+            return Response.ok(updated.get()).build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.of(404, "Отель с ID " + id + " не найден"))
+                    .build();
+        }
+    }
+
+    /**
+     * Удалить отель
+     */
+    @DELETE
+    @Path("/{id}")
+    @Operation(summary = "Удалить отель",
+            description = "Удаляет отель по его идентификатору")
+    @APIResponses({
+            @APIResponse(
+                    responseCode = "204",
+                    description = "Отель удалён"
+            ),
+            @APIResponse(
+                    responseCode = "404",
+                    description = "Отель не найден",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON,
+                            schema = @Schema(implementation = ErrorResponse.class)
+                    )
+            )
+    })
+    public Response deleteHotel(
+            @Parameter(description = "ID отеля", required = true)
+            @PathParam("id") Long id) {
+
+        LOG.info("DELETE /api/v1/hotels/" + id);
+
+        boolean deleted = hotelService.delete(id);
+
+        if (deleted) {
+            return Response.noContent().build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(ErrorResponse.of(404, "Отель с ID " + id + " не найден"))
+                    .build();
+        }
+    }
+
+    /**
+     * Разобрать параметр fields в множество имён полей (пустое множество - все поля, кроме notes)
+     */
+    private Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Проверить, что все поля из fields известны
+     * @return ответ 400 или null, если неизвестных полей нет
+     */
+    private Response checkFields(Set<String> selectedFields) {
+        List<String> unknownFields = selectedFields.stream()
+                .filter(field -> !SELECTABLE_FIELDS.contains(field))
+                .collect(Collectors.toList());
+        if (unknownFields.isEmpty()) {
+            return null;
+        }
+        return Response.status(Response.Status.BAD_REQUEST)
+                .entity(ErrorResponse.of(400, "Неизвестные поля: " + String.join(", ", unknownFields)))
+                .build();
+    }
+
+    /**
+     * Ручная валидация HotelDTO
+     */
+    private List<String> validateHotel(HotelDTO hotel) {
+        List<String> errors = new ArrayList<>();
+
+        if (hotel == null) {
+            errors.add("Данные отеля не могут быть пустыми");
+            return errors;
+        }
+
+        if (hotel.getName() == null || hotel.getName().trim().isEmpty()) {
+            errors.add("Название отеля обязательно для заполнения");
+        }
+
+        if (hotel.getAddress() == null) {
+            errors.add("Адрес отеля обязателен для заполнения");
+        } else {
+            if (hotel.getAddress().getCity() == null || hotel.getAddress().getCity().trim().isEmpty()) {
+                errors.add("Город обязателен для заполнения");
+            }
+            if (hotel.getAddress().getStreet() == null || hotel.getAddress().getStreet().trim().isEmpty()) {
+                errors.add("Улица обязательна для заполнения");
+            }
+            if (hotel.getAddress().getBuilding() == null || hotel.getAddress().getBuilding().trim().isEmpty()) {
+                errors.add("Номер дома обязателен для заполнения");
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Ручная валидация RoomTypeDTO
+     */
+    private List<String> validateRoomType(RoomTypeDTO roomType) {
+        List<String> errors = new ArrayList<>();
+
+        if (roomType == null) {
+            errors.add("Данные типа номера не могут быть пустыми");
+            return errors;
+        }
+
+        if (roomType.getName() == null || roomType.getName().trim().isEmpty()) {
+            errors.add("Название типа номера обязательно для заполнения");
+        }
+        if (roomType.getCapacity() < 1) {
+            errors.add("Вместимость номера должна быть не меньше 1");
+        }
+        if (roomType.getTotalRooms() < 0 || roomType.getTotalRooms() > Short.MAX_VALUE) {
+            errors.add("Количество номеров должно быть от 0 до " + Short.MAX_VALUE);
+        }
+
+        return errors;
+    }
+
+    /**
+     * Ручная валидация ReservationDTO
+     */
+    private List<String> validateReservation(ReservationDTO reservation) {
+        List<String> errors = new ArrayList<>();
+
+        if (reservation == null) {
+            errors.add("Данные бронирования не могут быть пустыми");
+            return errors;
+        }
+
+        if (reservation.getCheckIn() == null || reservation.getCheckOut() == null) {
+            errors.add("Даты заезда и выезда обязательны для заполнения");
+        } else if (!reservation.getCheckOut().isAfter(reservation.getCheckIn())) {
+            errors.add("Дата выезда должна быть позже даты заезда");
+        }
+        if (reservation.getRooms() < 1) {
+            errors.add("Количество номеров должно быть не меньше 1");
+        }
+
+        return errors;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.example.hotel.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Сравнение двух отчётов LoadDriver (например, базовой сборки и кандидата)
+ *
+ * Использование: CompareReports baseline.json candidate.json
+ * Для каждой операции печатаются перцентили обоих прогонов и относительное изменение.
+ */
+public final class CompareReports {
+
+    private CompareReports() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareReports <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        LoadReport baseline = LoadReport.read(Path.of(args[0]));
+        LoadReport candidate = LoadReport.read(Path.of(args[1]));
+
+        if (baseline.targetRate() != candidate.targetRate() || !baseline.mix().equals(candidate.mix())) {
+            System.out.println("WARNING: reports were produced with different rate or mix");
+        }
+        System.out.printf(Locale.ROOT, "=== %s -> %s ===%n", baseline.label(), candidate.label());
+        System.out.printf(Locale.ROOT, "%-8s %-6s %10s %10s %9s%n", "op", "metric", baseline.label(), candidate.label(), "change");
+
+        baseline.operations().forEach((name, base) -> {
+            LoadReport.OperationStats next = candidate.operations().get(name);
+            if (next == null) {
+                return;
+            }
+            row(name, "req/s", base.throughput(), next.throughput());
+            row(name, "p50", base.p50(), next.p50());
+            row(name, "p99", base.p99(), next.p99());
+            row(name, "p99.9", base.p999(), next.p999());
+            row(name, "errors", base.errors(), next.errors());
+        });
+    }
+
+    private static void row(String operation, String metric, double baseline, double candidate) {
+        String change = baseline == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (candidate - baseline) * 100 / baseline);
+        System.out.printf(Locale.ROOT, "%-8s %-6s %10.2f %10.2f %9s%n", operation, metric, baseline, candidate, change);
+    }
+}
@@ -0,0 +1,275 @@
+package ru.example.hotel.loadtest;
+
+import ru.example.hotel.api.dto.HotelCategory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Генератор синтетических данных: отели с адресами пакетными INSERT прямо в MariaDB
+ *
+ * Города выбираются по закону Ципфа (несколько крупных городов и длинный хвост мелких),
+ * координаты разбросаны вокруг центра города, длина примечаний распределена логнормально.
+ * Генерация детерминирована при одинаковом --seed, поэтому наборы данных воспроизводимы между сборками.
+ *
+ * Параметры:
+ * --url=jdbc:mariadb://localhost:3307/hoteldb --user=hotel --password=hotel123
+ * --hotels=1000000 --batch=5000 --seed=42 --city-skew=1.1 --towns=1000 --truncate=false
+ */
+public final class DataGenerator {
+
+    private static final Logger LOG = Logger.getLogger(DataGenerator.class.getName());
+
+    /**
+     * Крупные города: название, почтовый индекс, широта, долгота
+     */
+    private static final Object[][] CITIES = {
+            {"Москва", "101000", 55.7558, 37.6173},
+            {"Санкт-Петербург", "190000", 59.9343, 30.3351},
+            {"Сочи", "354000", 43.5855, 39.7231},
+            {"Казань", "420000", 55.7908, 49.1149},
+            {"Екатеринбург", "620000", 56.8389, 60.6057},
+            {"Новосибирск", "630000", 55.0415, 82.9346},
+            {"Калининград", "236000", 54.7104, 20.4522},
+            {"Нижний Новгород", "603000", 56.3269, 44.0059},
+            {"Краснодар", "350000", 45.0355, 38.9753},
+            {"Владивосток", "690000", 43.1155, 131.8855},
+            {"Ярославль", "150000", 57.6261, 39.8845},
+            {"Самара", "443000", 53.1959, 50.1002},
+            {"Ростов-на-Дону", "344000", 47.2357, 39.7015},
+            {"Иркутск", "664000", 52.2870, 104.3050},
+            {"Мурманск", "183000", 68.9585, 33.0827},
+            {"Уфа", "450000", 54.7388, 55.9721},
+            {"Пермь", "614000", 58.0105, 56.2502},
+            {"Воронеж", "394000", 51.6720, 39.1843},
+            {"Красноярск", "660000", 56.0153, 92.8932},
+            {"Тюмень", "625000", 57.1530, 65.5343},
+            {"Суздаль", "601293", 56.4197, 40.4493},
+            {"Псков", "180000", 57.8136, 28.3496},
+            {"Великий Новгород", "173000", 58.5215, 31.2755},
+            {"Анапа", "353440", 44.8950, 37.3163},
+            {"Геленджик", "353460", 44.5622, 38.0848},
+            {"Кисловодск", "357700", 43.9133, 42.7208},
+            {"Петрозаводск", "185000", 61.7849, 34.3469},
+            {"Томск", "634000", 56.4847, 84.9482},
+            {"Хабаровск", "680000", 48.4802, 135.0719},
+            {"Архангельск", "163000", 64.5393, 40.5187}
+    };
+
+    private static final String[] STREETS = {
+            "Ленина", "Советская", "Мира", "Центральная", "Садовая", "Набережная", "Пушкина", "Гагарина",
+            "Молодёжная", "Школьная", "Лесная", "Новая", "Октябрьская", "Заречная", "Кирова", "Победы",
+            "Чехова", "Горького", "Солнечная", "Вокзальная"
+    };
+
+    private static final String[] STREET_TYPES = {"улица", "проспект", "переулок", "бульвар", "набережная"};
+
+    private static final String[] NAME_PREFIXES = {
+            "Отель", "Гостиница", "Hotel", "Апарт-отель", "Бутик-отель", "Хостел", "Гостевой дом", "Резорт"
+    };
+
+    private static final String[] NAME_WORDS = {
+            "Аврора", "Волга", "Олимп", "Европа", "Север", "Метрополь", "Ривьера", "Парус", "Созвездие",
+            "Маяк", "Космос", "Альянс", "Берёзка", "Панорама", "Империал", "Жемчужина", "Grand", "Park",
+            "Plaza", "Central", "Royal", "Comfort", "City", "Premier", "Sunrise", "Baltic", "Nord"
+    };
+
+    private static final String[] NOTE_WORDS = {
+            "номер", "вид", "завтрак", "центр", "парковка", "бассейн", "спа", "ресторан", "трансфер",
+            "тихий", "уютный", "современный", "исторический", "рядом", "метро", "пляж", "конференц-зал",
+            "бесплатный", "Wi-Fi", "круглосуточно", "семейный", "животные", "разрешены", "ремонт", "2023"
+    };
+
+    /**
+     * Распределение категорий: ONE_STAR..FIVE_STARS, остаток - без категории
+     */
+    private static final double[] CATEGORY_WEIGHTS = {0.05, 0.15, 0.40, 0.28, 0.07};
+
+    /**
+     * Примечания: доля пустых, медиана и разброс длины, предел под TEXT (65535 байт, кириллица - 2 байта)
+     */
+    private static final double NO_NOTES_SHARE = 0.2;
+    private static final double NOTES_MEDIAN_CHARS = 200;
+    private static final double NOTES_SIGMA = 1.2;
+    private static final int NOTES_MAX_CHARS = 16_000;
+
+    private static final double NO_COORDINATES_SHARE = 0.03;
+
+    private final Random random;
+    private final List<City> cities;
+    private final ZipfSampler citySampler;
+
+    private record City(String name, String postalCode, double latitude, double longitude, double spreadDegrees) {
+    }
+
+    DataGenerator(long seed, int towns, double citySkew) {
+        this.random = new Random(seed);
+        this.cities = new ArrayList<>(CITIES.length + towns);
+        for (int i = 0; i < CITIES.length; i++) {
+            Object[] city = CITIES[i];
+            // Крупнейшие города - широкий разброс, остальные компактнее
+            double spread = i < 2 ? 0.12 : 0.05;
+            cities.add(new City((String) city[0], (String) city[1], (Double) city[2], (Double) city[3], spread));
+        }
+        for (int i = 1; i <= towns; i++) {
+            // Хвост: условные посёлки в пределах европейской части и юга Сибири
+            double latitude = 44 + random.nextDouble() * 16;
+            double longitude = 28 + random.nextDouble() * 60;
+            String postalCode = String.format("%06d", 100_000 + random.nextInt(800_000));
+            cities.add(new City("Посёлок " + i, postalCode, latitude, longitude, 0.02));
+        }
+        this.citySampler = new ZipfSampler(cities.size(), citySkew);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = new Options(args);
+        String url = options.get("url", "jdbc:mariadb://localhost:3307/hoteldb");
+        long hotels = options.getLong("hotels", 1_000_000);
+        int batchSize = options.getInt("batch", 5_000);
+
+        DataGenerator generator = new DataGenerator(
+                options.getLong("seed", 42), options.getInt("towns", 1_000), options.getDouble("city-skew", 1.1));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("user", "hotel"), options.get("password", "hotel123"))) {
+            if (options.getBoolean("truncate", false)) {
+                generator.truncate(connection);
+            }
+            generator.generate(connection, hotels, batchSize);
+        }
+    }
+
+    void truncate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+            statement.execute("TRUNCATE TABLE hotels");
+            statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+        }
+        LOG.info("Table hotels truncated");
+    }
+
+    void generate(Connection connection, long hotels, int batchSize) throws SQLException {
+        long firstHotelId = maxId(connection, "hotels") + 1;
+
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET unique_checks = 0");
+            statement.execute("SET foreign_key_checks = 0");
+        }
+
+        long started = System.nanoTime();
+        try (PreparedStatement hotelRows = connection.prepareStatement(
+                "INSERT INTO hotels (id, name, postal_code, city, street, building, latitude, longitude, "
+                        + "category, category_rank, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+            for (long i = 0; i < hotels; i++) {
+                addHotel(hotelRows, firstHotelId + i);
+
+                if ((i + 1) % batchSize == 0 || i + 1 == hotels) {
+                    hotelRows.executeBatch();
+                    connection.commit();
+                }
+                if ((i + 1) % 100_000 == 0) {
+                    double seconds = (System.nanoTime() - started) / 1e9;
+                    LOG.info(String.format("%d hotels inserted (%.0f rows/s)", i + 1, (i + 1) / seconds));
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET unique_checks = 1");
+            statement.execute("SET foreign_key_checks = 1");
+            statement.execute("ANALYZE TABLE hotels");
+        }
+        connection.commit();
+        LOG.info(String.format("Generated %d hotels in %.1f s", hotels, (System.nanoTime() - started) / 1e9));
+    }
+
+    private void addHotel(PreparedStatement statement, long id) throws SQLException {
+        statement.setLong(1, id);
+        // Адрес выбирается до названия: тот же порядок обращений к random, что и при отдельной таблице адресов
+        setAddress(statement);
+        statement.setString(2, pick(NAME_PREFIXES) + " " + pick(NAME_WORDS)
+                + (random.nextInt(4) == 0 ? " " + pick(NAME_WORDS) : ""));
+        HotelCategory category = category();
+        if (category == null) {
+            statement.setNull(9, Types.VARCHAR);
+            statement.setNull(10, Types.TINYINT);
+        } else {
+            statement.setString(9, category.name());
+            // Ключ сортировки по звёздности, как у Hotel.categoryRank
+            statement.setInt(10, category.ordinal() + 1);
+        }
+        String notes = notes();
+        if (notes == null) {
+            statement.setNull(11, Types.VARCHAR);
+        } else {
+            statement.setString(11, notes);
+        }
+        statement.addBatch();
+    }
+
+    private void setAddress(PreparedStatement statement) throws SQLException {
+        City city = cities.get(citySampler.next(random));
+        statement.setString(3, city.postalCode());
+        statement.setString(4, city.name());
+        statement.setString(5, pick(STREETS) + " " + pick(STREET_TYPES));
+        statement.setString(6, String.valueOf(1 + random.nextInt(200)));
+        if (random.nextDouble() < NO_COORDINATES_SHARE) {
+            statement.setNull(7, Types.DOUBLE);
+            statement.setNull(8, Types.DOUBLE);
+        } else {
+            statement.setDouble(7, city.latitude() + random.nextGaussian() * city.spreadDegrees());
+            statement.setDouble(8, city.longitude() + random.nextGaussian() * city.spreadDegrees());
+        }
+    }
+
+    private HotelCategory category() {
+        double value = random.nextDouble();
+        HotelCategory[] categories = HotelCategory.values();
+        for (int i = 0; i < categories.length; i++) {
+            value -= CATEGORY_WEIGHTS[i];
+            if (value < 0) {
+                return categories[i];
+            }
+        }
+        return null;
+    }
+
+    private String notes() {
+        if (random.nextDouble() < NO_NOTES_SHARE) {
+            return null;
+        }
+        int length = (int) Math.min(NOTES_MAX_CHARS,
+                NOTES_MEDIAN_CHARS * Math.exp(random.nextGaussian() * NOTES_SIGMA));
+        StringBuilder notes = new StringBuilder(length + 16);
+        while (notes.length() < length) {
+            if (notes.length() > 0) {
+                notes.append(random.nextInt(12) == 0 ? ". " : " ");
+            }
+            notes.append(pick(NOTE_WORDS));
+        }
+        return notes.toString();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
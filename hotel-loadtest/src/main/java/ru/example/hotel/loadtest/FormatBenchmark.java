@@ -0,0 +1,127 @@
+package ru.example.hotel.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Размер и стоимость кодирования страницы отелей в JSON, CBOR, Smile и Protobuf
+ *
+ * Страница берётся у работающего hotel-rest (реальные данные, например после DataGenerator).
+ * Для каждого формата печатается размер ответа, который hotel-rest отдаёт по Accept,
+ * и среднее время кодирования и декодирования той же страницы в этом процессе
+ * (после прогрева, --iterations повторов). Классы Protobuf генерируются только в hotel-rest,
+ * поэтому для Protobuf печатается только размер ответа.
+ *
+ * Параметры:
+ * --target=http://localhost:8081 --size=100 --fields=id,name,category,address,notes
+ * --warmup=2000 --iterations=5000
+ */
+public final class FormatBenchmark {
+
+    private static final TypeReference<PageResponse<HotelDTO>> PAGE = new TypeReference<>() {
+    };
+
+    /**
+     * Формат: кодирование и декодирование страницы
+     */
+    private interface Codec {
+        byte[] encode(PageResponse<HotelDTO> page) throws IOException;
+
+        PageResponse<HotelDTO> decode(byte[] data) throws IOException;
+    }
+
+    private static final String PROTOBUF = "application/x-protobuf";
+
+    private FormatBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String target = options.get("target", "http://localhost:8081");
+        String query = "/api/v1/hotels?size=" + options.getInt("size", 100)
+                + "&fields=" + options.get("fields", "id,name,category,address,notes");
+        int warmup = options.getInt("warmup", 2_000);
+        int iterations = options.getInt("iterations", 5_000);
+
+        Map<String, Codec> codecs = new LinkedHashMap<>();
+        codecs.put("application/json", jackson(new ObjectMapper()));
+        codecs.put("application/cbor", jackson(new ObjectMapper(new CBORFactory())));
+        codecs.put("application/x-jackson-smile", jackson(new ObjectMapper(new SmileFactory())));
+
+        HttpClient client = HttpClient.newHttpClient();
+        PageResponse<HotelDTO> page = new ObjectMapper()
+                .readValue(fetch(client, target + query, "application/json"), PAGE);
+        System.out.printf(Locale.ROOT, "=== %s: %d hotels ===%n", query, page.getContent().size());
+        System.out.printf(Locale.ROOT, "%-28s %10s %12s %12s%n", "format", "bytes", "encode µs", "decode µs");
+
+        for (Map.Entry<String, Codec> entry : codecs.entrySet()) {
+            // Размер - по ответу hotel-rest, чтобы заодно проверить согласование формата
+            byte[] served = fetch(client, target + query, entry.getKey());
+            Codec codec = entry.getValue();
+            byte[] encoded = codec.encode(page);
+
+            for (int i = 0; i < warmup; i++) {
+                codec.decode(codec.encode(page));
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                encoded = codec.encode(page);
+            }
+            double encodeMicros = (System.nanoTime() - started) / 1e3 / iterations;
+
+            started = System.nanoTime();
+            int decodedHotels = 0;
+            for (int i = 0; i < iterations; i++) {
+                decodedHotels += codec.decode(encoded).getContent().size();
+            }
+            double decodeMicros = (System.nanoTime() - started) / 1e3 / iterations;
+            if (decodedHotels != page.getContent().size() * iterations) {
+                throw new IllegalStateException("Decoded page differs for " + entry.getKey());
+            }
+
+            System.out.printf(Locale.ROOT, "%-28s %10d %12.1f %12.1f%n",
+                    entry.getKey(), served.length, encodeMicros, decodeMicros);
+        }
+        System.out.printf(Locale.ROOT, "%-28s %10d %12s %12s%n",
+                PROTOBUF, fetch(client, target + query, PROTOBUF).length, "-", "-");
+    }
+
+    private static Codec jackson(ObjectMapper mapper) {
+        return new Codec() {
+            @Override
+            public byte[] encode(PageResponse<HotelDTO> page) throws IOException {
+                return mapper.writeValueAsBytes(page);
+            }
+
+            @Override
+            public PageResponse<HotelDTO> decode(byte[] data) throws IOException {
+                return mapper.readValue(data, PAGE);
+            }
+        };
+    }
+
+    private static byte[] fetch(HttpClient client, String url, String accept) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(URI.create(url)).header("Accept", accept).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        if (response.statusCode() != 200 || !contentType.startsWith(accept)) {
+            throw new IllegalStateException("GET " + url + " with Accept: " + accept + " returned "
+                    + response.statusCode() + " " + contentType);
+        }
+        return response.body();
+    }
+}
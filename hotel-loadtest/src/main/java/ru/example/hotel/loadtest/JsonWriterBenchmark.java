@@ -0,0 +1,98 @@
+package ru.example.hotel.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.example.hotel.api.codec.HotelJson;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Запись страницы отелей в JSON: Jackson (как quarkus-resteasy-reactive-jackson) против HotelJson
+ *
+ * Страница берётся у работающего hotel-rest. Для каждого способа печатается среднее время записи
+ * и объём выделенной памяти на страницу (после прогрева, --iterations повторов); перед замером
+ * проверяется, что оба способа дают одинаковые байты.
+ *
+ * Параметры:
+ * --target=http://localhost:8081 --size=100 --fields=id,name,category,address
+ * --warmup=20000 --iterations=50000
+ */
+public final class JsonWriterBenchmark {
+
+    private static final TypeReference<PageResponse<HotelDTO>> PAGE = new TypeReference<>() {
+    };
+
+    /**
+     * Способ записи страницы
+     */
+    private interface Writer {
+        byte[] write(PageResponse<HotelDTO> page) throws IOException;
+    }
+
+    private JsonWriterBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String target = options.get("target", "http://localhost:8081");
+        String query = "/api/v1/hotels?size=" + options.getInt("size", 100)
+                + "&fields=" + options.get("fields", "id,name,category,address");
+        int warmup = options.getInt("warmup", 20_000);
+        int iterations = options.getInt("iterations", 50_000);
+
+        // Настройки ObjectMapper из application.properties hotel-rest
+        ObjectMapper mapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(target + query)).header("Accept", "application/json").GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + query + " returned " + response.statusCode());
+        }
+        PageResponse<HotelDTO> page = mapper.readValue(response.body(), PAGE);
+
+        Writer jackson = mapper::writeValueAsBytes;
+        Writer direct = HotelJson::encodePage;
+        if (!Arrays.equals(jackson.write(page), direct.write(page))) {
+            throw new IllegalStateException("HotelJson output differs from Jackson for " + query);
+        }
+
+        System.out.printf(Locale.ROOT, "=== %s: %d hotels, %d bytes ===%n",
+                query, page.getContent().size(), direct.write(page).length);
+        System.out.printf(Locale.ROOT, "%-10s %12s %16s%n", "writer", "µs/page", "allocated B/page");
+        run("jackson", jackson, page, warmup, iterations);
+        run("HotelJson", direct, page, warmup, iterations);
+    }
+
+    private static void run(String name, Writer writer, PageResponse<HotelDTO> page,
+                            int warmup, int iterations) throws IOException {
+        long sink = 0;
+        for (int i = 0; i < warmup; i++) {
+            sink += writer.write(page).length;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += writer.write(page).length;
+        }
+        double micros = (System.nanoTime() - started) / 1e3 / iterations;
+        double allocated = (double) (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / iterations;
+
+        if (sink == 0) {
+            throw new IllegalStateException("Empty output");
+        }
+        System.out.printf(Locale.ROOT, "%-10s %12.1f %16.0f%n", name, micros, allocated);
+    }
+}
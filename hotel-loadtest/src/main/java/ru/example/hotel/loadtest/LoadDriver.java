@@ -0,0 +1,222 @@
+package ru.example.hotel.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Нагрузочный драйвер HotelResource по открытой модели
+ *
+ * Запросы отправляются с заданной интенсивностью независимо от ответов сервера (постоянный интервал
+ * или пуассоновский поток), задержка измеряется от запланированного момента отправки - так
+ * исключается coordinated omission. Задержки пишутся в HdrHistogram по каждой операции,
+ * результат сохраняется JSON-отчётом и .hgrm-распределениями.
+ *
+ * Параметры:
+ * --target=http://localhost:8081 --rate=200 --duration=60 --warmup=15 --arrival=constant|poisson
+ * --mix=list=55,byId=30,nearby=5,create=5,update=4,delete=1 --max-id=auto --id-skew=0.99
+ * --max-in-flight=2000 --timeout=10 --seed=1 --label=local --report=target/loadtest/report-local.json
+ */
+public final class LoadDriver {
+
+    private static final Logger LOG = Logger.getLogger(LoadDriver.class.getName());
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final Map<Workload.Operation, Recorder> recorders = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, AtomicLong> errors = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, AtomicLong> skipped = new EnumMap<>(Workload.Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+
+    LoadDriver(HttpClient client, Workload workload, int maxInFlight) {
+        this.client = client;
+        this.workload = workload;
+        this.maxInFlight = maxInFlight;
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+            skipped.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        URI target = URI.create(options.get("target", "http://localhost:8081"));
+        double rate = options.getDouble("rate", 200);
+        int duration = options.getInt("duration", 60);
+        int warmup = options.getInt("warmup", 15);
+        boolean poisson = "poisson".equals(options.get("arrival", "constant"));
+        String mix = options.get("mix", "list=55,byId=30,nearby=5,create=5,update=4,delete=1");
+        String label = options.get("label", "local");
+        Path reportPath = Path.of(options.get("report", "target/loadtest/report-" + label + ".json"));
+        Duration timeout = Duration.ofSeconds(options.getInt("timeout", 10));
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(executor)
+                .build();
+
+        String maxIdOption = options.get("max-id", "auto");
+        long maxId = "auto".equals(maxIdOption) ? discoverMaxId(client, target, timeout) : Long.parseLong(maxIdOption);
+        LOG.info("Hotel id range: 1.." + maxId);
+
+        Workload workload = new Workload(target, timeout, mix, maxId, options.getDouble("id-skew", 0.99));
+        LoadDriver driver = new LoadDriver(client, workload, options.getInt("max-in-flight", 2_000));
+        Random random = new Random(options.getLong("seed", 1));
+
+        String startedAt = Instant.now().toString();
+        LOG.info(String.format("Warm-up: %d s at %.0f req/s", warmup, rate));
+        driver.run(random, rate, warmup, poisson);
+        driver.reset();
+
+        LOG.info(String.format("Measurement: %d s at %.0f req/s", duration, rate));
+        driver.run(random, rate, duration, poisson);
+        driver.awaitInFlight(timeout.multipliedBy(2));
+
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Map<String, LoadReport.OperationStats> stats = new LinkedHashMap<>();
+        for (Workload.Operation operation : workload.getWeights().keySet()) {
+            Histogram histogram = driver.recorders.get(operation).getIntervalHistogram();
+            histograms.put(operation.getKey(), histogram);
+            stats.put(operation.getKey(), LoadReport.OperationStats.of(histogram,
+                    driver.errors.get(operation).get(), driver.skipped.get(operation).get(), duration));
+        }
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        workload.getWeights().forEach((operation, weight) -> weights.put(operation.getKey(), weight));
+        LoadReport report = new LoadReport(label, startedAt, target.toString(), rate, duration, weights, stats);
+        report.print(System.out);
+        report.write(reportPath);
+        writeDistributions(reportPath, histograms);
+        LOG.info("Report written to " + reportPath);
+
+        executor.shutdownNow();
+    }
+
+    /**
+     * Отправлять запросы в течение seconds секунд с интенсивностью rate в секунду
+     */
+    void run(Random random, double rate, int seconds, boolean poisson) {
+        double meanIntervalNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        double intended = start;
+
+        while (intended < end) {
+            long intendedStart = (long) intended;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(workload.nextOperation(random), random, intendedStart);
+            intended += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+        }
+    }
+
+    private void send(Workload.Operation operation, Random random, long intendedStart) {
+        HttpRequest request = workload.request(operation, random);
+        if (request == null || inFlight.get() >= maxInFlight) {
+            skipped.get(operation).incrementAndGet();
+            return;
+        }
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                    recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (failure != null || response.statusCode() >= 500) {
+                        errors.get(operation).incrementAndGet();
+                    } else if (operation == Workload.Operation.CREATE && response.statusCode() == 201) {
+                        rememberCreated(response.body());
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            JsonNode id = LoadReport.MAPPER.readTree(body).get("id");
+            if (id != null) {
+                workload.created(id.asLong());
+            }
+        } catch (IOException e) {
+            LOG.log(Level.FINE, "Unparseable create response", e);
+        }
+    }
+
+    /**
+     * Сбросить накопленные после прогрева значения
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        skipped.values().forEach(counter -> counter.set(0));
+    }
+
+    void awaitInFlight(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            LOG.warning(inFlight.get() + " requests still in flight after " + timeout);
+        }
+    }
+
+    private static long discoverMaxId(HttpClient client, URI target, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(target.resolve("/api/v1/hotels?page=0&size=1&sortBy=id&sort=desc"))
+                .timeout(timeout)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Cannot discover id range: HTTP " + response.statusCode());
+        }
+        JsonNode content = LoadReport.MAPPER.readTree(response.body()).get("content");
+        if (content == null || content.isEmpty()) {
+            throw new IllegalStateException("No hotels in the target, run DataGenerator first");
+        }
+        return content.get(0).get("id").asLong();
+    }
+
+    private static void writeDistributions(Path reportPath, Map<String, Histogram> histograms) throws IOException {
+        String base = reportPath.getFileName().toString().replaceFirst("\\.json$", "");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Path file = reportPath.resolveSibling(base + "-" + entry.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Значения в микросекундах, масштаб 1000 - распределение в миллисекундах
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
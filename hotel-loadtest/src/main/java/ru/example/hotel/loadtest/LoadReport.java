@@ -0,0 +1,78 @@
+package ru.example.hotel.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Отчёт прогона: параметры нагрузки и перцентили задержек по операциям (в миллисекундах)
+ * Сохраняется в JSON, чтобы сравнивать прогоны разных сборок (CompareReports).
+ */
+record LoadReport(String label,
+                  String startedAt,
+                  String target,
+                  double targetRate,
+                  int durationSeconds,
+                  Map<String, Integer> mix,
+                  Map<String, OperationStats> operations) {
+
+    static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Статистика операции: задержка считается от запланированного момента отправки (open model),
+     * поэтому очередь на стороне клиента не скрывает деградацию сервера
+     */
+    record OperationStats(long count,
+                          long errors,
+                          long skipped,
+                          double throughput,
+                          double mean,
+                          double p50,
+                          double p90,
+                          double p99,
+                          double p999,
+                          double max) {
+
+        static OperationStats of(Histogram histogram, long errors, long skipped, int durationSeconds) {
+            return new OperationStats(
+                    histogram.getTotalCount(),
+                    errors,
+                    skipped,
+                    (double) histogram.getTotalCount() / durationSeconds,
+                    histogram.getMean() / 1000,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "=== %s: %s, %.0f req/s for %d s ===%n", label, target, targetRate, durationSeconds);
+        out.printf(Locale.ROOT, "%-8s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "skipped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, stats) -> out.printf(Locale.ROOT,
+                "%-8s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, stats.count(), stats.errors(), stats.skipped(), stats.throughput(),
+                stats.p50(), stats.p90(), stats.p99(), stats.p999(), stats.max()));
+    }
+}
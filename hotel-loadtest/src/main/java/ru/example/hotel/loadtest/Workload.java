@@ -0,0 +1,182 @@
+package ru.example.hotel.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Смесь операций над HotelResource и построение запросов для каждой из них
+ *
+ * Смесь задаётся весами: list=55,byId=30,nearby=5,create=5,update=4,delete=1.
+ * Чтения по ID и номера страниц распределены по Ципфу (горячие отели и первые страницы);
+ * update и delete затрагивают только отели, созданные самим драйвером, чтобы не портить набор данных.
+ */
+final class Workload {
+
+    enum Operation {
+        LIST("list"),
+        BY_ID("byId"),
+        NEARBY("nearby"),
+        CREATE("create"),
+        UPDATE("update"),
+        DELETE("delete");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equalsIgnoreCase(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + key);
+        }
+    }
+
+    private static final String[] SORTS = {"name", "category", "category,name", "city", "id"};
+    private static final String[] FIELDS = {"", "&fields=id,name,category", "&fields=id,name,category,address"};
+
+    /**
+     * Точки для nearby: центры крупных городов
+     */
+    private static final double[][] POINTS = {
+            {55.7558, 37.6173}, {59.9343, 30.3351}, {43.5855, 39.7231}, {55.7908, 49.1149}, {56.8389, 60.6057}
+    };
+
+    private static final long ID_SCRAMBLE = 0x9E3779B97F4A7C15L;
+
+    private final URI baseUri;
+    private final Duration timeout;
+    private final Map<Operation, Integer> weights;
+    private final int totalWeight;
+    private final long maxId;
+    private final ZipfSampler idSampler;
+    private final ZipfSampler pageSampler;
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    Workload(URI baseUri, Duration timeout, String mix, long maxId, double idSkew) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.weights = parseMix(mix);
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.maxId = maxId;
+        this.idSampler = new ZipfSampler((int) Math.min(maxId, Integer.MAX_VALUE - 8), idSkew);
+        this.pageSampler = new ZipfSampler(100, 1.5);
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight, got: " + part);
+            }
+            weights.put(Operation.fromKey(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix has no positive weights: " + mix);
+        }
+        return weights;
+    }
+
+    Map<Operation, Integer> getWeights() {
+        return weights;
+    }
+
+    Operation nextOperation(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            value -= entry.getValue();
+            if (value < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Запрос для операции; null, если выполнить её сейчас нельзя (нет созданных драйвером отелей)
+     */
+    HttpRequest request(Operation operation, Random random) {
+        return switch (operation) {
+            case LIST -> get(String.format(Locale.ROOT, "/api/v1/hotels?page=%d&size=20&sortBy=%s&sort=%s%s",
+                    pageSampler.next(random), pick(SORTS, random), random.nextBoolean() ? "asc" : "desc",
+                    pick(FIELDS, random)));
+            case BY_ID -> get("/api/v1/hotels/" + hotId(random));
+            case NEARBY -> {
+                double[] point = POINTS[random.nextInt(POINTS.length)];
+                yield get(String.format(Locale.ROOT, "/api/v1/hotels/nearby?lat=%.4f&lon=%.4f&radius=%d&size=20",
+                        point[0] + random.nextGaussian() * 0.05, point[1] + random.nextGaussian() * 0.05,
+                        1 + random.nextInt(10)));
+            }
+            case CREATE -> builder("/api/v1/hotels")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(hotelJson(random, "Нагрузочный тест")))
+                    .build();
+            case UPDATE -> {
+                // Очередь по кругу: обновления распределяются по всем созданным отелям
+                Long id = createdIds.poll();
+                if (id != null) {
+                    createdIds.add(id);
+                }
+                yield id == null ? null : builder("/api/v1/hotels/" + id)
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(hotelJson(random, "Обновлён")))
+                        .build();
+            }
+            case DELETE -> {
+                Long id = createdIds.poll();
+                yield id == null ? null : builder("/api/v1/hotels/" + id).DELETE().build();
+            }
+        };
+    }
+
+    /**
+     * Запомнить отель, созданный драйвером (цель для update/delete)
+     */
+    void created(long id) {
+        createdIds.add(id);
+    }
+
+    private long hotId(Random random) {
+        // Ранги Ципфа разбрасываются по диапазону ID, чтобы горячие отели не шли подряд
+        long rank = idSampler.next(random);
+        return Math.floorMod(rank * ID_SCRAMBLE, maxId) + 1;
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+    }
+
+    private static String hotelJson(Random random, String notes) {
+        double[] point = POINTS[random.nextInt(POINTS.length)];
+        return String.format(Locale.ROOT, """
+                {"name":"Load Test %d","category":"THREE_STARS","notes":"%s",\
+                "address":{"postalCode":"101000","city":"Москва","street":"Тестовая улица","building":"%d",\
+                "latitude":%.5f,"longitude":%.5f}}""",
+                random.nextInt(1_000_000), notes, 1 + random.nextInt(100),
+                point[0] + random.nextGaussian() * 0.05, point[1] + random.nextGaussian() * 0.05);
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,28 @@
+package ru.example.hotel.rest.client;
+
+import org.jboss.ejb.client.EJBClientInterceptor;
+import org.jboss.ejb.client.EJBClientInvocationContext;
+import ru.example.hotel.api.service.HotelServiceRemote;
+
+import java.util.Set;
+
+/**
+ * Передаёт маркеры клиентов текущего контекста (ClientTokens) в context data Remote EJB вызова
+ * Подключается в wildfly-config.xml (global-interceptors)
+ */
+public class ClientTokenEjbClientInterceptor implements EJBClientInterceptor {
+
+    @Override
+    public void handleInvocation(EJBClientInvocationContext context) throws Exception {
+        Set<String> tokens = ClientTokens.current();
+        if (!tokens.isEmpty()) {
+            context.getContextData().put(HotelServiceRemote.CLIENT_TOKENS_KEY, String.join(",", tokens));
+        }
+        context.sendRequest();
+    }
+
+    @Override
+    public Object handleInvocationResult(EJBClientInvocationContext context) throws Exception {
+        return context.getResult();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.example.hotel.rest.client;
+
+import io.opentelemetry.context.Scope;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.Set;
+
+/**
+ * Маркер клиента из заголовка X-Client-Id (например, идентификатор сессии) на время запроса
+ *
+ * Remote-вызовы запроса передают его в WildFly (ClientTokenEjbClientInterceptor), и чтения клиента
+ * после его собственной записи идут на основную БД, а не на отстающую реплику.
+ * Без заголовка чтения собственных записей не отслеживаются.
+ */
+@Provider
+public class ClientTokenFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String HEADER = "X-Client-Id";
+
+    private static final int MAX_LENGTH = 128;
+
+    private static final String SCOPE_PROPERTY = ClientTokenFilter.class.getName() + ".scope";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        String token = requestContext.getHeaderString(HEADER);
+        // Запятая разделяет маркеры в context data вызова
+        if (token == null || token.isBlank() || token.length() > MAX_LENGTH || token.indexOf(',') >= 0) {
+            return;
+        }
+        requestContext.setProperty(SCOPE_PROPERTY, ClientTokens.with(Set.of(token.trim())));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (requestContext.getProperty(SCOPE_PROPERTY) instanceof Scope scope) {
+            requestContext.removeProperty(SCOPE_PROPERTY);
+            scope.close();
+        }
+    }
+}
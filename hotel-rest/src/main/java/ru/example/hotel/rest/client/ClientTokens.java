@@ -0,0 +1,36 @@
+package ru.example.hotel.rest.client;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+
+import java.util.Set;
+
+/**
+ * Маркеры конечных клиентов, от имени которых выполняется remote-вызов (HotelServiceRemote.CLIENT_TOKENS_KEY)
+ *
+ * Хранятся в Context OpenTelemetry: он уже переносится в фоновые потоки (пакетная загрузка,
+ * обновление устаревших копий) и не требует SDK трассировки.
+ */
+final class ClientTokens {
+
+    private static final ContextKey<Set<String>> KEY = ContextKey.named("hotel.clients");
+
+    private ClientTokens() {
+    }
+
+    /**
+     * Маркеры текущего контекста; пустое множество - клиент маркер не передал
+     */
+    static Set<String> current() {
+        Set<String> tokens = Context.current().get(KEY);
+        return tokens != null ? tokens : Set.of();
+    }
+
+    /**
+     * Сделать маркеры текущими до закрытия Scope
+     */
+    static Scope with(Set<String> tokens) {
+        return Context.current().with(KEY, tokens).makeCurrent();
+    }
+}
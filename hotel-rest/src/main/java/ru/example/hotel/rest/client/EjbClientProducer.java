@@ -3,24 +3,36 @@ package ru.example.hotel.rest.client;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.spi.AlterableContext;
 import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.Typed;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.inject.Inject;
+import org.crac.Core;
+import org.crac.Resource;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.ejb.client.EJBClient;
+import org.wildfly.naming.client.WildFlyInitialContextFactory;
 import ru.example.hotel.api.service.HotelServiceRemote;
 
 import javax.naming.Context;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
-import java.net.URL;
 import java.util.Hashtable;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Продюсер для получения Remote EJB из WildFly
+ *
+ * При CRaC-checkpoint (JVM с поддержкой CRaC) JNDI-контекст закрывается вместе с его соединением,
+ * а после восстановления создаётся заново; на JVM без CRaC регистрация ни на что не влияет.
  */
 @ApplicationScoped
-public class EjbClientProducer {
+public class EjbClientProducer implements Resource {
 
     private static final Logger LOG = Logger.getLogger(EjbClientProducer.class.getName());
 
@@ -36,20 +48,26 @@ public class EjbClientProducer {
     @ConfigProperty(name = "wildfly.password")
     Optional<String> wildflyPassword;
 
+    @ConfigProperty(name = "hotel.remote.timeout-ms", defaultValue = "5000")
+    long invocationTimeoutMillis;
+
+    @Inject
+    BeanManager beanManager;
+
     private Context context;
 
     @PostConstruct
     void init() {
-        try {
-            // Load wildfly-config.xml for authentication
-            URL configUrl = getClass().getClassLoader().getResource("wildfly-config.xml");
-            if (configUrl != null) {
-                System.setProperty("wildfly.config.url", configUrl.toString());
-                LOG.info("Loaded wildfly-config.xml from: " + configUrl);
-            }
+        connect();
+        Core.getGlobalContext().register(this);
+    }
 
+    private void connect() {
+        try {
+            // wildfly-config.xml (аутентификация, таймауты) клиент находит в classpath сам;
+            // в native-образ файл включается через quarkus.native.resources.includes
             Hashtable<String, Object> env = new Hashtable<>();
-            env.put(Context.INITIAL_CONTEXT_FACTORY, "org.wildfly.naming.client.WildFlyInitialContextFactory");
+            env.put(Context.INITIAL_CONTEXT_FACTORY, WildFlyInitialContextFactory.class.getName());
             env.put(Context.PROVIDER_URL, "remote+http://" + wildflyHost + ":" + wildflyPort);
 
             // Enable EJB context
@@ -71,11 +89,33 @@ public class EjbClientProducer {
             } catch (NamingException e) {
                 LOG.log(Level.WARNING, "Error closing context", e);
             }
+            context = null;
         }
     }
 
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> crContext) {
+        LOG.info("Closing EJB context before checkpoint");
+        // Прокси привязан к соединению контекста: уничтожаем экземпляр, после восстановления продюсер создаст новый
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(HotelServiceRemote.class));
+        if (bean != null) {
+            ((AlterableContext) beanManager.getContext(ApplicationScoped.class)).destroy(bean);
+        }
+        cleanup();
+    }
+
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> crContext) {
+        LOG.info("Re-initializing EJB context after restore");
+        connect();
+    }
+
+    /**
+     * Прокси Remote EJB; ресурсы получают HotelService через RemoteHotelService
+     */
     @Produces
     @ApplicationScoped
+    @Typed(HotelServiceRemote.class)
     public HotelServiceRemote produceHotelService() {
         try {
             // JNDI lookup для Remote EJB
@@ -86,7 +126,10 @@ public class EjbClientProducer {
             LOG.info("Looking up EJB: " + jndiName);
 
             HotelServiceRemote service = (HotelServiceRemote) context.lookup(jndiName);
-            LOG.info("Successfully obtained HotelServiceRemote EJB");
+            // Таймаут вызовов этого прокси вместо общего invocation-timeout из wildfly-config.xml:
+            // зависший WildFly должен быстро засчитываться отказом в CircuitBreaker
+            EJBClient.setInvocationTimeout(service, invocationTimeoutMillis, TimeUnit.MILLISECONDS);
+            LOG.info("Successfully obtained HotelServiceRemote EJB (invocation timeout " + invocationTimeoutMillis + " ms)");
 
             return service;
         } catch (NamingException e) {
@@ -0,0 +1,178 @@
+package ru.example.hotel.rest.client;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.service.HotelServiceRemote;
+import ru.example.hotel.rest.limit.ServiceOverloadedException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Пакетная загрузка отелей по ID (в стиле DataLoader)
+ *
+ * Запросы findById, пришедшие в течение окна batch.window-ms (или пока не набрано batch.max-size ID),
+ * объединяются в один remote-вызов findByIds; каждый вызывающий получает свой результат.
+ * Повторные запросы одного ID в пределах окна разделяют одну загрузку.
+ * Remote-вызов пакета попадает в трассу запроса, открывшего пакет, и несёт маркеры всех клиентов пакета
+ * (ClientTokens): чтение идёт на основную БД, если хотя бы один из них недавно выполнил запись.
+ * Пакеты по таймеру отправляются не более чем dispatch-threads потоками с очередью dispatch-queue;
+ * пакет сверх очереди отклоняется (503), а вызывающий ждёт результат не дольше timeout-ms.
+ */
+@ApplicationScoped
+public class HotelBatchLoader {
+
+    private static final Logger LOG = Logger.getLogger(HotelBatchLoader.class.getName());
+
+    @Inject
+    HotelServiceRemote hotelService;
+
+    @ConfigProperty(name = "hotel.batch.window-ms", defaultValue = "2")
+    long windowMs;
+
+    @ConfigProperty(name = "hotel.batch.max-size", defaultValue = "50")
+    int maxSize;
+
+    @ConfigProperty(name = "hotel.batch.dispatch-threads", defaultValue = "8")
+    int dispatchThreads;
+
+    @ConfigProperty(name = "hotel.batch.dispatch-queue", defaultValue = "64")
+    int dispatchQueue;
+
+    @ConfigProperty(name = "hotel.batch.timeout-ms", defaultValue = "6000")
+    long timeoutMs;
+
+    private final Object lock = new Object();
+
+    private Map<Long, CompletableFuture<Optional<HotelDTO>>> pending = new HashMap<>();
+    private Set<String> pendingClients = new HashSet<>();
+
+    /**
+     * Пакет ID с маркерами клиентов, запросивших их
+     */
+    private record Batch(Map<Long, CompletableFuture<Optional<HotelDTO>>> futures, Set<String> clients) {
+    }
+
+    private ScheduledExecutorService timer;
+    private ExecutorService dispatcher;
+
+    @PostConstruct
+    void init() {
+        timer = Executors.newSingleThreadScheduledExecutor(daemon("hotel-batch-timer"));
+        // Ограниченный пул: пока WildFly не отвечает, пакеты не плодят потоки, а отклоняются
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(dispatchQueue), daemon("hotel-batch-dispatch"),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        dispatcher = Context.taskWrapping(pool);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Поставить ID в текущий пакет
+     * @param id идентификатор отеля
+     * @return результат, который будет получен вместе с остальными ID пакета; не позже timeout-ms
+     *         завершается TimeoutException
+     */
+    public CompletableFuture<Optional<HotelDTO>> load(Long id) {
+        Batch full = null;
+        CompletableFuture<Optional<HotelDTO>> future;
+        Set<String> clients = ClientTokens.current();
+
+        synchronized (lock) {
+            pendingClients.addAll(clients);
+            future = pending.get(id);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(id, future);
+                if (pending.size() == 1) {
+                    timer.schedule(Context.current().wrap(this::flush), windowMs, TimeUnit.MILLISECONDS);
+                }
+                if (pending.size() >= maxSize) {
+                    full = takePending();
+                }
+            }
+        }
+
+        if (full != null) {
+            // Пакет заполнен: отправляем сразу из потока вызывающего
+            dispatch(full);
+        }
+        // Копия: таймаут одного вызывающего не завершает загрузку для остальных ожидающих того же ID
+        return future.copy().orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        Batch batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (batch.futures().isEmpty()) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> dispatch(batch));
+        } catch (RejectedExecutionException e) {
+            LOG.warning("Batch dispatch queue is full, rejecting " + batch.futures().size() + " ids");
+            ServiceOverloadedException overloaded = new ServiceOverloadedException("batch dispatch", 1);
+            batch.futures().values().forEach(future -> future.completeExceptionally(overloaded));
+        }
+    }
+
+    private Batch takePending() {
+        Batch batch = new Batch(pending, pendingClients);
+        pending = new HashMap<>();
+        pendingClients = new HashSet<>();
+        return batch;
+    }
+
+    private void dispatch(Batch pendingBatch) {
+        Map<Long, CompletableFuture<Optional<HotelDTO>>> batch = pendingBatch.futures();
+        try (Scope ignored = ClientTokens.with(Set.copyOf(pendingBatch.clients()))) {
+            List<HotelDTO> found = hotelService.findByIds(new ArrayList<>(batch.keySet()));
+            LOG.fine("Loaded batch of " + batch.size() + " ids, found " + found.size());
+
+            Map<Long, HotelDTO> byId = new HashMap<>();
+            for (HotelDTO hotel : found) {
+                byId.put(hotel.getId(), hotel);
+            }
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(byId.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package ru.example.hotel.rest.client;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.ContextNotActiveException;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ru.example.hotel.rest.limit.CallerErrors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Последние успешные ответы WildFly для чтений, которые почти не меняются (stale-if-error)
+ *
+ * Чтение всегда выполняет remote-вызов в потоке запроса, с контекстом своего клиента (ClientTokens,
+ * трасса) и без объединения с чужими вызовами. Если копия есть, вызову передаётся wait-ms: ожидание
+ * ответа, которое он может ограничить сам (HotelBatchLoader); если вызов не уложился, WildFly недоступен
+ * или цепь разомкнута, запрос получает сохранённую копию, отмеченную в StaleResponse, а следующее чтение
+ * снова идёт в WildFly. Ошибки запроса пробрасываются как есть. Копии старше max-age-s не отдаются;
+ * размер ограничен max-entries (вытесняются давно читанные).
+ */
+@ApplicationScoped
+public class LastKnownGoodCache {
+
+    /**
+     * Аргумент remote-вызова get: копии нет, ожидание не ограничивается
+     */
+    public static final long NO_WAIT_LIMIT = Long.MAX_VALUE;
+
+    private static final Logger LOG = Logger.getLogger(LastKnownGoodCache.class.getName());
+
+    @Inject
+    StaleResponse staleResponse;
+
+    @ConfigProperty(name = "hotel.stale.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.stale.max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    @ConfigProperty(name = "hotel.stale.max-age-s", defaultValue = "86400")
+    long maxAgeSeconds;
+
+    @ConfigProperty(name = "hotel.stale.wait-ms", defaultValue = "500")
+    long waitMillis;
+
+    private Map<Object, Entry> entries;
+
+    // Счётчик удалений копий: ответ, прочитанный до изменения через этот сервис, копию не восстанавливает
+    private long evictions;
+
+    private record Entry(Object value, long storedAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Прочитать значение через remote-вызов, при его отказе или задержке - из сохранённой копии
+     * @param key ключ чтения (неизменяемый)
+     * @param remote remote-вызов; аргумент - сколько ждать ответа в мс (NO_WAIT_LIMIT, если копии нет
+     *               и ждать нужно обычное время вызова); Optional.empty() удаляет копию
+     */
+    public <T> T get(Object key, LongFunction<T> remote) {
+        if (!enabled) {
+            return remote.apply(NO_WAIT_LIMIT);
+        }
+        Entry cached = lookup(key);
+        long generation = generation();
+        T value;
+        try {
+            value = remote.apply(cached != null ? waitMillis : NO_WAIT_LIMIT);
+        } catch (RuntimeException e) {
+            if (cached == null || CallerErrors.isCallerError(e)) {
+                throw e;
+            }
+            return serveStale(key, cached, e.toString());
+        }
+        store(key, value, generation);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T serveStale(Object key, Entry cached, String reason) {
+        long ageSeconds = (System.currentTimeMillis() - cached.storedAt()) / 1000;
+        LOG.fine("Serving stale copy of " + key + " (age " + ageSeconds + " s): " + reason);
+        try {
+            staleResponse.markStale(ageSeconds);
+        } catch (ContextNotActiveException e) {
+            // Вызов вне контекста запроса: отметить некому
+        }
+        return (T) cached.value();
+    }
+
+    private synchronized Entry lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.storedAt() > maxAgeSeconds * 1000) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized long generation() {
+        return evictions;
+    }
+
+    private synchronized void store(Object key, Object value, long generation) {
+        if (generation != evictions) {
+            return;
+        }
+        if (value instanceof Optional<?> optional && optional.isEmpty()) {
+            entries.remove(key);
+        } else {
+            entries.put(key, new Entry(value, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Сохранить копию, полученную в обход get (прогрев при запуске)
+     */
+    public void put(Object key, Object value) {
+        if (enabled) {
+            store(key, value, generation());
+        }
+    }
+
+    /**
+     * Удалить копию после изменения через этот сервис
+     */
+    public synchronized void evict(Object key) {
+        evictions++;
+        entries.remove(key);
+    }
+
+    /**
+     * Удалить копии, ключи которых подходят под условие
+     */
+    public synchronized void evictIf(Predicate<Object> keyFilter) {
+        evictions++;
+        entries.keySet().removeIf(keyFilter);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.example.hotel.rest.client;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.AvailableHotelDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.api.dto.NearbyHotelDTO;
+import ru.example.hotel.api.dto.PageRequest;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.ReservationStatus;
+import ru.example.hotel.api.dto.RoomAvailabilityDTO;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+import ru.example.hotel.api.exception.InvalidRequestException;
+
+/**
+ * Регистрация классов для native-сборки (-Pnative)
+ *
+ * DTO и прикладные исключения передаются через Remote EJB Java-сериализацией (JBoss Marshalling),
+ * поэтому регистрируются вместе с сериализационными метаданными. Фабрики JNDI и EJB-транспорта
+ * создаются клиентом по имени класса и в образ сами не попадают; так же, по имени из
+ * wildfly-config.xml, создаются перехватчики EJB-клиента.
+ * Прокси HotelServiceRemote описан в META-INF/native-image/.../proxy-config.json.
+ */
+@RegisterForReflection(
+        targets = {
+                HotelDTO.class,
+                AddressDTO.class,
+                HotelFacetsDTO.class,
+                HotelSuggestionDTO.class,
+                HotelCategory.class,
+                NearbyHotelDTO.class,
+                PageRequest.class,
+                PageResponse.class,
+                RoomTypeDTO.class,
+                RoomAvailabilityDTO.class,
+                AvailableHotelDTO.class,
+                ReservationDTO.class,
+                ReservationStatus.class,
+                InvalidRequestException.class,
+                java.util.ArrayList.class,
+                java.util.LinkedHashMap.class
+        },
+        classNames = {
+                "org.wildfly.naming.client.WildFlyInitialContextFactory",
+                "org.jboss.ejb.protocol.remote.RemoteTransportProvider",
+                "org.wildfly.httpclient.ejb.HttpClientProvider",
+                "org.xnio.nio.NioXnioProvider",
+                "ru.example.hotel.rest.client.TracingEjbClientInterceptor",
+                "ru.example.hotel.rest.client.ClientTokenEjbClientInterceptor"
+        },
+        serialization = true)
+final class NativeImageReflection {
+
+    private NativeImageReflection() {
+    }
+}
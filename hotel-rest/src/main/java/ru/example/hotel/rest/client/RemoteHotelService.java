@@ -0,0 +1,282 @@
+package ru.example.hotel.rest.client;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ru.example.hotel.api.dto.AvailableHotelDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelChangesDTO;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelFacetsDTO;
+import ru.example.hotel.api.dto.HotelSuggestionDTO;
+import ru.example.hotel.api.dto.NearbyHotelDTO;
+import ru.example.hotel.api.dto.PageRequest;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.api.dto.ReservationDTO;
+import ru.example.hotel.api.dto.ReservationStatus;
+import ru.example.hotel.api.dto.RoomTypeDTO;
+import ru.example.hotel.api.service.HotelService;
+import ru.example.hotel.api.service.HotelServiceRemote;
+import ru.example.hotel.rest.hotkeys.HotKeyTracker;
+import ru.example.hotel.rest.limit.CircuitBreaker;
+import ru.example.hotel.rest.limit.RemoteCallLimiter;
+import ru.example.hotel.rest.snapshot.CatalogMirror;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * HotelService для REST-ресурсов поверх Remote EJB
+ * Одиночные findById объединяются HotelBatchLoader в пакетные remote-вызовы;
+ * все вызовы проходят через CircuitBreaker и RemoteCallLimiter (чтения и записи - в отдельных бюджетах).
+ * findById без примечаний и первые страницы findAll при отказе WildFly отдаются из LastKnownGoodCache.
+ * Обращения к отелям по ID учитываются в HotKeyTracker для прогрева после перезапуска.
+ * Пока CatalogMirror догнал журнал изменений, findById без примечаний отвечает из него без remote-вызова,
+ * кроме отелей, которых в нём нет, и клиентов, недавно писавших через этот экземпляр.
+ */
+@ApplicationScoped
+public class RemoteHotelService implements HotelService {
+
+    @Inject
+    HotelServiceRemote hotelService;
+
+    @Inject
+    HotelBatchLoader batchLoader;
+
+    @Inject
+    RemoteCallLimiter limiter;
+
+    @Inject
+    CircuitBreaker breaker;
+
+    @Inject
+    LastKnownGoodCache lastKnownGood;
+
+    @Inject
+    HotKeyTracker hotKeys;
+
+    @Inject
+    CatalogMirror catalog;
+
+    @ConfigProperty(name = "hotel.batch.enabled", defaultValue = "true")
+    boolean batchEnabled;
+
+    @Override
+    public PageResponse<HotelDTO> findAll(PageRequest pageRequest) {
+        if (pageRequest.getPage() != 0) {
+            return read(() -> hotelService.findAll(pageRequest));
+        }
+        // Ключ - копия: вызывающий может изменить свой PageRequest
+        PageRequest key = PageRequest.builder()
+                .page(0)
+                .size(pageRequest.getSize())
+                .sortField(pageRequest.getSortField())
+                .sortAscending(pageRequest.isSortAscending())
+                .includeAddress(pageRequest.isIncludeAddress())
+                .includeNotes(pageRequest.isIncludeNotes())
+                .build();
+        // Синхронный вызов ограничен только таймаутом прокси (hotel.remote.timeout-ms), а не wait
+        return lastKnownGood.get(key, wait -> read(() -> hotelService.findAll(key)));
+    }
+
+    @Override
+    public List<HotelDTO> findPageAfter(PageRequest pageRequest, HotelDTO after) {
+        // Без последней сохранённой копии: проход списка по ключу не должен смешивать старые и новые страницы
+        return read(() -> hotelService.findPageAfter(pageRequest, after));
+    }
+
+    @Override
+    public Optional<HotelDTO> findById(Long id) {
+        hotKeys.record(id);
+        if (catalog.isServing(ClientTokens.current())) {
+            Optional<HotelDTO> mirrored = catalog.find(id);
+            if (mirrored.isPresent()) {
+                return mirrored;
+            }
+            // Отель мог быть создан через другой экземпляр и ещё не дойти до копии: ответ 404 - только от WildFly
+        }
+        // Место в бюджете занято и на время ожидания пакета: задержка пакета - часть задержки чтения.
+        // Ресурс может убрать адрес у полученного отеля (fields без address), поэтому отдаётся копия сохранённого
+        Optional<HotelDTO> hotel = lastKnownGood.get(id, wait -> read(() -> load(id, wait)));
+        return hotel.map(found -> HotelDTO.builder()
+                .id(found.getId())
+                .name(found.getName())
+                .address(found.getAddress())
+                .category(found.getCategory())
+                .notes(found.getNotes())
+                .build());
+    }
+
+    /**
+     * Прогрев пути findById для отелей из HotKeyWarmup: те же remote-вызовы (HotelBatchLoader или findById),
+     * бюджет чтений и LastKnownGoodCache, что у обычного чтения, но без учёта в HotKeyTracker и без CatalogMirror
+     */
+    public void warmUp(List<Long> ids) {
+        read(() -> {
+            Map<Long, Optional<HotelDTO>> loaded = new LinkedHashMap<>();
+            if (batchEnabled) {
+                // Запросы отправляются сразу все, как при одновременных чтениях: загрузчик объединит их в пакеты
+                Map<Long, CompletableFuture<Optional<HotelDTO>>> loads = new LinkedHashMap<>();
+                ids.forEach(id -> loads.put(id, batchLoader.load(id)));
+                loads.forEach((id, load) -> loaded.put(id, join(load)));
+            } else {
+                ids.forEach(id -> loaded.put(id, hotelService.findById(id)));
+            }
+            loaded.forEach(lastKnownGood::put);
+            return null;
+        });
+    }
+
+    /**
+     * Загрузить отель пакетом HotelBatchLoader (или отдельным вызовом, если пакеты отключены)
+     * @param wait сколько ждать пакета, мс; при превышении - CompletionException с TimeoutException
+     */
+    private Optional<HotelDTO> load(Long id, long wait) {
+        if (!batchEnabled) {
+            return hotelService.findById(id);
+        }
+        CompletableFuture<Optional<HotelDTO>> load = batchLoader.load(id);
+        if (wait != LastKnownGoodCache.NO_WAIT_LIMIT) {
+            load.orTimeout(wait, TimeUnit.MILLISECONDS);
+        }
+        return join(load);
+    }
+
+    private static Optional<HotelDTO> join(CompletableFuture<Optional<HotelDTO>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            // Пробросить исходное исключение remote-вызова
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<HotelDTO> findById(Long id, boolean includeNotes) {
+        // Пакет findByIds возвращает отели без примечаний, поэтому запрос с notes идёт отдельным вызовом
+        if (!includeNotes) {
+            return findById(id);
+        }
+        hotKeys.record(id);
+        return read(() -> hotelService.findById(id, true));
+    }
+
+    @Override
+    public List<HotelDTO> findByIds(List<Long> ids) {
+        return read(() -> hotelService.findByIds(ids));
+    }
+
+    @Override
+    public PageResponse<NearbyHotelDTO> findNearby(double latitude, double longitude, double radiusKm,
+                                                   PageRequest pageRequest) {
+        return read(() -> hotelService.findNearby(latitude, longitude, radiusKm, pageRequest));
+    }
+
+    @Override
+    public HotelFacetsDTO facets(String city, HotelCategory category, int cityLimit) {
+        return read(() -> hotelService.facets(city, category, cityLimit));
+    }
+
+    @Override
+    public List<HotelSuggestionDTO> suggest(String query, int limit) {
+        return read(() -> hotelService.suggest(query, limit));
+    }
+
+    @Override
+    public Optional<RoomTypeDTO> addRoomType(Long hotelId, RoomTypeDTO roomType) {
+        return write(() -> hotelService.addRoomType(hotelId, roomType));
+    }
+
+    @Override
+    public List<RoomTypeDTO> findRoomTypes(Long hotelId) {
+        return read(() -> hotelService.findRoomTypes(hotelId));
+    }
+
+    @Override
+    public PageResponse<AvailableHotelDTO> findAvailable(String city, LocalDate checkIn, LocalDate checkOut,
+                                                         int guests, int rooms, PageRequest pageRequest) {
+        return read(() -> hotelService.findAvailable(city, checkIn, checkOut, guests, rooms, pageRequest));
+    }
+
+    @Override
+    public ReservationStatus reserve(ReservationDTO reservation) {
+        return write(() -> hotelService.reserve(reservation));
+    }
+
+    @Override
+    public HotelDTO create(HotelDTO hotelDTO) {
+        HotelDTO created = write(() -> hotelService.create(hotelDTO));
+        catalog.put(created);
+        evictPages();
+        return created;
+    }
+
+    @Override
+    public Optional<HotelDTO> update(Long id, HotelDTO hotelDTO) {
+        try {
+            Optional<HotelDTO> updated = write(() -> hotelService.update(id, hotelDTO));
+            updated.ifPresent(catalog::put);
+            return updated;
+        } finally {
+            // И при отказе: изменение могло примениться, а ответ - потеряться
+            lastKnownGood.evict(id);
+            evictPages();
+        }
+    }
+
+    @Override
+    public boolean delete(Long id) {
+        try {
+            boolean deleted = write(() -> hotelService.delete(id));
+            if (deleted) {
+                catalog.remove(id);
+            }
+            return deleted;
+        } finally {
+            lastKnownGood.evict(id);
+            evictPages();
+        }
+    }
+
+    private void evictPages() {
+        lastKnownGood.evictIf(key -> key instanceof PageRequest);
+    }
+
+    @Override
+    public long count() {
+        return read(() -> hotelService.count());
+    }
+
+    @Override
+    public HotelChangesDTO changesSince(String epoch, long sequence) {
+        return read(() -> hotelService.changesSince(epoch, sequence));
+    }
+
+    @Override
+    public List<HotelDTO> findCatalogPage(long afterId, int limit) {
+        return read(() -> hotelService.findCatalogPage(afterId, limit));
+    }
+
+    private <T> T read(Supplier<T> call) {
+        return breaker.call(() -> limiter.read(call));
+    }
+
+    private <T> T write(Supplier<T> call) {
+        try {
+            return breaker.call(() -> limiter.write(call));
+        } finally {
+            // Следующие чтения клиента идут мимо CatalogMirror, пока запись не дойдёт до неё из журнала
+            catalog.recordWrite(ClientTokens.current());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.example.hotel.rest.client;
+
+import jakarta.enterprise.context.RequestScoped;
+
+/**
+ * Отметка, что текущий запрос получил сохранённую копию вместо ответа WildFly
+ * По ней StaleResponseFilter добавляет заголовки Warning и Age
+ */
+@RequestScoped
+public class StaleResponse {
+
+    private long ageSeconds = -1;
+
+    /**
+     * @param ageSeconds возраст отданной копии; для нескольких копий учитывается самая старая
+     */
+    public void markStale(long ageSeconds) {
+        this.ageSeconds = Math.max(this.ageSeconds, ageSeconds);
+    }
+
+    public boolean isStale() {
+        return ageSeconds >= 0;
+    }
+
+    public long getAgeSeconds() {
+        return ageSeconds;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.example.hotel.rest.client;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Заголовки устаревшего ответа (RFC 7234): Warning 110 и возраст копии в Age
+ */
+@Provider
+public class StaleResponseFilter implements ContainerResponseFilter {
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Inject
+    StaleResponse staleResponse;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        if (staleResponse.isStale()) {
+            responseContext.getHeaders().putSingle("Warning", STALE_WARNING);
+            responseContext.getHeaders().putSingle("Age", staleResponse.getAgeSeconds());
+        }
+    }
+}
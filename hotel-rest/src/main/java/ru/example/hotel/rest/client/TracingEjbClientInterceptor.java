@@ -0,0 +1,95 @@
+package ru.example.hotel.rest.client;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapSetter;
+import jakarta.enterprise.inject.spi.CDI;
+import org.jboss.ejb.client.AttachmentKey;
+import org.jboss.ejb.client.EJBClientInterceptor;
+import org.jboss.ejb.client.EJBClientInvocationContext;
+
+import java.util.Map;
+
+/**
+ * Трассировка Remote EJB вызовов (OpenTelemetry)
+ *
+ * На каждый вызов HotelServiceRemote открывается CLIENT-span, дочерний к текущему (span HTTP-запроса
+ * Quarkus), а его контекст записывается в context data вызова (traceparent/tracestate W3C).
+ * Context data передаётся в WildFly вместе с вызовом, и TracingInterceptor модуля hotel-ejb
+ * продолжает по нему ту же трассу. Перехватчик подключается в wildfly-config.xml (global-interceptors).
+ */
+public class TracingEjbClientInterceptor implements EJBClientInterceptor {
+
+    private static final AttachmentKey<Span> SPAN = new AttachmentKey<>();
+
+    private static final TextMapSetter<Map<String, Object>> SETTER = Map::put;
+
+    private static final String INSTRUMENTATION_NAME = "ru.example.hotel.rest.ejb-client";
+
+    private volatile OpenTelemetry openTelemetry;
+
+    @Override
+    public void handleInvocation(EJBClientInvocationContext context) throws Exception {
+        OpenTelemetry telemetry = openTelemetry();
+        Span span = telemetry.getTracer(INSTRUMENTATION_NAME)
+                .spanBuilder(context.getViewClass().getSimpleName() + "/" + context.getInvokedMethod().getName())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("rpc.system", "jboss_remoting")
+                .setAttribute("rpc.service", context.getViewClass().getName())
+                .setAttribute("rpc.method", context.getInvokedMethod().getName())
+                .startSpan();
+        telemetry.getPropagators().getTextMapPropagator()
+                .inject(Context.current().with(span), context.getContextData(), SETTER);
+        context.putAttachment(SPAN, span);
+        try {
+            context.sendRequest();
+        } catch (Exception | Error e) {
+            end(span, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Object handleInvocationResult(EJBClientInvocationContext context) throws Exception {
+        Span span = context.getAttachment(SPAN);
+        try {
+            Object result = context.getResult();
+            end(span, null);
+            return result;
+        } catch (Exception | Error e) {
+            end(span, e);
+            throw e;
+        }
+    }
+
+    private static void end(Span span, Throwable error) {
+        if (span == null) {
+            return;
+        }
+        if (error != null) {
+            span.recordException(error);
+            span.setStatus(StatusCode.ERROR);
+        }
+        span.end();
+    }
+
+    /**
+     * Экземпляр создаёт EJB-клиент, а не CDI: OpenTelemetry Quarkus берётся из контейнера при первом вызове
+     */
+    private OpenTelemetry openTelemetry() {
+        OpenTelemetry telemetry = openTelemetry;
+        if (telemetry == null) {
+            try {
+                telemetry = CDI.current().select(OpenTelemetry.class).get();
+                openTelemetry = telemetry;
+            } catch (IllegalStateException e) {
+                // Контейнер ещё не запущен или уже остановлен: вызов не трассируется
+                telemetry = OpenTelemetry.noop();
+            }
+        }
+        return telemetry;
+    }
+}
@@ -0,0 +1,81 @@
+package ru.example.hotel.rest.format;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.List;
+
+/**
+ * Выбор двоичного представления ответа по заголовку Accept: CBOR, Smile или Protobuf
+ *
+ * HotelResource общий с co-located модулем и объявляет только JSON, поэтому формат выбирается здесь:
+ * до сопоставления запроса запоминается лучший из поддерживаемых типов Accept, а ресурсу передаётся
+ * Accept: application/json. Перед записью ответа тип сущности меняется на запрошенный, и её сразу
+ * пишет двоичный MessageBodyWriter - JSON не формируется. JSON остаётся форматом по умолчанию,
+ * в том числе для шаблонов типа в Accept; Protobuf поддерживает только отель и страницу отелей
+ * (по объявленному типу ответа), остальные ответы (ошибки, фасеты и т.д.) в этом случае отдаются в JSON.
+ */
+@Provider
+@PreMatching
+public class BinaryFormatNegotiation implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final MediaType CBOR = new MediaType("application", "cbor");
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType PROTOBUF = MediaType.valueOf(HotelProtobufWriter.MEDIA_TYPE);
+
+    /**
+     * Поддерживаемые типы; JSON первым - он выбирается для шаблонов типа
+     */
+    private static final List<MediaType> SUPPORTED = List.of(MediaType.APPLICATION_JSON_TYPE, CBOR, SMILE, PROTOBUF);
+
+    private static final String REQUESTED_FORMAT = BinaryFormatNegotiation.class.getName() + ".format";
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        MediaType format = negotiate(request.getAcceptableMediaTypes());
+        if (format != null && format != MediaType.APPLICATION_JSON_TYPE) {
+            request.setProperty(REQUESTED_FORMAT, format);
+            request.getHeaders().putSingle(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        MediaType format = (MediaType) request.getProperty(REQUESTED_FORMAT);
+        if (format == null || !response.hasEntity()) {
+            return;
+        }
+        if (format == PROTOBUF && !HotelProtobufWriter.supports(response.getEntityType())) {
+            return;
+        }
+        // setEntity без GenericEntity заменил бы объявленный тип классом сущности
+        response.setEntity(new GenericEntity<>(response.getEntity(), response.getEntityType()),
+                response.getEntityAnnotations(), format);
+    }
+
+    /**
+     * Первый поддерживаемый тип в порядке предпочтения клиента (getAcceptableMediaTypes уже упорядочен по q)
+     */
+    private static MediaType negotiate(List<MediaType> acceptable) {
+        for (MediaType accepted : acceptable) {
+            if ("0".equals(accepted.getParameters().get("q"))) {
+                continue;
+            }
+            for (MediaType supported : SUPPORTED) {
+                if (accepted.isCompatible(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return null;
+    }
+}
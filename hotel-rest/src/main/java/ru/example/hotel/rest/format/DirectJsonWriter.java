@@ -0,0 +1,119 @@
+package ru.example.hotel.rest.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.spi.ResteasyReactiveResourceInfo;
+import org.jboss.resteasy.reactive.server.spi.ServerMessageBodyWriter;
+import org.jboss.resteasy.reactive.server.spi.ServerRequestContext;
+import ru.example.hotel.api.codec.HotelJson;
+import ru.example.hotel.api.codec.JsonOutput;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.rest.exception.ErrorResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JSON для отеля, страницы отелей и ошибки без Jackson
+ *
+ * Ответ собирается HotelJson в один массив с заранее закодированными именами полей и отдаётся
+ * HTTP-ответу Vert.x целиком, без OutputStream и рефлексивных сериализаторов. Остальные типы,
+ * в том числе страницы других DTO, пишет Jackson с настройками quarkus.jackson.
+ * hotel.json.direct-writer=false возвращает запись всех ответов в Jackson.
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class DirectJsonWriter implements ServerMessageBodyWriter<Object> {
+
+    private static final byte[] STATUS = JsonOutput.name("status");
+    private static final byte[] MESSAGE = JsonOutput.name("message");
+    private static final byte[] ERRORS = JsonOutput.name("errors");
+    private static final byte[] TIMESTAMP = JsonOutput.name("timestamp");
+
+    @Inject
+    ObjectMapper mapper;
+
+    @ConfigProperty(name = "hotel.json.direct-writer", defaultValue = "true")
+    boolean enabled;
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, ResteasyReactiveResourceInfo target, MediaType mediaType) {
+        return isWriteable(type);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return isWriteable(type);
+    }
+
+    private boolean isWriteable(Class<?> type) {
+        return enabled && (HotelDTO.class.isAssignableFrom(type)
+                || PageResponse.class.isAssignableFrom(type)
+                || ErrorResponse.class.isAssignableFrom(type));
+    }
+
+    @Override
+    public void writeResponse(Object entity, Type genericType, ServerRequestContext context) throws IOException {
+        context.serverResponse().end(encode(entity, genericType));
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        entityStream.write(encode(entity, genericType));
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] encode(Object entity, Type genericType) throws IOException {
+        if (entity instanceof HotelDTO hotel) {
+            return HotelJson.encodeHotel(hotel);
+        }
+        if (entity instanceof ErrorResponse error) {
+            return encodeError(error);
+        }
+        // Страница отелей - по объявленному типу: пустая страница другого DTO идёт в Jackson, как и непустая
+        if (entity instanceof PageResponse<?> && HotelProtobufWriter.supports(genericType)) {
+            return HotelJson.encodePage((PageResponse<HotelDTO>) entity);
+        }
+        return mapper.writeValueAsBytes(entity);
+    }
+
+    private static byte[] encodeError(ErrorResponse error) {
+        JsonOutput out = new JsonOutput(256);
+        out.beginObject();
+        out.field(STATUS).value(error.getStatus());
+        if (error.getMessage() != null) {
+            out.field(MESSAGE).value(error.getMessage());
+        }
+        if (error.getErrors() != null) {
+            out.field(ERRORS).beginArray();
+            for (int i = 0; i < error.getErrors().size(); i++) {
+                if (i > 0) {
+                    out.comma();
+                }
+                String message = error.getErrors().get(i);
+                if (message != null) {
+                    out.value(message);
+                } else {
+                    out.nullValue();
+                }
+            }
+            out.endArray();
+        }
+        if (error.getTimestamp() != null) {
+            // Как JavaTimeModule при quarkus.jackson.write-dates-as-timestamps=false
+            out.field(TIMESTAMP).value(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(error.getTimestamp()));
+        }
+        out.endObject();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.example.hotel.rest.format;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.rest.grpc.HotelGrpcMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Запись отеля и страницы отелей в Protobuf (сообщения Hotel и HotelPage из hotel.proto)
+ * Сообщения те же, что у gRPC-сервиса: классы генерируются из одной схемы и заполняются HotelGrpcMapper
+ */
+@Provider
+@Produces(HotelProtobufWriter.MEDIA_TYPE)
+public class HotelProtobufWriter implements MessageBodyWriter<Object> {
+
+    public static final String MEDIA_TYPE = "application/x-protobuf";
+
+    /**
+     * Есть ли для объявленного типа ответа сообщение в hotel.proto: HotelDTO или PageResponse<HotelDTO>
+     *
+     * Решается по типу, а не по содержимому: пустая страница NearbyHotelDTO не должна становиться HotelPage.
+     * Ресурс объявляет тип страницы через GenericEntity; страница без параметра типа отдаётся в JSON.
+     */
+    static boolean supports(Type genericType) {
+        if (genericType instanceof Class<?> type) {
+            return HotelDTO.class.isAssignableFrom(type);
+        }
+        return genericType instanceof ParameterizedType page
+                && page.getRawType() == PageResponse.class
+                && page.getActualTypeArguments()[0] == HotelDTO.class;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return supports(genericType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        byte[] message = entity instanceof HotelDTO hotel
+                ? HotelGrpcMapper.toMessage(hotel).toByteArray()
+                : HotelGrpcMapper.toPage((PageResponse<HotelDTO>) entity).toByteArray();
+        httpHeaders.putSingle("Content-Length", message.length);
+        entityStream.write(message);
+    }
+}
@@ -0,0 +1,50 @@
+package ru.example.hotel.rest.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Запись ответов в CBOR и Smile
+ *
+ * Мапперы - копии ObjectMapper Quarkus с двоичной фабрикой: модули, форматы дат и правила
+ * сериализации те же, что у JSON, отличается только кодирование.
+ */
+@Provider
+@Produces({"application/cbor", "application/x-jackson-smile"})
+public class JacksonBinaryWriter implements MessageBodyWriter<Object> {
+
+    private final ObjectMapper cbor;
+    private final ObjectMapper smile;
+
+    @Inject
+    public JacksonBinaryWriter(ObjectMapper json) {
+        this.cbor = json.copyWith(new CBORFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+        this.smile = json.copyWith(new SmileFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mediaType.isCompatible(BinaryFormatNegotiation.CBOR)
+                || mediaType.isCompatible(BinaryFormatNegotiation.SMILE);
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        ObjectMapper mapper = mediaType.isCompatible(BinaryFormatNegotiation.CBOR) ? cbor : smile;
+        mapper.writeValue(entityStream, entity);
+    }
+}
@@ -0,0 +1,279 @@
+package ru.example.hotel.rest.grpc;
+
+import com.google.protobuf.Empty;
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.common.annotation.Blocking;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.HotelSort;
+import ru.example.hotel.api.dto.PageRequest;
+import ru.example.hotel.api.exception.InvalidRequestException;
+import ru.example.hotel.api.service.HotelService;
+import ru.example.hotel.rest.limit.ServiceOverloadedException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * gRPC-сервис каталога отелей (hotel_catalog.proto) поверх того же HotelService, что и REST-ресурс
+ *
+ * Вызовы Remote EJB блокирующие, поэтому методы выполняются в рабочих потоках (@Blocking).
+ * Дедлайн клиента проверяется перед каждым remote-вызовом: запрос, который дождался рабочего
+ * потока слишком поздно, не нагружает WildFly. Поток ListHotels ограничен ещё и собственным
+ * дедлайном hotel.grpc.list.deadline-ms и следует за клиентом: следующий отель отправляется,
+ * только когда транспорт готов его принять, а следующая страница запрашивается, когда
+ * предыдущая отправлена, поэтому медленный клиент не копит отели в памяти сервера.
+ * Страницы потока читаются по ключу последнего отправленного отеля (findPageAfter) напрямую
+ * из WildFly, без сохранённых копий первой страницы.
+ */
+@GrpcService
+public class HotelCatalogGrpcService extends HotelCatalogGrpc.HotelCatalogImplBase {
+
+    private static final Logger LOG = Logger.getLogger(HotelCatalogGrpcService.class.getName());
+
+    private static final int MAX_BATCH_IDS = 1000;
+    private static final int MAX_PAGE_SIZE = HotelService.MAX_CATALOG_PAGE;
+
+    /**
+     * Интервал повторной проверки готовности потока; onReady может прийти с задержкой,
+     * пока рабочий поток занят этим же вызовом
+     */
+    private static final long READY_POLL_MILLIS = 10;
+
+    @Inject
+    HotelService hotelService;
+
+    @ConfigProperty(name = "hotel.grpc.list.page-size", defaultValue = "200")
+    int listPageSize;
+
+    @ConfigProperty(name = "hotel.grpc.list.deadline-ms", defaultValue = "300000")
+    long listDeadlineMillis;
+
+    @Override
+    @Blocking
+    public void getHotel(GetHotelRequest request, StreamObserver<Hotel> responseObserver) {
+        unary(responseObserver, () -> {
+            HotelDTO hotel = hotelService.findById(request.getId(), request.getIncludeNotes())
+                    .orElseThrow(() -> notFound(request.getId()));
+            return HotelGrpcMapper.toMessage(hotel);
+        });
+    }
+
+    @Override
+    @Blocking
+    public void batchGetHotels(BatchGetHotelsRequest request, StreamObserver<BatchGetHotelsResponse> responseObserver) {
+        unary(responseObserver, () -> {
+            if (request.getIdsCount() > MAX_BATCH_IDS) {
+                throw new IllegalArgumentException("Too many ids: " + request.getIdsCount() + ", max " + MAX_BATCH_IDS);
+            }
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIdsList()));
+            Map<Long, HotelDTO> found = ids.isEmpty() ? Map.of() : hotelService.findByIds(ids).stream()
+                    .collect(Collectors.toMap(HotelDTO::getId, Function.identity()));
+
+            BatchGetHotelsResponse.Builder response = BatchGetHotelsResponse.newBuilder();
+            for (Long id : ids) {
+                HotelDTO hotel = found.get(id);
+                if (hotel != null) {
+                    response.addHotels(HotelGrpcMapper.toMessage(hotel));
+                }
+            }
+            return response.build();
+        });
+    }
+
+    @Override
+    @Blocking
+    public void listHotels(ListHotelsRequest request, StreamObserver<Hotel> responseObserver) {
+        ServerCallStreamObserver<Hotel> stream = (ServerCallStreamObserver<Hotel>) responseObserver;
+        Object ready = new Object();
+        Runnable signal = () -> {
+            synchronized (ready) {
+                ready.notifyAll();
+            }
+        };
+        stream.setOnReadyHandler(signal);
+        stream.setOnCancelHandler(signal);
+
+        Deadline deadline = Deadline.after(listDeadlineMillis, TimeUnit.MILLISECONDS);
+        Deadline clientDeadline = Context.current().getDeadline();
+        if (clientDeadline != null) {
+            deadline = deadline.minimum(clientDeadline);
+        }
+
+        try {
+            if (request.getPageSize() < 0 || request.getLimit() < 0) {
+                throw new IllegalArgumentException("page_size and limit must not be negative");
+            }
+            HotelSort sort = HotelSort.fromKey(request.getSortBy());
+            int pageSize = request.getPageSize() > 0 ? Math.min(request.getPageSize(), MAX_PAGE_SIZE) : listPageSize;
+            long limit = request.getLimit() > 0 ? request.getLimit() : Long.MAX_VALUE;
+            LOG.fine("gRPC ListHotels - sortBy=" + sort.getKey() + ", pageSize=" + pageSize + ", limit=" + limit);
+
+            // Страницы по ключу последнего отправленного отеля: без OFFSET и без пропусков и повторов
+            // при изменениях каталога. Для сортировки по городу адрес нужен ключу, даже если клиент его не просил
+            boolean includeAddress = !request.getExcludeAddress();
+            long sent = 0;
+            HotelDTO last = null;
+            while (sent < limit) {
+                checkDeadline(deadline);
+                int size = (int) Math.min(pageSize, limit - sent);
+                List<HotelDTO> hotels = hotelService.findPageAfter(PageRequest.builder()
+                        .size(size)
+                        .sortField(sort.getKey())
+                        .sortAscending(!request.getDescending())
+                        .includeAddress(includeAddress || sort == HotelSort.CITY)
+                        .includeNotes(request.getIncludeNotes())
+                        .build(), last);
+
+                for (HotelDTO hotel : hotels) {
+                    if (!awaitReady(stream, ready, deadline)) {
+                        LOG.fine("gRPC ListHotels cancelled by client after " + sent + " hotels");
+                        return;
+                    }
+                    Hotel message = HotelGrpcMapper.toMessage(hotel);
+                    stream.onNext(includeAddress ? message : message.toBuilder().clearAddress().build());
+                    sent++;
+                }
+                if (hotels.size() < size) {
+                    break;
+                }
+                last = hotels.get(hotels.size() - 1);
+            }
+            stream.onCompleted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stream.onError(Status.CANCELLED.withDescription("Server is shutting down").asRuntimeException());
+        } catch (RuntimeException e) {
+            if (!stream.isCancelled()) {
+                stream.onError(toStatus(e));
+            }
+        }
+    }
+
+    @Override
+    @Blocking
+    public void createHotel(CreateHotelRequest request, StreamObserver<Hotel> responseObserver) {
+        unary(responseObserver, () -> {
+            HotelDTO hotel = HotelGrpcMapper.toDTO(requireHotel(request.hasHotel(), request.getHotel()));
+            LOG.info("gRPC CreateHotel - name=" + hotel.getName());
+            return HotelGrpcMapper.toMessage(hotelService.create(hotel));
+        });
+    }
+
+    @Override
+    @Blocking
+    public void updateHotel(UpdateHotelRequest request, StreamObserver<Hotel> responseObserver) {
+        unary(responseObserver, () -> {
+            HotelDTO hotel = HotelGrpcMapper.toDTO(requireHotel(request.hasHotel(), request.getHotel()));
+            LOG.info("gRPC UpdateHotel - id=" + request.getId());
+            HotelDTO updated = hotelService.update(request.getId(), hotel)
+                    .orElseThrow(() -> notFound(request.getId()));
+            return HotelGrpcMapper.toMessage(updated);
+        });
+    }
+
+    @Override
+    @Blocking
+    public void deleteHotel(DeleteHotelRequest request, StreamObserver<Empty> responseObserver) {
+        unary(responseObserver, () -> {
+            LOG.info("gRPC DeleteHotel - id=" + request.getId());
+            if (!hotelService.delete(request.getId())) {
+                throw notFound(request.getId());
+            }
+            return Empty.getDefaultInstance();
+        });
+    }
+
+    /**
+     * Выполнить unary-вызов: проверить дедлайн клиента, получить ответ и завершить вызов
+     */
+    private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> handler) {
+        T response;
+        try {
+            checkDeadline(Context.current().getDeadline());
+            response = handler.get();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+            return;
+        }
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Дождаться, пока транспорт готов принять следующее сообщение
+     * @return false, если клиент отменил вызов
+     */
+    private static boolean awaitReady(ServerCallStreamObserver<?> stream, Object ready, Deadline deadline)
+            throws InterruptedException {
+        synchronized (ready) {
+            while (!stream.isReady()) {
+                if (stream.isCancelled()) {
+                    return false;
+                }
+                checkDeadline(deadline);
+                ready.wait(Math.max(1, Math.min(READY_POLL_MILLIS, deadline.timeRemaining(TimeUnit.MILLISECONDS))));
+            }
+        }
+        return !stream.isCancelled();
+    }
+
+    private static void checkDeadline(Deadline deadline) {
+        if (deadline != null && deadline.isExpired()) {
+            throw Status.DEADLINE_EXCEEDED.withDescription("Deadline exceeded").asRuntimeException();
+        }
+    }
+
+    private static Hotel requireHotel(boolean present, Hotel hotel) {
+        if (!present) {
+            throw new IllegalArgumentException("hotel is required");
+        }
+        return hotel;
+    }
+
+    private static StatusRuntimeException notFound(long id) {
+        return Status.NOT_FOUND.withDescription("Отель с ID " + id + " не найден").asRuntimeException();
+    }
+
+    /**
+     * Статус gRPC для исключения, по тем же правилам, что GlobalExceptionHandler для REST
+     */
+    private static StatusRuntimeException toStatus(RuntimeException exception) {
+        if (exception instanceof StatusRuntimeException) {
+            return (StatusRuntimeException) exception;
+        }
+        if (exception instanceof ServiceOverloadedException) {
+            return Status.UNAVAILABLE.withDescription(exception.getMessage()).asRuntimeException();
+        }
+        // Исключения Remote EJB могут прийти обёрнутыми в EJBException
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                String violations = ((ConstraintViolationException) cause).getConstraintViolations().stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .collect(Collectors.joining("; "));
+                return Status.INVALID_ARGUMENT.withDescription("Validation failed: " + violations).asRuntimeException();
+            }
+            if (cause instanceof InvalidRequestException || cause instanceof IllegalArgumentException) {
+                return Status.INVALID_ARGUMENT.withDescription(cause.getMessage()).asRuntimeException();
+            }
+        }
+        LOG.log(Level.WARNING, "Handling exception: " + exception.getClass().getName(), exception);
+        return Status.INTERNAL.withDescription("Internal server error: " + exception.getMessage()).asRuntimeException();
+    }
+}
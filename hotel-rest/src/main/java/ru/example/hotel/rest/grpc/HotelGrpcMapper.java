@@ -0,0 +1,120 @@
+package ru.example.hotel.rest.grpc;
+
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+
+import java.util.List;
+
+/**
+ * Преобразование HotelDTO в сообщения hotel.proto и обратно, общее для gRPC-сервиса
+ * и REST-представления application/x-protobuf
+ *
+ * Категория кодируется порядковым номером + 1, пустые строки и нули при чтении дают null.
+ */
+public final class HotelGrpcMapper {
+
+    private static final HotelCategory[] CATEGORIES = HotelCategory.values();
+
+    private HotelGrpcMapper() {
+    }
+
+    public static Hotel toMessage(HotelDTO dto) {
+        if (dto == null) {
+            return Hotel.getDefaultInstance();
+        }
+        Hotel.Builder hotel = Hotel.newBuilder();
+        if (dto.getId() != null) {
+            hotel.setId(dto.getId());
+        }
+        if (dto.getName() != null) {
+            hotel.setName(dto.getName());
+        }
+        if (dto.getCategory() != null) {
+            hotel.setCategoryValue(dto.getCategory().ordinal() + 1);
+        }
+        if (dto.getNotes() != null) {
+            hotel.setNotes(dto.getNotes());
+        }
+        if (dto.getAddress() != null) {
+            hotel.setAddress(toMessage(dto.getAddress()));
+        }
+        return hotel.build();
+    }
+
+    /**
+     * Страница отелей REST API (сообщение HotelPage)
+     */
+    public static HotelPage toPage(PageResponse<HotelDTO> page) {
+        HotelPage.Builder message = HotelPage.newBuilder()
+                .setPage(page.getPage())
+                .setSize(page.getSize())
+                .setTotalElements(page.getTotalElements())
+                .setTotalPages(page.getTotalPages())
+                .setHasNext(page.isHasNext())
+                .setHasPrevious(page.isHasPrevious());
+        List<HotelDTO> content = page.getContent() != null ? page.getContent() : List.of();
+        for (HotelDTO hotel : content) {
+            message.addContent(toMessage(hotel));
+        }
+        return message.build();
+    }
+
+    private static Address toMessage(AddressDTO dto) {
+        Address.Builder address = Address.newBuilder();
+        if (dto.getId() != null) {
+            address.setId(dto.getId());
+        }
+        if (dto.getPostalCode() != null) {
+            address.setPostalCode(dto.getPostalCode());
+        }
+        if (dto.getCity() != null) {
+            address.setCity(dto.getCity());
+        }
+        if (dto.getStreet() != null) {
+            address.setStreet(dto.getStreet());
+        }
+        if (dto.getBuilding() != null) {
+            address.setBuilding(dto.getBuilding());
+        }
+        if (dto.getLatitude() != null) {
+            address.setLatitude(dto.getLatitude());
+        }
+        if (dto.getLongitude() != null) {
+            address.setLongitude(dto.getLongitude());
+        }
+        return address.build();
+    }
+
+    /**
+     * Отель из запроса Create/Update; ID берётся из запроса, а не из сообщения
+     */
+    public static HotelDTO toDTO(Hotel hotel) {
+        int category = hotel.getCategoryValue();
+        if (category < 0 || category > CATEGORIES.length) {
+            throw new IllegalArgumentException("Unknown hotel category: " + category);
+        }
+        return HotelDTO.builder()
+                .name(emptyToNull(hotel.getName()))
+                .category(category > 0 ? CATEGORIES[category - 1] : null)
+                .notes(emptyToNull(hotel.getNotes()))
+                .address(hotel.hasAddress() ? toDTO(hotel.getAddress()) : null)
+                .build();
+    }
+
+    private static AddressDTO toDTO(Address address) {
+        return AddressDTO.builder()
+                .postalCode(emptyToNull(address.getPostalCode()))
+                .city(emptyToNull(address.getCity()))
+                .street(emptyToNull(address.getStreet()))
+                .building(emptyToNull(address.getBuilding()))
+                .latitude(address.hasLatitude() ? address.getLatitude() : null)
+                .longitude(address.hasLongitude() ? address.getLongitude() : null)
+                .build();
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.example.hotel.rest.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: приблизительные частоты ключей в памяти фиксированного размера
+ *
+ * depth строк по width счётчиков; ключ увеличивает по одному счётчику в каждой строке
+ * (у каждой строки своя хеш-функция), оценка частоты - минимум из них. Оценка не бывает меньше
+ * настоящей частоты и превышает её не более чем на 2N/width с вероятностью 1 - 2^-depth
+ * (N - сумма всех добавлений). Счётчики атомарные, блокировок нет.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth число строк (хеш-функций)
+     * @param width число счётчиков в строке, округляется вверх до степени двойки
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Invalid sketch size: depth=" + depth + ", width=" + width);
+        }
+        this.depth = depth;
+        int rounded = Integer.highestOneBit(width);
+        this.width = rounded < width ? rounded << 1 : rounded;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Добавить ключ
+     * @return оценка частоты ключа после добавления
+     */
+    public long add(long key, long count) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(key, row), count));
+        }
+        return estimate;
+    }
+
+    /**
+     * Оценка частоты ключа
+     */
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Уменьшить все счётчики вдвое, чтобы давние обращения весили меньше недавних
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+    }
+
+    private int index(long key, int row) {
+        // Финализатор MurmurHash3 (fmix64) с отдельной затравкой для каждой строки
+        long hash = key + (row + 1) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return row * width + (int) (hash & (width - 1));
+    }
+}
@@ -0,0 +1,10 @@
+package ru.example.hotel.rest.hotkeys;
+
+/**
+ * Часто запрашиваемый отель и оценка числа обращений к нему
+ *
+ * @param id идентификатор отеля
+ * @param count оценка числа обращений (с учётом затухания)
+ */
+public record HotKey(long id, long count) {
+}
@@ -0,0 +1,37 @@
+package ru.example.hotel.rest.hotkeys;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+/**
+ * Служебный API: самые запрашиваемые отели по оценке HotKeyTracker
+ */
+@Path("/api/v1/admin/hot-keys")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Admin", description = "Служебный API")
+public class HotKeyResource {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Inject
+    HotKeyTracker tracker;
+
+    @GET
+    @Operation(summary = "Самые запрашиваемые отели",
+            description = "ID отелей и оценка числа обращений к ним (count-min sketch с затуханием), по убыванию")
+    public List<HotKey> hotKeys(@QueryParam("limit") @DefaultValue("100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return tracker.top(limit);
+    }
+}
@@ -0,0 +1,190 @@
+package ru.example.hotel.rest.hotkeys;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Учёт самых запрашиваемых отелей (heavy hitters)
+ *
+ * Частоты всех ID оцениваются CountMinSketch, а top-k кандидатов с наибольшими оценками хранится
+ * отдельно: новый ID попадает в top-k, только когда его оценка превысила наименьшую там.
+ * Раз в decay-interval-s все частоты уменьшаются вдвое, поэтому top-k отражает недавнюю нагрузку.
+ * Раз в persist-interval-s и при остановке top-k записывается в файл, а при запуске читается из него:
+ * по этому списку HotKeyWarmup прогревает сервис после деплоя.
+ */
+@ApplicationScoped
+public class HotKeyTracker {
+
+    private static final Logger LOG = Logger.getLogger(HotKeyTracker.class.getName());
+
+    @ConfigProperty(name = "hotel.hotkeys.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.hotkeys.capacity", defaultValue = "1000")
+    int capacity;
+
+    @ConfigProperty(name = "hotel.hotkeys.sketch.depth", defaultValue = "4")
+    int sketchDepth;
+
+    @ConfigProperty(name = "hotel.hotkeys.sketch.width", defaultValue = "65536")
+    int sketchWidth;
+
+    @ConfigProperty(name = "hotel.hotkeys.decay-interval-s", defaultValue = "600")
+    long decayIntervalSeconds;
+
+    @ConfigProperty(name = "hotel.hotkeys.persist-interval-s", defaultValue = "60")
+    long persistIntervalSeconds;
+
+    @ConfigProperty(name = "hotel.hotkeys.file", defaultValue = "data/hot-keys.txt")
+    String file;
+
+    private final Map<Long, Long> top = new ConcurrentHashMap<>();
+
+    /**
+     * Наименьшая оценка в заполненном top-k: ID с оценкой не выше неё не претендует на место
+     */
+    private volatile long admissionThreshold;
+
+    private CountMinSketch sketch;
+    private ScheduledExecutorService timer;
+
+    @PostConstruct
+    void init() {
+        sketch = new CountMinSketch(sketchDepth, sketchWidth);
+        if (!enabled) {
+            return;
+        }
+        load();
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hotel-hotkeys");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleWithFixedDelay(this::persist, persistIntervalSeconds, persistIntervalSeconds, TimeUnit.SECONDS);
+        timer.scheduleWithFixedDelay(this::decay, decayIntervalSeconds, decayIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer != null) {
+            timer.shutdownNow();
+            persist();
+        }
+    }
+
+    /**
+     * Учесть обращение к отелю
+     */
+    public void record(long id) {
+        if (!enabled) {
+            return;
+        }
+        long estimate = sketch.add(id, 1);
+        if (top.computeIfPresent(id, (key, count) -> estimate) == null
+                && (top.size() < capacity || estimate > admissionThreshold)) {
+            admit(id, estimate);
+        }
+    }
+
+    private synchronized void admit(long id, long estimate) {
+        top.put(id, estimate);
+        if (top.size() > capacity) {
+            top.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .ifPresent(min -> top.remove(min.getKey()));
+        }
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        admissionThreshold = top.size() < capacity ? 0
+                : top.values().stream().mapToLong(Long::longValue).min().orElse(0);
+    }
+
+    /**
+     * Самые запрашиваемые отели, по убыванию оценки
+     * @param limit сколько вернуть
+     */
+    public List<HotKey> top(int limit) {
+        List<HotKey> hotKeys = new ArrayList<>(top.size());
+        top.forEach((id, count) -> hotKeys.add(new HotKey(id, count)));
+        hotKeys.sort(Comparator.comparingLong(HotKey::count).reversed().thenComparingLong(HotKey::id));
+        return hotKeys.size() > limit ? hotKeys.subList(0, limit) : hotKeys;
+    }
+
+    synchronized void decay() {
+        sketch.decay();
+        top.replaceAll((id, count) -> count >>> 1);
+        top.values().removeIf(count -> count == 0);
+        updateThreshold();
+    }
+
+    /**
+     * Записать top-k в файл (через временный файл, чтобы при сбое не остался обрезанный список)
+     */
+    void persist() {
+        List<HotKey> hotKeys = top(capacity);
+        if (hotKeys.isEmpty()) {
+            return;
+        }
+        Path target = Paths.get(file).toAbsolutePath();
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write("# hotel id, access count estimate");
+                writer.newLine();
+                for (HotKey hotKey : hotKeys) {
+                    writer.write(hotKey.id() + " " + hotKey.count());
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.fine("Persisted " + hotKeys.size() + " hot keys to " + target);
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Failed to persist hot keys to " + target, e);
+        }
+    }
+
+    private void load() {
+        Path source = Paths.get(file).toAbsolutePath();
+        try {
+            for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                long id = Long.parseLong(parts[0]);
+                long estimate = sketch.add(id, parts.length > 1 ? Long.parseLong(parts[1]) : 1);
+                admit(id, estimate);
+            }
+            LOG.info("Loaded " + top.size() + " hot keys from " + source);
+        } catch (NoSuchFileException e) {
+            LOG.info("No hot keys file at " + source + ", starting cold");
+        } catch (IOException | RuntimeException e) {
+            LOG.log(Level.WARNING, "Ignoring unreadable hot keys file " + source, e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ru.example.hotel.rest.hotkeys;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ru.example.hotel.rest.client.RemoteHotelService;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Прогрев после запуска: отели из сохранённого HotKeyTracker списка читаются тем же путём, что findById
+ *
+ * Чтения идут через RemoteHotelService.warmUp - HotelBatchLoader, прокси Remote EJB и бюджет чтений,
+ * поэтому прогреваются соединение EJB-клиента, JIT-компиляция обеих сторон, кэши сервера и страницы БД
+ * для самых запрашиваемых отелей, а полученные отели становятся копиями LastKnownGoodCache.
+ * Пока прогрев идёт, HotKeyWarmupCheck сообщает readiness DOWN, и балансировщик не направляет
+ * запросы на холодный экземпляр. Прогрев ограничен timeout-s; отказ WildFly его прерывает,
+ * но не оставляет экземпляр неготовым.
+ */
+@ApplicationScoped
+public class HotKeyWarmup {
+
+    private static final Logger LOG = Logger.getLogger(HotKeyWarmup.class.getName());
+
+    @Inject
+    HotKeyTracker tracker;
+
+    @Inject
+    RemoteHotelService hotelService;
+
+    @ConfigProperty(name = "hotel.hotkeys.warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.hotkeys.warmup.limit", defaultValue = "1000")
+    int limit;
+
+    @ConfigProperty(name = "hotel.hotkeys.warmup.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "hotel.hotkeys.warmup.timeout-s", defaultValue = "60")
+    long timeoutSeconds;
+
+    private volatile boolean done;
+    private volatile int loaded;
+    private volatile int total;
+
+    void onStart(@Observes StartupEvent event) {
+        List<Long> ids = enabled
+                ? tracker.top(limit).stream().map(HotKey::id).toList()
+                : List.of();
+        if (ids.isEmpty()) {
+            done = true;
+            return;
+        }
+        total = ids.size();
+        Thread thread = new Thread(() -> warmUp(ids), "hotel-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp(List<Long> ids) {
+        long started = System.nanoTime();
+        long deadline = started + timeoutSeconds * 1_000_000_000L;
+        try {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                if (System.nanoTime() > deadline) {
+                    LOG.warning("Warm-up timed out after " + timeoutSeconds + " s, " + loaded + " of " + total + " hotels loaded");
+                    return;
+                }
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                hotelService.warmUp(batch);
+                loaded = from + batch.size();
+            }
+            LOG.info("Warmed up " + total + " hot hotels in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Warm-up stopped after " + loaded + " of " + total + " hotels", e);
+        } finally {
+            done = true;
+        }
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public int getLoaded() {
+        return loaded;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.example.hotel.rest.hotkeys;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Readiness DOWN, пока HotKeyWarmup не закончил прогрев
+ */
+@Readiness
+@ApplicationScoped
+public class HotKeyWarmupCheck implements HealthCheck {
+
+    @Inject
+    HotKeyWarmup warmup;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("hot-keys-warmup")
+                .status(warmup.isDone())
+                .withData("loaded", warmup.getLoaded())
+                .withData("total", warmup.getTotal())
+                .build();
+    }
+}
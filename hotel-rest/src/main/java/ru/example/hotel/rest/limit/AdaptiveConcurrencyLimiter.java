@@ -0,0 +1,153 @@
+package ru.example.hotel.rest.limit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Адаптивный предел одновременных вызовов (алгоритм TCP Vegas)
+ *
+ * По минимальной задержке вызова (без очереди) и текущей оценивается, сколько вызовов ждут
+ * в очереди WildFly: queue = limit * (1 - rttNoLoad / rtt). Пока очередь короче alpha,
+ * предел растёт, длиннее beta - уменьшается (alpha и beta растут как log10 предела).
+ * Минимальная задержка периодически сбрасывается на текущую (раз в probeMultiplier * limit
+ * вызовов), чтобы предел подстроился, если WildFly стал медленнее без перегрузки.
+ * Ошибки вызова (таймауты, обрывы соединения) снижают предел на 10%. Предел не растёт,
+ * пока занята меньше половины его: иначе за время малой нагрузки он ушёл бы в максимум.
+ * Запрос сверх предела не ждёт в очереди, а сразу отклоняется.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int probeMultiplier;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile int currentLimit;
+
+    // Состояние алгоритма, меняется под this
+    private double limit;
+    private long rttNoLoadNanos;
+    private long untilProbe;
+
+    /**
+     * @param name имя бюджета (для метрик и сообщений)
+     * @param initialLimit начальный предел
+     * @param minLimit нижняя граница предела
+     * @param maxLimit верхняя граница предела
+     * @param smoothing доля нового значения при обновлении предела (0..1]
+     * @param probeMultiplier через сколько пределов вызовов сбрасывать минимальную задержку
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      double smoothing, int probeMultiplier) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits for " + name + ": initial=" + initialLimit
+                    + ", min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.probeMultiplier = probeMultiplier;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+        scheduleProbe();
+    }
+
+    /**
+     * Занять место под вызов
+     * @return false, если предел исчерпан (вызов нужно отклонить)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Освободить место после вызова
+     * @param startNanos System.nanoTime() перед вызовом
+     * @param dropped вызов завершился ошибкой WildFly или транспорта (а не ошибкой запроса)
+     */
+    public void release(long startNanos, boolean dropped) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        long rttNanos = System.nanoTime() - startNanos;
+        if (dropped) {
+            onDrop();
+        } else {
+            onSample(rttNanos, inFlightAtEnd);
+        }
+    }
+
+    private synchronized void onDrop() {
+        update(limit * BACKOFF_RATIO);
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtEnd) {
+        if (--untilProbe <= 0) {
+            rttNoLoadNanos = rttNanos;
+            scheduleProbe();
+            return;
+        }
+        if (rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) {
+            rttNoLoadNanos = rttNanos;
+            return;
+        }
+        double log = Math.max(1, Math.log10(limit));
+        double queue = Math.ceil(limit * (1 - (double) rttNoLoadNanos / rttNanos));
+        boolean appLimited = inFlightAtEnd * 2 < limit;
+        double newLimit;
+        if (queue <= log && !appLimited) {
+            newLimit = limit + 6 * log;
+        } else if (queue < 3 * log && !appLimited) {
+            newLimit = limit + log;
+        } else if (queue > 6 * log) {
+            newLimit = limit - log;
+        } else {
+            return;
+        }
+        update(limit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    /**
+     * Следующий сброс минимальной задержки - через probeMultiplier * limit вызовов (со случайным сдвигом,
+     * чтобы бюджеты чтения и записи не сбрасывались одновременно)
+     */
+    private void scheduleProbe() {
+        untilProbe = (long) (probeMultiplier * limit * (0.5 + ThreadLocalRandom.current().nextDouble() * 0.5));
+    }
+
+    private void update(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        currentLimit = (int) limit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
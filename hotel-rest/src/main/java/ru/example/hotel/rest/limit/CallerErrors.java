@@ -0,0 +1,37 @@
+package ru.example.hotel.rest.limit;
+
+import jakarta.validation.ConstraintViolationException;
+import ru.example.hotel.api.exception.InvalidRequestException;
+
+/**
+ * Отличает ошибки запроса от отказов WildFly
+ *
+ * Ошибка запроса (неверные данные, нарушение Bean Validation) означает, что WildFly ответил штатно:
+ * она не должна снижать предел RemoteCallLimiter и размыкать CircuitBreaker. Исключения Remote EJB
+ * приходят обёрнутыми в EJBException, поэтому проверяется вся цепочка причин.
+ */
+public final class CallerErrors {
+
+    /**
+     * Глубже исключения Remote EJB не вкладываются; ограничение защищает от циклических причин
+     */
+    private static final int MAX_DEPTH = 16;
+
+    private CallerErrors() {
+    }
+
+    public static boolean isCallerError(Throwable exception) {
+        Throwable cause = exception;
+        for (int depth = 0; cause != null && depth < MAX_DEPTH; depth++) {
+            if (cause instanceof InvalidRequestException || cause instanceof IllegalArgumentException
+                    || cause instanceof ConstraintViolationException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
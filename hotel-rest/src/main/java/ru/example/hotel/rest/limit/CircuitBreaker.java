@@ -0,0 +1,118 @@
+package ru.example.hotel.rest.limit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Автомат защиты вокруг прокси HotelServiceRemote
+ *
+ * После failureThreshold отказов WildFly подряд (таймауты, обрывы соединения, ошибки сервера)
+ * цепь размыкается: на open-ms вызовы сразу отклоняются CircuitOpenException, не дожидаясь
+ * таймаута EJB-клиента. Затем пропускается один пробный вызов: успех замыкает цепь, отказ
+ * снова размыкает. Ошибки запроса и отказы RemoteCallLimiter отказами WildFly не считаются.
+ * Метрика hotel.remote.circuit: 0 - замкнута, 1 - разомкнута, 2 - пробный вызов.
+ */
+@ApplicationScoped
+public class CircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(CircuitBreaker.class.getName());
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "hotel.breaker.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.breaker.failure-threshold", defaultValue = "5")
+    int failureThreshold;
+
+    @ConfigProperty(name = "hotel.breaker.open-ms", defaultValue = "5000")
+    long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("hotel.remote.circuit", state, current -> current.get().ordinal())
+                .description("Circuit breaker state of remote EJB calls: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+    }
+
+    /**
+     * Выполнить remote-вызов через автомат
+     * @throws CircuitOpenException цепь разомкнута или пробный вызов уже выполняется
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        boolean trial = acquire();
+        try {
+            T result = call.get();
+            onSuccess();
+            return result;
+        } catch (ServiceOverloadedException e) {
+            // WildFly не вызывался: пробу выполнит следующий вызов
+            if (trial) {
+                state.compareAndSet(State.HALF_OPEN, State.OPEN);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // Ошибка запроса, в том числе обёрнутая в EJBException, - WildFly ответил штатно
+            if (CallerErrors.isCallerError(e)) {
+                onSuccess();
+            } else {
+                onFailure(trial);
+            }
+            throw e;
+        } catch (Error e) {
+            onFailure(trial);
+            throw e;
+        }
+    }
+
+    /**
+     * @return true, если вызов пробный
+     */
+    private boolean acquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return false;
+        }
+        long remaining = openedAt + openMillis - System.currentTimeMillis();
+        if (current == State.OPEN && remaining <= 0 && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return true;
+        }
+        throw new CircuitOpenException((int) Math.max(1, (remaining + 999) / 1000));
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            LOG.info("Circuit to WildFly closed");
+        }
+    }
+
+    private void onFailure(boolean trial) {
+        if (trial || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                LOG.warning("Circuit to WildFly opened for " + openMillis + " ms after "
+                        + (trial ? "failed trial call" : consecutiveFailures.get() + " consecutive failures"));
+            }
+        }
+    }
+}
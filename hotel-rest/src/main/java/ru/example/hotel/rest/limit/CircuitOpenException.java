@@ -0,0 +1,13 @@
+package ru.example.hotel.rest.limit;
+
+/**
+ * Вызов отклонён: CircuitBreaker разомкнут после серии отказов WildFly
+ *
+ * Отвечается так же, как перегрузка: 503 с Retry-After до следующей пробы.
+ */
+public class CircuitOpenException extends ServiceOverloadedException {
+
+    public CircuitOpenException(int retryAfterSeconds) {
+        super(retryAfterSeconds, "Hotel service is unavailable (circuit open), retry later");
+    }
+}
@@ -0,0 +1,119 @@
+package ru.example.hotel.rest.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.function.Supplier;
+
+/**
+ * Ограничение одновременных вызовов Remote EJB с отдельными бюджетами на чтение и запись
+ *
+ * Медленная запись (блокировки в БД) не должна отнимать места у чтений, и наоборот.
+ * Сверх предела вызов отклоняется ServiceOverloadedException (503 с Retry-After) вместо того,
+ * чтобы ждать свободного соединения и истечь по таймауту вместе с остальными.
+ * Метрики: hotel.remote.limit, hotel.remote.in_flight, hotel.remote.rejected с тегом budget=read|write.
+ */
+@ApplicationScoped
+public class RemoteCallLimiter {
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "hotel.limiter.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.limiter.read.initial", defaultValue = "50")
+    int readInitial;
+
+    @ConfigProperty(name = "hotel.limiter.read.min", defaultValue = "5")
+    int readMin;
+
+    @ConfigProperty(name = "hotel.limiter.read.max", defaultValue = "400")
+    int readMax;
+
+    @ConfigProperty(name = "hotel.limiter.write.initial", defaultValue = "10")
+    int writeInitial;
+
+    @ConfigProperty(name = "hotel.limiter.write.min", defaultValue = "2")
+    int writeMin;
+
+    @ConfigProperty(name = "hotel.limiter.write.max", defaultValue = "50")
+    int writeMax;
+
+    @ConfigProperty(name = "hotel.limiter.smoothing", defaultValue = "1.0")
+    double smoothing;
+
+    @ConfigProperty(name = "hotel.limiter.probe-multiplier", defaultValue = "30")
+    int probeMultiplier;
+
+    @ConfigProperty(name = "hotel.limiter.retry-after-seconds", defaultValue = "1")
+    int retryAfterSeconds;
+
+    private AdaptiveConcurrencyLimiter reads;
+    private AdaptiveConcurrencyLimiter writes;
+
+    @PostConstruct
+    void init() {
+        reads = register(new AdaptiveConcurrencyLimiter("read", readInitial, readMin, readMax,
+                smoothing, probeMultiplier));
+        writes = register(new AdaptiveConcurrencyLimiter("write", writeInitial, writeMin, writeMax,
+                smoothing, probeMultiplier));
+    }
+
+    private AdaptiveConcurrencyLimiter register(AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("hotel.remote.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Adaptive limit of concurrent remote EJB calls")
+                .tag("budget", limiter.getName())
+                .register(registry);
+        Gauge.builder("hotel.remote.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Remote EJB calls in progress")
+                .tag("budget", limiter.getName())
+                .register(registry);
+        FunctionCounter.builder("hotel.remote.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Calls rejected with 503 because the limit was reached")
+                .tag("budget", limiter.getName())
+                .register(registry);
+        return limiter;
+    }
+
+    /**
+     * Выполнить чтение в бюджете чтений
+     */
+    public <T> T read(Supplier<T> call) {
+        return call(reads, call);
+    }
+
+    /**
+     * Выполнить изменение в бюджете записей
+     */
+    public <T> T write(Supplier<T> call) {
+        return call(writes, call);
+    }
+
+    private <T> T call(AdaptiveConcurrencyLimiter limiter, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(limiter.getName(), retryAfterSeconds);
+        }
+        long started = System.nanoTime();
+        boolean dropped = true;
+        try {
+            T result = call.get();
+            dropped = false;
+            return result;
+        } catch (RuntimeException e) {
+            // Ошибка запроса, в том числе обёрнутая в EJBException, - WildFly ответил штатно
+            dropped = !CallerErrors.isCallerError(e);
+            throw e;
+        } finally {
+            limiter.release(started, dropped);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.example.hotel.rest.limit;
+
+/**
+ * Вызов отклонён: предел одновременных remote-вызовов исчерпан
+ *
+ * Возникает часто и только под перегрузкой, поэтому создаётся без стека.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String budget, int retryAfterSeconds) {
+        super("Service is overloaded (" + budget + " limit reached), retry later", null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Для отказов по другой причине (см. CircuitOpenException) с тем же ответом 503 и Retry-After
+     */
+    protected ServiceOverloadedException(int retryAfterSeconds, String message) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
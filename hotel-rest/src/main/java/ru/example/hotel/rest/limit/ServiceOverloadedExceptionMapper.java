@@ -0,0 +1,24 @@
+package ru.example.hotel.rest.limit;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import ru.example.hotel.rest.exception.ErrorResponse;
+
+/**
+ * 503 с Retry-After для вызова, отклонённого RemoteCallLimiter
+ *
+ * Отказ ожидаем под перегрузкой и считается метрикой hotel.remote.rejected, поэтому не логируется.
+ */
+@Provider
+public class ServiceOverloadedExceptionMapper implements ExceptionMapper<ServiceOverloadedException> {
+
+    @Override
+    public Response toResponse(ServiceOverloadedException exception) {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, exception.getRetryAfterSeconds())
+                .entity(ErrorResponse.of(503, exception.getMessage()))
+                .build();
+    }
+}
@@ -0,0 +1,322 @@
+package ru.example.hotel.rest.snapshot;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ru.example.hotel.api.dto.HotelChangesDTO;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.service.HotelService;
+import ru.example.hotel.api.service.HotelServiceRemote;
+import ru.example.hotel.rest.limit.CircuitBreaker;
+import ru.example.hotel.rest.limit.RemoteCallLimiter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Копия каталога отелей в hotel-rest: снимок CatalogSnapshot в отображённом файле и изменения поверх него
+ *
+ * При запуске снимок открывается без чтения каталога из WildFly, после чего копия догоняет
+ * журнал изменений (HotelService.changesSince) с позиции снимка; если журнал её не покрывает
+ * (WildFly перезапущен, снимка нет или он слишком старый), каталог загружается целиком страницами
+ * по ID из основной БД (findCatalogPage) и записывается новый снимок. Пока копия догоняла журнал
+ * не раньше max-lag-ms назад, findById отвечает из неё без remote-вызова. Запись через другой экземпляр
+ * копия видит только из журнала, поэтому отсутствующий в ней отель и чтения клиентов, писавших через
+ * этот экземпляр последние refresh-ms + max-lag-ms, RemoteHotelService отправляет в WildFly.
+ * Изменения накапливаются в памяти и при rewrite-threshold изменений и при остановке сливаются в новый снимок.
+ */
+@ApplicationScoped
+public class CatalogMirror {
+
+    private static final Logger LOG = Logger.getLogger(CatalogMirror.class.getName());
+
+    // Сверх стольких клиентов записи старше окна удаляются
+    private static final int MAX_WRITERS = 10_000;
+
+    @Inject
+    HotelServiceRemote hotelService;
+
+    @Inject
+    CircuitBreaker breaker;
+
+    @Inject
+    RemoteCallLimiter limiter;
+
+    @ConfigProperty(name = "hotel.snapshot.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "hotel.snapshot.file", defaultValue = "data/catalog.snapshot")
+    String file;
+
+    @ConfigProperty(name = "hotel.snapshot.refresh-ms", defaultValue = "1000")
+    long refreshMillis;
+
+    @ConfigProperty(name = "hotel.snapshot.max-lag-ms", defaultValue = "5000")
+    long maxLagMillis;
+
+    @ConfigProperty(name = "hotel.snapshot.page-size", defaultValue = "500")
+    int pageSize;
+
+    @ConfigProperty(name = "hotel.snapshot.rewrite-threshold", defaultValue = "10000")
+    int rewriteThreshold;
+
+    /**
+     * Изменения после снимка; Optional.empty() - отель удалён
+     */
+    private final Map<Long, Optional<HotelDTO>> changes = new ConcurrentHashMap<>();
+
+    /**
+     * Клиенты (маркеры X-Client-Id), писавшие через этот экземпляр, и время последней записи (System.nanoTime)
+     */
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile long caughtUpAt;
+
+    // Позиция журнала, по которую копия догнала WildFly; меняется только в потоке timer
+    private String epoch;
+    private long sequence;
+
+    private ScheduledExecutorService timer;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hotel-catalog-mirror");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.execute(this::open);
+        timer.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        try {
+            if (timer.awaitTermination(5, TimeUnit.SECONDS) && snapshot != null && !changes.isEmpty()) {
+                rewrite();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.log(Level.WARNING, "Failed to write catalogue snapshot on shutdown", e);
+        }
+    }
+
+    /**
+     * Копия актуальна и может отвечать вместо WildFly
+     */
+    public boolean isServing() {
+        return snapshot != null && System.currentTimeMillis() - caughtUpAt <= maxLagMillis;
+    }
+
+    /**
+     * Копия актуальна и может отвечать клиентам: никто из них не писал за время, пока запись может не дойти до копии
+     * @param clients маркеры клиентов запроса (пустое множество - клиент не передал маркер)
+     */
+    public boolean isServing(Set<String> clients) {
+        return isServing() && clients.stream().noneMatch(this::wroteRecently);
+    }
+
+    /**
+     * Учесть запись клиентов через этот экземпляр (и неудачную: изменение могло примениться)
+     */
+    public void recordWrite(Set<String> clients) {
+        if (!enabled || clients.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        clients.forEach(client -> lastWriteNanos.put(client, now));
+        if (lastWriteNanos.size() > MAX_WRITERS) {
+            lastWriteNanos.values().removeIf(written -> now - written > writeWindowNanos());
+        }
+    }
+
+    private boolean wroteRecently(String client) {
+        Long written = lastWriteNanos.get(client);
+        return written != null && System.nanoTime() - written <= writeWindowNanos();
+    }
+
+    /**
+     * Запись видна в копии не позже следующего опроса журнала, пока копия отстаёт не больше max-lag-ms
+     */
+    private long writeWindowNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(refreshMillis + maxLagMillis);
+    }
+
+    /**
+     * Найти отель в копии (без примечаний); отель, созданный через другой экземпляр, может в ней ещё отсутствовать
+     */
+    public Optional<HotelDTO> find(Long id) {
+        Optional<HotelDTO> changed = changes.get(id);
+        if (changed != null) {
+            return changed.map(CatalogMirror::copy);
+        }
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.find(id) : Optional.empty();
+    }
+
+    /**
+     * Учесть отель, созданный или изменённый через этот экземпляр, не дожидаясь журнала
+     */
+    public void put(HotelDTO hotel) {
+        if (enabled) {
+            HotelDTO stored = copy(hotel);
+            stored.setNotes(null);
+            changes.put(hotel.getId(), Optional.of(stored));
+        }
+    }
+
+    /**
+     * Учесть отель, удалённый через этот экземпляр
+     */
+    public void remove(Long id) {
+        if (enabled) {
+            changes.put(id, Optional.empty());
+        }
+    }
+
+    private void open() {
+        Path path = Paths.get(file).toAbsolutePath();
+        long started = System.nanoTime();
+        try {
+            CatalogSnapshot opened = CatalogSnapshot.open(path);
+            epoch = opened.getEpoch();
+            sequence = opened.getSequence();
+            snapshot = opened;
+            LOG.info("Opened catalogue snapshot " + path + ": " + opened.size() + " hotels in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } catch (NoSuchFileException e) {
+            LOG.info("No catalogue snapshot at " + path + ", loading catalogue from WildFly");
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Ignoring unreadable catalogue snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Догнать журнал изменений (в потоке timer; видимость пакета - для тестов)
+     */
+    void refresh() {
+        try {
+            while (true) {
+                HotelChangesDTO changed = remote(() -> hotelService.changesSince(epoch, sequence));
+                if (!changed.isComplete()) {
+                    reload(changed);
+                    return;
+                }
+                changed.getChanged().forEach(hotel -> changes.put(hotel.getId(), Optional.of(hotel)));
+                changed.getDeleted().forEach(id -> changes.put(id, Optional.empty()));
+                sequence = changed.getSequence();
+                if (!changed.isHasMore()) {
+                    break;
+                }
+            }
+            caughtUpAt = System.currentTimeMillis();
+            if (changes.size() >= rewriteThreshold) {
+                rewrite();
+            }
+        } catch (RuntimeException e) {
+            // WildFly недоступен: копия перестанет отвечать через max-lag-ms
+            LOG.log(Level.FINE, "Catalogue catch-up failed", e);
+        }
+    }
+
+    /**
+     * Загрузить каталог целиком и записать новый снимок
+     * @param position позиция журнала до начала загрузки: изменения во время загрузки догоняются после неё
+     */
+    private void reload(HotelChangesDTO position) {
+        long started = System.nanoTime();
+        // Накопленные изменения могут быть старше загружаемого каталога; до конца загрузки копия не отвечает
+        caughtUpAt = 0;
+        changes.clear();
+        // Страницы по ID, а не по смещению: удаление во время загрузки не сдвигает следующие страницы,
+        // а само удаление и вставка позади курсора догоняются журналом с позиции position
+        int limit = Math.min(pageSize, HotelService.MAX_CATALOG_PAGE);
+        List<HotelDTO> hotels = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            List<HotelDTO> loaded = remote(() -> hotelService.findCatalogPage(from, limit));
+            hotels.addAll(loaded);
+            if (loaded.size() < limit) {
+                break;
+            }
+            afterId = loaded.get(loaded.size() - 1).getId();
+        }
+        write(position.getEpoch(), position.getSequence(), hotels);
+        LOG.info("Loaded catalogue of " + hotels.size() + " hotels from WildFly in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+    }
+
+    /**
+     * Слить снимок и накопленные изменения в новый снимок
+     */
+    private void rewrite() {
+        Map<Long, Optional<HotelDTO>> applied = new HashMap<>(changes);
+        List<HotelDTO> hotels = new ArrayList<>(snapshot.size() + applied.size());
+        snapshot.forEach(hotel -> {
+            if (!applied.containsKey(hotel.getId())) {
+                hotels.add(hotel);
+            }
+        });
+        applied.values().forEach(hotel -> hotel.ifPresent(hotels::add));
+        write(epoch, sequence, hotels);
+        // Изменения, пришедшие во время записи (в том числе новое значение того же отеля), остаются поверх нового снимка
+        applied.forEach((id, hotel) -> changes.remove(id, hotel));
+        LOG.fine("Rewrote catalogue snapshot: " + hotels.size() + " hotels, " + applied.size() + " changes merged");
+    }
+
+    private void write(String newEpoch, long newSequence, List<HotelDTO> hotels) {
+        Path path = Paths.get(file).toAbsolutePath();
+        try {
+            Files.createDirectories(path.getParent());
+            CatalogSnapshot.write(path, newEpoch, newSequence, hotels);
+            snapshot = CatalogSnapshot.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write catalogue snapshot " + path, e);
+        }
+        epoch = newEpoch;
+        sequence = newSequence;
+    }
+
+    private <T> T remote(Supplier<T> call) {
+        return breaker.call(() -> limiter.read(call));
+    }
+
+    private static HotelDTO copy(HotelDTO hotel) {
+        return HotelDTO.builder()
+                .id(hotel.getId())
+                .name(hotel.getName())
+                .address(hotel.getAddress())
+                .category(hotel.getCategory())
+                .notes(hotel.getNotes())
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package ru.example.hotel.rest.snapshot;
+
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Снимок каталога отелей в файле, читаемый через отображение в память
+ *
+ * Формат (big-endian): заголовок HEADER_SIZE байт, затем индекс - записи фиксированной длины
+ * RECORD_SIZE, упорядоченные по ID, затем куча строк UTF-8 (одинаковые строки, например города,
+ * хранятся один раз). Отель ищется двоичным поиском прямо в отображённом файле, а HotelDTO
+ * создаётся только для найденной записи; открытие снимка не читает файл целиком.
+ * Примечания (notes) в снимок не входят.
+ *
+ * <pre>
+ * заголовок: int magic, int version, long sequence, int count, int epochOffset, int epochLength, int reserved
+ * запись:    long id, long addressId, double latitude, double longitude, int flags, int category,
+ *            5 x (int offset, int length) - name, postalCode, city, street, building
+ * </pre>
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x48534E50; // "HSNP"
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 80;
+
+    private static final int FLAG_ADDRESS = 1;
+
+    private static final int ID = 0;
+    private static final int ADDRESS_ID = 8;
+    private static final int LATITUDE = 16;
+    private static final int LONGITUDE = 24;
+    private static final int FLAGS = 32;
+    private static final int CATEGORY = 36;
+    private static final int NAME = 40;
+    private static final int POSTAL_CODE = 48;
+    private static final int CITY = 56;
+    private static final int STREET = 64;
+    private static final int BUILDING = 72;
+
+    private static final HotelCategory[] CATEGORIES = HotelCategory.values();
+
+    private final MappedByteBuffer buffer;
+    private final String epoch;
+    private final long sequence;
+    private final int count;
+    private final int heapStart;
+
+    private CatalogSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a catalogue snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported catalogue snapshot version " + buffer.getInt(4));
+        }
+        this.sequence = buffer.getLong(8);
+        this.count = buffer.getInt(16);
+        this.heapStart = HEADER_SIZE + count * RECORD_SIZE;
+        if (count < 0 || heapStart > buffer.capacity()) {
+            throw new IOException("Truncated catalogue snapshot");
+        }
+        this.epoch = string(buffer.getInt(20), buffer.getInt(24));
+    }
+
+    /**
+     * Открыть снимок; файл отображается в память целиком, но читается по мере обращений
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // Отображение остаётся действительным после закрытия канала
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Записать снимок (через временный файл: читатели старого снимка его не видят)
+     * @param epoch epoch журнала изменений, к которому относится sequence
+     * @param sequence позиция журнала, по которую изменения учтены в снимке
+     * @param hotels отели каталога
+     */
+    public static void write(Path file, String epoch, long sequence, Collection<HotelDTO> hotels) throws IOException {
+        List<HotelDTO> sorted = new ArrayList<>(hotels);
+        sorted.sort(Comparator.comparing(HotelDTO::getId));
+
+        StringHeap heap = new StringHeap();
+        ByteBuffer index = ByteBuffer.allocate(HEADER_SIZE + sorted.size() * RECORD_SIZE);
+        int[] epochRef = heap.add(epoch);
+        index.putInt(MAGIC).putInt(VERSION).putLong(sequence).putInt(sorted.size())
+                .putInt(epochRef[0]).putInt(epochRef[1]).putInt(0);
+        for (HotelDTO hotel : sorted) {
+            AddressDTO address = hotel.getAddress();
+            index.putLong(hotel.getId());
+            index.putLong(address != null && address.getId() != null ? address.getId() : 0);
+            index.putDouble(address != null && address.getLatitude() != null ? address.getLatitude() : Double.NaN);
+            index.putDouble(address != null && address.getLongitude() != null ? address.getLongitude() : Double.NaN);
+            index.putInt(address != null ? FLAG_ADDRESS : 0);
+            index.putInt(hotel.getCategory() != null ? hotel.getCategory().ordinal() + 1 : 0);
+            putRef(index, heap.add(hotel.getName()));
+            putRef(index, heap.add(address != null ? address.getPostalCode() : null));
+            putRef(index, heap.add(address != null ? address.getCity() : null));
+            putRef(index, heap.add(address != null ? address.getStreet() : null));
+            putRef(index, heap.add(address != null ? address.getBuilding() : null));
+        }
+        index.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (index.hasRemaining()) {
+                channel.write(index);
+            }
+            ByteBuffer strings = heap.toBuffer();
+            while (strings.hasRemaining()) {
+                channel.write(strings);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void putRef(ByteBuffer index, int[] ref) {
+        index.putInt(ref[0]).putInt(ref[1]);
+    }
+
+    /**
+     * Найти отель по ID двоичным поиском по индексу
+     */
+    public Optional<HotelDTO> find(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = buffer.getLong(record(middle) + ID);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return Optional.of(hotel(middle));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Перебрать все отели снимка (создаёт HotelDTO для каждого)
+     */
+    public void forEach(Consumer<HotelDTO> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(hotel(i));
+        }
+    }
+
+    private HotelDTO hotel(int index) {
+        int record = record(index);
+        int category = buffer.getInt(record + CATEGORY);
+        AddressDTO address = null;
+        if ((buffer.getInt(record + FLAGS) & FLAG_ADDRESS) != 0) {
+            long addressId = buffer.getLong(record + ADDRESS_ID);
+            double latitude = buffer.getDouble(record + LATITUDE);
+            double longitude = buffer.getDouble(record + LONGITUDE);
+            address = AddressDTO.builder()
+                    .id(addressId != 0 ? addressId : null)
+                    .postalCode(stringAt(record + POSTAL_CODE))
+                    .city(stringAt(record + CITY))
+                    .street(stringAt(record + STREET))
+                    .building(stringAt(record + BUILDING))
+                    .latitude(Double.isNaN(latitude) ? null : latitude)
+                    .longitude(Double.isNaN(longitude) ? null : longitude)
+                    .build();
+        }
+        return HotelDTO.builder()
+                .id(buffer.getLong(record + ID))
+                .name(stringAt(record + NAME))
+                .address(address)
+                .category(category > 0 ? CATEGORIES[category - 1] : null)
+                .build();
+    }
+
+    private static int record(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private String stringAt(int position) {
+        return string(buffer.getInt(position), buffer.getInt(position + 4));
+    }
+
+    private String string(int offset, int length) {
+        if (offset < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(heapStart + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public String getEpoch() {
+        return epoch;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Куча строк снимка: каждая различная строка записывается один раз
+     */
+    private static final class StringHeap {
+
+        private static final int[] NULL_REF = {-1, 0};
+
+        private final Map<String, int[]> refs = new HashMap<>();
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        int[] add(String value) {
+            if (value == null) {
+                return NULL_REF;
+            }
+            return refs.computeIfAbsent(value, key -> {
+                byte[] encoded = key.getBytes(StandardCharsets.UTF_8);
+                if (size + encoded.length > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + encoded.length));
+                }
+                System.arraycopy(encoded, 0, bytes, size, encoded.length);
+                int[] ref = {size, encoded.length};
+                size += encoded.length;
+                return ref;
+            });
+        }
+
+        ByteBuffer toBuffer() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.example.hotel.rest;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+import ru.example.hotel.rest.grpc.BatchGetHotelsRequest;
+import ru.example.hotel.rest.grpc.GetHotelRequest;
+import ru.example.hotel.rest.grpc.Hotel;
+import ru.example.hotel.rest.grpc.HotelCatalogGrpc;
+import ru.example.hotel.rest.grpc.ListHotelsRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Интеграционные тесты для gRPC-сервиса HotelCatalog
+ */
+@QuarkusTest
+class HotelCatalogGrpcServiceTest {
+
+    @GrpcClient("hotel-catalog")
+    HotelCatalogGrpc.HotelCatalogBlockingStub client;
+
+    @Test
+    void testGetHotel() {
+        Hotel hotel = client.getHotel(GetHotelRequest.newBuilder().setId(1).build());
+
+        assertEquals("Grand Hotel Moscow", hotel.getName());
+        assertEquals("Москва", hotel.getAddress().getCity());
+    }
+
+    @Test
+    void testGetHotelNotFound() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> client.getHotel(GetHotelRequest.newBuilder().setId(999).build()));
+
+        assertEquals(Status.Code.NOT_FOUND, e.getStatus().getCode());
+    }
+
+    @Test
+    void testBatchGetHotelsKeepsRequestOrder() {
+        List<Hotel> hotels = client.batchGetHotels(BatchGetHotelsRequest.newBuilder()
+                .addIds(2).addIds(999).addIds(1)
+                .build()).getHotelsList();
+
+        assertEquals(2, hotels.size());
+        assertEquals(2, hotels.get(0).getId());
+        assertEquals(1, hotels.get(1).getId());
+    }
+
+    @Test
+    void testListHotelsStreamsAllPages() {
+        List<Long> ids = new ArrayList<>();
+        client.listHotels(ListHotelsRequest.newBuilder().setSortBy("id").setPageSize(1).build())
+                .forEachRemaining(hotel -> ids.add(hotel.getId()));
+
+        assertTrue(ids.size() >= 2);
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    @Test
+    void testListHotelsLimit() {
+        List<Hotel> hotels = new ArrayList<>();
+        client.listHotels(ListHotelsRequest.newBuilder().setPageSize(1).setLimit(1).build())
+                .forEachRemaining(hotels::add);
+
+        assertEquals(1, hotels.size());
+    }
+
+    @Test
+    void testListHotelsInvalidSort() {
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class,
+                () -> client.listHotels(ListHotelsRequest.newBuilder().setSortBy("rating").build())
+                        .forEachRemaining(hotel -> { }));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    }
+}
@@ -6,11 +6,18 @@ import org.junit.jupiter.api.Test;
 import ru.example.hotel.api.dto.AddressDTO;
 import ru.example.hotel.api.dto.HotelCategory;
 import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.rest.format.HotelProtobufWriter;
+import ru.example.hotel.rest.grpc.Hotel;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 /**
  * Интеграционные тесты для HotelResource
@@ -42,6 +49,27 @@ class HotelResourceTest {
                 .body("size", equalTo(1));
     }
 
+    @Test
+    void testGetAllHotelsBeyondIntOffset() {
+        given()
+                .queryParam("page", Integer.MAX_VALUE)
+                .queryParam("size", 100)
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(0));
+
+        given()
+                .queryParam("lat", 55.7558)
+                .queryParam("lon", 37.6173)
+                .queryParam("radius", 5)
+                .queryParam("page", Integer.MAX_VALUE)
+                .when().get("/api/v1/hotels/nearby")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(0));
+    }
+
     @Test
     void testGetAllHotelsWithSortDesc() {
         given()
@@ -52,6 +80,174 @@ class HotelResourceTest {
                 .body("content[0].name", notNullValue());
     }
 
+    @Test
+    void testGetAllHotelsSortedByCategory() {
+        given()
+                .queryParam("sortBy", "category,name")
+                .queryParam("sort", "desc")
+                .queryParam("fields", "name,category")
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                // По звёздности, а не по коду: по коду FIVE_STARS при desc шла бы после остальных категорий
+                .body("content[0].category", equalTo("FIVE_STARS"));
+    }
+
+    @Test
+    void testGetAllHotelsWithUnsupportedSort() {
+        given()
+                .queryParam("sortBy", "notes")
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetAllHotelsWithFields() {
+        given()
+                .queryParam("fields", "id,name")
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(200)
+                .body("content[0].name", notNullValue())
+                .body("content[0].address", nullValue())
+                .body("content[0].notes", nullValue());
+    }
+
+    @Test
+    void testGetAllHotelsWithUnknownField() {
+        given()
+                .queryParam("fields", "name,password")
+                .when().get("/api/v1/hotels")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetNearbyHotels() {
+        given()
+                .queryParam("lat", 55.7558)
+                .queryParam("lon", 37.6173)
+                .queryParam("radius", 5)
+                .when().get("/api/v1/hotels/nearby")
+                .then()
+                .statusCode(200)
+                .body("content", hasSize(1))
+                .body("content[0].hotel.name", equalTo("Grand Hotel Moscow"))
+                .body("content[0].distanceKm", lessThan(5.0f));
+    }
+
+    @Test
+    void testGetNearbyHotelsWithoutCoordinates() {
+        given()
+                .when().get("/api/v1/hotels/nearby")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetFacets() {
+        given()
+                .when().get("/api/v1/hotels/facets")
+                .then()
+                .statusCode(200)
+                .body("total", greaterThan(0))
+                .body("cities.'Москва'", greaterThan(0));
+
+        given()
+                .queryParam("city", "Санкт-Петербург")
+                .when().get("/api/v1/hotels/facets")
+                .then()
+                .statusCode(200)
+                .body("categories.FOUR_STARS", greaterThan(0));
+    }
+
+    @Test
+    void testSuggestHotels() {
+        given()
+                .queryParam("q", "пал")
+                .when().get("/api/v1/hotels/suggest")
+                .then()
+                .statusCode(200)
+                .body("name", hasItem("Невский Палас"));
+    }
+
+    @Test
+    void testSuggestHotelsWithoutQuery() {
+        given()
+                .when().get("/api/v1/hotels/suggest")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testReserveRooms() {
+        Integer roomTypeId = given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Люкс\",\"capacity\":2,\"totalRooms\":1}")
+                .when().post("/api/v1/hotels/1/room-types")
+                .then()
+                .statusCode(201)
+                .body("hotelId", equalTo(1))
+                .extract().path("id");
+
+        String checkIn = LocalDate.now().plusDays(10).toString();
+        String checkOut = LocalDate.now().plusDays(12).toString();
+        given()
+                .queryParam("city", "Москва")
+                .queryParam("checkIn", checkIn)
+                .queryParam("checkOut", checkOut)
+                .queryParam("guests", 2)
+                .when().get("/api/v1/hotels/available")
+                .then()
+                .statusCode(200)
+                .body("content.hotel.name", hasItem("Grand Hotel Moscow"));
+
+        String reservation = "{\"checkIn\":\"" + checkIn + "\",\"checkOut\":\"" + checkOut + "\",\"rooms\":1}";
+        given()
+                .contentType(ContentType.JSON)
+                .body(reservation)
+                .when().post("/api/v1/hotels/room-types/" + roomTypeId + "/reservations")
+                .then()
+                .statusCode(201);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(reservation)
+                .when().post("/api/v1/hotels/room-types/" + roomTypeId + "/reservations")
+                .then()
+                .statusCode(409);
+    }
+
+    @Test
+    void testAddRoomTypeToNonExistentHotel() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"Стандарт\",\"capacity\":2,\"totalRooms\":5}")
+                .when().post("/api/v1/hotels/9999/room-types")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    void testGetAvailableHotelsWithInvalidDates() {
+        given()
+                .queryParam("checkIn", "2030-01-10")
+                .queryParam("checkOut", "2030-01-05")
+                .when().get("/api/v1/hotels/available")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void testGetFacetsWithInvalidCategory() {
+        given()
+                .queryParam("category", "BAD")
+                .when().get("/api/v1/hotels/facets")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void testGetHotelById() {
         given()
@@ -64,6 +260,65 @@ class HotelResourceTest {
                 .body("address.city", notNullValue());
     }
 
+    @Test
+    void testGetHotelByIdWithNotes() {
+        given()
+                .when().get("/api/v1/hotels/1")
+                .then()
+                .statusCode(200)
+                .body("notes", nullValue());
+
+        given()
+                .queryParam("fields", "name,address,notes")
+                .when().get("/api/v1/hotels/1")
+                .then()
+                .statusCode(200)
+                .body("notes", notNullValue())
+                .body("address.city", notNullValue());
+    }
+
+    @Test
+    void testGetHotelAsProtobuf() throws Exception {
+        byte[] body = given()
+                .accept(HotelProtobufWriter.MEDIA_TYPE)
+                .when().get("/api/v1/hotels/1")
+                .then()
+                .statusCode(200)
+                .contentType(HotelProtobufWriter.MEDIA_TYPE)
+                .extract().asByteArray();
+
+        Hotel hotel = Hotel.parseFrom(body);
+        assertEquals(1L, hotel.getId());
+        assertEquals("Grand Hotel Moscow", hotel.getName());
+        assertEquals("Москва", hotel.getAddress().getCity());
+    }
+
+    @Test
+    void testEmptyNearbyPageAsProtobufFallsBackToJson() {
+        // Страница NearbyHotelDTO не имеет сообщения в hotel.proto и пустой, и непустой
+        given()
+                .accept(HotelProtobufWriter.MEDIA_TYPE)
+                .queryParam("lat", 0.0)
+                .queryParam("lon", 0.0)
+                .queryParam("radius", 1)
+                .when().get("/api/v1/hotels/nearby")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("content", hasSize(0));
+    }
+
+    @Test
+    void testGetHotelsByIdConcurrently() {
+        // Параллельные запросы разных ID объединяются в пакеты и получают каждый свой отель
+        IntStream.rangeClosed(1, 2).parallel()
+                .forEach(id -> given()
+                        .when().get("/api/v1/hotels/" + id)
+                        .then()
+                        .statusCode(200)
+                        .body("id", equalTo(id)));
+    }
+
     @Test
     void testGetHotelByIdNotFound() {
         given()
@@ -234,6 +489,53 @@ class HotelResourceTest {
                 .statusCode(404);
     }
 
+    @Test
+    void testGetHotelServedStaleWhenWildFlyUnavailable() {
+        given()
+                .when().get("/api/v1/hotels/1")
+                .then()
+                .statusCode(200)
+                .header("Warning", nullValue());
+
+        MockHotelService.unavailable = true;
+        try {
+            given()
+                    .when().get("/api/v1/hotels/1")
+                    .then()
+                    .statusCode(200)
+                    .body("id", equalTo(1))
+                    .header("Warning", containsString("110"))
+                    .header("Age", notNullValue());
+        } finally {
+            MockHotelService.unavailable = false;
+        }
+    }
+
+    @Test
+    void testHotKeys() {
+        IntStream.range(0, 5).forEach(i -> given()
+                .when().get("/api/v1/hotels/2")
+                .then()
+                .statusCode(200));
+
+        given()
+                .queryParam("limit", 10)
+                .when().get("/api/v1/admin/hot-keys")
+                .then()
+                .statusCode(200)
+                .body("id", hasItem(2))
+                .body("size()", lessThan(11));
+    }
+
+    @Test
+    void testHotKeysInvalidLimit() {
+        given()
+                .queryParam("limit", 0)
+                .when().get("/api/v1/admin/hot-keys")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void testHealthEndpoint() {
         given()
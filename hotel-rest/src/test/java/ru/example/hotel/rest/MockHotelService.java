@@ -2,22 +2,34 @@ package ru.example.hotel.rest;
 
 import io.quarkus.test.Mock;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Typed;
 import ru.example.hotel.api.dto.*;
 import ru.example.hotel.api.service.HotelServiceRemote;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Мок-реализация HotelServiceRemote для тестирования
  */
 @Mock
 @ApplicationScoped
+@Typed(HotelServiceRemote.class)
 public class MockHotelService implements HotelServiceRemote {
 
     private final Map<Long, HotelDTO> hotels = new ConcurrentHashMap<>();
     private final AtomicLong idGenerator = new AtomicLong(1);
+    private final Map<Long, RoomTypeDTO> roomTypes = new ConcurrentHashMap<>();
+    private final Map<Long, Map<LocalDate, Integer>> reservedRooms = new ConcurrentHashMap<>();
+    private final AtomicLong roomTypeIdGenerator = new AtomicLong(1);
+
+    /**
+     * Имитация недоступного WildFly для чтения отелей по ID
+     */
+    static volatile boolean unavailable;
 
     public MockHotelService() {
         // Добавить тестовые данные
@@ -32,6 +44,8 @@ public class MockHotelService implements HotelServiceRemote {
                         .city("Москва")
                         .street("Тверская улица")
                         .building("15")
+                        .latitude(55.7616)
+                        .longitude(37.6090)
                         .build())
                 .category(HotelCategory.FIVE_STARS)
                 .notes("Роскошный отель")
@@ -45,6 +59,8 @@ public class MockHotelService implements HotelServiceRemote {
                         .city("Санкт-Петербург")
                         .street("Невский проспект")
                         .building("28")
+                        .latitude(59.9355)
+                        .longitude(30.3250)
                         .build())
                 .category(HotelCategory.FOUR_STARS)
                 .build();
@@ -56,11 +72,8 @@ public class MockHotelService implements HotelServiceRemote {
         List<HotelDTO> allHotels = new ArrayList<>(hotels.values());
 
         // Сортировка
-        if (pageRequest.isSortAscending()) {
-            allHotels.sort(Comparator.comparing(HotelDTO::getName));
-        } else {
-            allHotels.sort(Comparator.comparing(HotelDTO::getName).reversed());
-        }
+        Comparator<HotelDTO> comparator = comparator(HotelSort.fromKey(pageRequest.getSortField()));
+        allHotels.sort(pageRequest.isSortAscending() ? comparator : comparator.reversed());
 
         // Пагинация
         int start = pageRequest.getOffset();
@@ -70,12 +83,240 @@ public class MockHotelService implements HotelServiceRemote {
                 ? allHotels.subList(start, end)
                 : Collections.emptyList();
 
+        // Проекция полей
+        page = page.stream()
+                .map(hotel -> HotelDTO.builder()
+                        .id(hotel.getId())
+                        .name(hotel.getName())
+                        .category(hotel.getCategory())
+                        .address(pageRequest.isIncludeAddress() ? hotel.getAddress() : null)
+                        .notes(pageRequest.isIncludeNotes() ? hotel.getNotes() : null)
+                        .build())
+                .collect(Collectors.toList());
+
         return PageResponse.of(page, pageRequest.getPage(), pageRequest.getSize(), allHotels.size());
     }
 
+    @Override
+    public List<HotelDTO> findPageAfter(PageRequest pageRequest, HotelDTO after) {
+        Comparator<HotelDTO> comparator = comparator(HotelSort.fromKey(pageRequest.getSortField()));
+        Comparator<HotelDTO> order = pageRequest.isSortAscending() ? comparator : comparator.reversed();
+        return hotels.values().stream()
+                .filter(hotel -> after == null || order.compare(hotel, after) > 0)
+                .sorted(order)
+                .limit(pageRequest.getSize())
+                .map(hotel -> HotelDTO.builder()
+                        .id(hotel.getId())
+                        .name(hotel.getName())
+                        .category(hotel.getCategory())
+                        .address(pageRequest.isIncludeAddress() ? hotel.getAddress() : null)
+                        .notes(pageRequest.isIncludeNotes() ? hotel.getNotes() : null)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static Comparator<HotelDTO> comparator(HotelSort sort) {
+        Comparator<HotelDTO> byName = Comparator.comparing(HotelDTO::getName);
+        // БД сортирует по category_rank (звёздность), отели без категории - первыми
+        Comparator<HotelDTO> byCategory = Comparator.comparing(
+                HotelDTO::getCategory, Comparator.nullsFirst(Comparator.naturalOrder()));
+        Comparator<HotelDTO> byCity = Comparator.comparing(hotel -> hotel.getAddress().getCity());
+        Comparator<HotelDTO> byId = Comparator.comparing(HotelDTO::getId);
+        switch (sort) {
+            case CATEGORY:
+                return byCategory.thenComparing(byId);
+            case CATEGORY_NAME:
+                return byCategory.thenComparing(byName).thenComparing(byId);
+            case CITY:
+                return byCity.thenComparing(byId);
+            case ID:
+                return byId;
+            case NAME:
+            default:
+                return byName.thenComparing(byId);
+        }
+    }
+
+    private static void checkAvailable() {
+        if (unavailable) {
+            throw new IllegalStateException("WildFly is unavailable");
+        }
+    }
+
     @Override
     public Optional<HotelDTO> findById(Long id) {
-        return Optional.ofNullable(hotels.get(id));
+        return findById(id, false);
+    }
+
+    @Override
+    public Optional<HotelDTO> findById(Long id, boolean includeNotes) {
+        checkAvailable();
+        return Optional.ofNullable(hotels.get(id)).map(hotel -> copy(hotel, includeNotes));
+    }
+
+    @Override
+    public List<HotelDTO> findByIds(List<Long> ids) {
+        checkAvailable();
+        return ids.stream()
+                .map(hotels::get)
+                .filter(Objects::nonNull)
+                .map(hotel -> copy(hotel, false))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponse<NearbyHotelDTO> findNearby(double latitude, double longitude, double radiusKm,
+                                                   PageRequest pageRequest) {
+        List<NearbyHotelDTO> found = hotels.values().stream()
+                .filter(hotel -> hotel.getAddress() != null && hotel.getAddress().getLatitude() != null
+                        && hotel.getAddress().getLongitude() != null)
+                .map(hotel -> NearbyHotelDTO.builder()
+                        .hotel(hotel)
+                        .distanceKm(distanceKm(latitude, longitude,
+                                hotel.getAddress().getLatitude(), hotel.getAddress().getLongitude()))
+                        .build())
+                .filter(nearby -> nearby.getDistanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(NearbyHotelDTO::getDistanceKm))
+                .collect(Collectors.toList());
+
+        int start = Math.min(pageRequest.getOffset(), found.size());
+        int end = Math.min(start + pageRequest.getSize(), found.size());
+        return PageResponse.of(found.subList(start, end), pageRequest.getPage(), pageRequest.getSize(), found.size());
+    }
+
+    private static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * 6371.0088 * Math.asin(Math.sqrt(a));
+    }
+
+    private static HotelDTO copy(HotelDTO hotel, boolean includeNotes) {
+        return HotelDTO.builder()
+                .id(hotel.getId())
+                .name(hotel.getName())
+                .category(hotel.getCategory())
+                .address(hotel.getAddress())
+                .notes(includeNotes ? hotel.getNotes() : null)
+                .build();
+    }
+
+    @Override
+    public HotelFacetsDTO facets(String city, HotelCategory category, int cityLimit) {
+        Map<HotelCategory, Long> categories = hotels.values().stream()
+                .filter(hotel -> city == null || hotel.getAddress() != null && city.equals(hotel.getAddress().getCity()))
+                .filter(hotel -> hotel.getCategory() != null)
+                .collect(Collectors.groupingBy(HotelDTO::getCategory, Collectors.counting()));
+        Map<String, Long> cities = hotels.values().stream()
+                .filter(hotel -> category == null || category == hotel.getCategory())
+                .filter(hotel -> hotel.getAddress() != null && hotel.getAddress().getCity() != null)
+                .collect(Collectors.groupingBy(hotel -> hotel.getAddress().getCity(), Collectors.counting()));
+        long total = hotels.values().stream()
+                .filter(hotel -> city == null || hotel.getAddress() != null && city.equals(hotel.getAddress().getCity()))
+                .filter(hotel -> category == null || category == hotel.getCategory())
+                .count();
+
+        Map<String, Long> topCities = new LinkedHashMap<>();
+        cities.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(cityLimit)
+                .forEach(entry -> topCities.put(entry.getKey(), entry.getValue()));
+
+        return HotelFacetsDTO.builder()
+                .total(total)
+                .categories(categories)
+                .cities(topCities)
+                .build();
+    }
+
+    @Override
+    public List<HotelSuggestionDTO> suggest(String query, int limit) {
+        String prefix = query.trim().toLowerCase();
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        return hotels.values().stream()
+                .filter(hotel -> Arrays.stream(hotel.getName().toLowerCase().split("\\s+"))
+                        .anyMatch(word -> word.startsWith(prefix)) || hotel.getName().toLowerCase().startsWith(prefix))
+                .sorted(Comparator.comparing(HotelDTO::getId))
+                .limit(limit)
+                .map(hotel -> HotelSuggestionDTO.builder()
+                        .id(hotel.getId())
+                        .name(hotel.getName())
+                        .city(hotel.getAddress() != null ? hotel.getAddress().getCity() : null)
+                        .category(hotel.getCategory())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<RoomTypeDTO> addRoomType(Long hotelId, RoomTypeDTO roomType) {
+        if (!hotels.containsKey(hotelId)) {
+            return Optional.empty();
+        }
+        roomType.setId(roomTypeIdGenerator.getAndIncrement());
+        roomType.setHotelId(hotelId);
+        roomTypes.put(roomType.getId(), roomType);
+        return Optional.of(roomType);
+    }
+
+    @Override
+    public List<RoomTypeDTO> findRoomTypes(Long hotelId) {
+        return roomTypes.values().stream()
+                .filter(roomType -> roomType.getHotelId().equals(hotelId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PageResponse<AvailableHotelDTO> findAvailable(String city, LocalDate checkIn, LocalDate checkOut,
+                                                         int guests, int rooms, PageRequest pageRequest) {
+        List<AvailableHotelDTO> found = hotels.values().stream()
+                .filter(hotel -> city == null || hotel.getAddress() != null && city.equals(hotel.getAddress().getCity()))
+                .sorted(Comparator.comparing(HotelDTO::getId))
+                .map(hotel -> AvailableHotelDTO.builder()
+                        .hotel(hotel)
+                        .rooms(findRoomTypes(hotel.getId()).stream()
+                                .filter(roomType -> roomType.getCapacity() >= guests)
+                                .map(roomType -> RoomAvailabilityDTO.builder()
+                                        .roomTypeId(roomType.getId())
+                                        .name(roomType.getName())
+                                        .capacity(roomType.getCapacity())
+                                        .available(available(roomType, checkIn, checkOut))
+                                        .build())
+                                .filter(availability -> availability.getAvailable() >= rooms)
+                                .collect(Collectors.toList()))
+                        .build())
+                .filter(available -> !available.getRooms().isEmpty())
+                .collect(Collectors.toList());
+
+        int start = Math.min(pageRequest.getOffset(), found.size());
+        int end = Math.min(start + pageRequest.getSize(), found.size());
+        return PageResponse.of(found.subList(start, end), pageRequest.getPage(), pageRequest.getSize(), found.size());
+    }
+
+    @Override
+    public synchronized ReservationStatus reserve(ReservationDTO reservation) {
+        RoomTypeDTO roomType = roomTypes.get(reservation.getRoomTypeId());
+        if (roomType == null) {
+            return ReservationStatus.ROOM_TYPE_NOT_FOUND;
+        }
+        if (available(roomType, reservation.getCheckIn(), reservation.getCheckOut()) < reservation.getRooms()) {
+            return ReservationStatus.SOLD_OUT;
+        }
+        Map<LocalDate, Integer> reserved = reservedRooms.computeIfAbsent(roomType.getId(), id -> new HashMap<>());
+        reservation.getCheckIn().datesUntil(reservation.getCheckOut())
+                .forEach(day -> reserved.merge(day, reservation.getRooms(), Integer::sum));
+        return ReservationStatus.CONFIRMED;
+    }
+
+    private int available(RoomTypeDTO roomType, LocalDate checkIn, LocalDate checkOut) {
+        Map<LocalDate, Integer> reserved = reservedRooms.getOrDefault(roomType.getId(), Map.of());
+        return checkIn.datesUntil(checkOut)
+                .mapToInt(day -> roomType.getTotalRooms() - reserved.getOrDefault(day, 0))
+                .min()
+                .orElse(0);
     }
 
     @Override
@@ -90,13 +331,13 @@ public class MockHotelService implements HotelServiceRemote {
     }
 
     @Override
-    public HotelDTO update(Long id, HotelDTO hotelDTO) {
+    public Optional<HotelDTO> update(Long id, HotelDTO hotelDTO) {
         if (!hotels.containsKey(id)) {
-            throw new IllegalArgumentException("Hotel not found with id: " + id);
+            return Optional.empty();
         }
         hotelDTO.setId(id);
         hotels.put(id, hotelDTO);
-        return hotelDTO;
+        return Optional.of(hotelDTO);
     }
 
     @Override
@@ -109,6 +350,28 @@ public class MockHotelService implements HotelServiceRemote {
         return hotels.size();
     }
 
+    @Override
+    public HotelChangesDTO changesSince(String epoch, long sequence) {
+        // Журнал изменений не ведётся: клиент всегда загружает каталог целиком
+        return HotelChangesDTO.builder()
+                .epoch("mock")
+                .sequence(0)
+                .complete(false)
+                .changed(List.of())
+                .deleted(List.of())
+                .build();
+    }
+
+    @Override
+    public List<HotelDTO> findCatalogPage(long afterId, int limit) {
+        return hotels.values().stream()
+                .filter(hotel -> hotel.getId() > afterId)
+                .sorted(Comparator.comparing(HotelDTO::getId))
+                .limit(limit)
+                .map(hotel -> copy(hotel, false))
+                .collect(Collectors.toList());
+    }
+
     // Метод для очистки данных в тестах
     public void clear() {
         hotels.clear();
@@ -0,0 +1,95 @@
+package ru.example.hotel.rest.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.example.hotel.api.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты LastKnownGoodCache: когда чтение получает сохранённую копию
+ */
+class LastKnownGoodCacheTest {
+
+    private final StaleResponse staleResponse = new StaleResponse();
+    private final LastKnownGoodCache cache = new LastKnownGoodCache();
+
+    @BeforeEach
+    void setUp() {
+        cache.staleResponse = staleResponse;
+        cache.enabled = true;
+        cache.maxEntries = 100;
+        cache.maxAgeSeconds = 3600;
+        cache.waitMillis = 500;
+        cache.init();
+    }
+
+    @Test
+    void testEveryReadCallsRemoteInline() {
+        List<Long> waits = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        for (int i = 1; i <= 3; i++) {
+            int version = i;
+            Integer value = cache.get("key", wait -> {
+                assertEquals(caller, Thread.currentThread());
+                waits.add(wait);
+                return version;
+            });
+            assertEquals(version, value);
+        }
+        // Пока копии нет, ожидание не ограничивается; с копией - wait-ms
+        assertEquals(List.of(LastKnownGoodCache.NO_WAIT_LIMIT, 500L, 500L), waits);
+        assertFalse(staleResponse.isStale());
+    }
+
+    @Test
+    void testServesCopyOnFailure() {
+        cache.get("key", wait -> "fresh");
+        String value = cache.get("key", wait -> {
+            throw new IllegalStateException("WildFly is unavailable");
+        });
+        assertEquals("fresh", value);
+        assertTrue(staleResponse.isStale());
+    }
+
+    @Test
+    void testFailureWithoutCopyAndCallerErrorsPropagate() {
+        assertThrows(IllegalStateException.class, () -> cache.get("missing", wait -> {
+            throw new IllegalStateException("WildFly is unavailable");
+        }));
+        cache.get("key", wait -> "fresh");
+        assertThrows(InvalidRequestException.class, () -> cache.get("key", wait -> {
+            throw new InvalidRequestException("bad request");
+        }));
+        assertFalse(staleResponse.isStale());
+    }
+
+    @Test
+    void testReadBeforeEvictionDoesNotRestoreCopy() {
+        cache.get("key", wait -> "old");
+        // Изменение через сервис удаляет копию, пока чтение старого значения ещё выполняется
+        cache.get("key", wait -> {
+            cache.evict("key");
+            return "old";
+        });
+        assertThrows(IllegalStateException.class, () -> cache.get("key", wait -> {
+            throw new IllegalStateException("WildFly is unavailable");
+        }));
+    }
+
+    @Test
+    void testEmptyResultRemovesCopy() {
+        cache.get(1L, wait -> Optional.of("hotel"));
+        cache.get(1L, wait -> Optional.empty());
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, wait -> {
+            throw new IllegalStateException("WildFly is unavailable");
+        }));
+    }
+}
@@ -0,0 +1,162 @@
+package ru.example.hotel.rest.format;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.ws.rs.core.GenericEntity;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.api.dto.NearbyHotelDTO;
+import ru.example.hotel.api.dto.PageResponse;
+import ru.example.hotel.rest.exception.ErrorResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DirectJsonWriter (HotelJson/JsonOutput) должен совпадать с Jackson побайтно
+ */
+class DirectJsonWriterTest {
+
+    /**
+     * Объявленный тип страницы отелей, как у HotelResource.getAllHotels
+     */
+    private static final Type HOTEL_PAGE = new GenericEntity<PageResponse<HotelDTO>>(
+            PageResponse.of(List.of(), 0, 10, 0)) {}.getType();
+
+    /**
+     * Как ObjectMapper Quarkus с настройками quarkus.jackson из application.properties
+     */
+    private final ObjectMapper mapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final DirectJsonWriter writer = new DirectJsonWriter();
+
+    @BeforeEach
+    void setUp() {
+        writer.mapper = mapper;
+        writer.enabled = true;
+    }
+
+    @Test
+    void testFullHotel() throws Exception {
+        assertSameAsJackson(hotel(1L, "Grand Hotel Moscow", "Роскошный отель в центре Москвы"));
+    }
+
+    @Test
+    void testNullAndAbsentFields() throws Exception {
+        assertSameAsJackson(HotelDTO.builder().build());
+        assertSameAsJackson(HotelDTO.builder().id(2L).name("Без адреса").build());
+        assertSameAsJackson(HotelDTO.builder()
+                .id(3L)
+                .address(AddressDTO.builder().city("Казань").build())
+                .category(HotelCategory.ONE_STAR)
+                .build());
+    }
+
+    @Test
+    void testControlCharacters() throws Exception {
+        StringBuilder controls = new StringBuilder();
+        for (char c = 0; c < 0x20; c++) {
+            controls.append(c);
+        }
+        controls.append("\"\\/\u007F");
+        assertSameAsJackson(hotel(4L, controls.toString(), "tab\there\r\nnew line"));
+    }
+
+    @Test
+    void testUnicode() throws Exception {
+        // Разделители строк JavaScript, символ вне BMP (пара суррогатов) и одиночные суррогаты
+        assertSameAsJackson(hotel(5L, "line\u2028separator\u2029paragraph", "€ ✓ 日本"));
+        assertSameAsJackson(hotel(6L, "Отель 🏨", "😀😀"));
+        assertSameAsJackson(hotel(7L, "lone high \uD83C end", "lone low \uDFE8 end"));
+        assertSameAsJackson(hotel(8L, "\uDFE8\uD83C", "\uD83C"));
+    }
+
+    @Test
+    void testCoordinates() throws Exception {
+        for (double value : new double[]{0.0, -0.0, 55.7558, -122.4194, 1e-7, 1.0E21, Double.MIN_VALUE,
+                Double.MAX_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            HotelDTO hotel = hotel(9L, "Координаты", null);
+            hotel.getAddress().setLatitude(value);
+            hotel.getAddress().setLongitude(-value);
+            assertSameAsJackson(hotel);
+        }
+    }
+
+    @Test
+    void testPage() throws Exception {
+        List<HotelDTO> content = Arrays.asList(hotel(1L, "Первый", null), null, HotelDTO.builder().id(3L).build());
+        assertSameAsJackson(PageResponse.of(content, 1, 3, 10), HOTEL_PAGE);
+        assertSameAsJackson(PageResponse.of(List.<HotelDTO>of(), 0, 10, 0), HOTEL_PAGE);
+    }
+
+    @Test
+    void testHotelPageDecidedByDeclaredType() {
+        assertTrue(HotelProtobufWriter.supports(HOTEL_PAGE));
+        assertTrue(HotelProtobufWriter.supports(HotelDTO.class));
+        // Пустая страница другого DTO - не HotelPage, как и непустая
+        assertFalse(HotelProtobufWriter.supports(new GenericEntity<PageResponse<NearbyHotelDTO>>(
+                PageResponse.of(List.of(), 0, 10, 0)) {}.getType()));
+        assertFalse(HotelProtobufWriter.supports(PageResponse.class));
+    }
+
+    @Test
+    void testError() throws Exception {
+        assertSameAsJackson(ErrorResponse.of(404, "Отель с ID 1 не найден"));
+        assertSameAsJackson(ErrorResponse.of(400, "Ошибка валидации ", Arrays.asList("name: \"пусто\"", null)));
+        assertSameAsJackson(ErrorResponse.builder()
+                .status(500)
+                .timestamp(LocalDateTime.of(2024, 1, 2, 3, 4))
+                .build());
+        assertSameAsJackson(ErrorResponse.builder()
+                .status(503)
+                .timestamp(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000))
+                .build());
+    }
+
+    private void assertSameAsJackson(Object entity) throws Exception {
+        assertSameAsJackson(entity, entity.getClass());
+    }
+
+    private void assertSameAsJackson(Object entity, Type genericType) throws Exception {
+        ByteArrayOutputStream direct = new ByteArrayOutputStream();
+        writer.writeTo(entity, entity.getClass(), genericType, null, MediaType.APPLICATION_JSON_TYPE, null, direct);
+        byte[] expected = mapper.writeValueAsBytes(entity);
+        assertEquals(new String(expected, StandardCharsets.ISO_8859_1), new String(direct.toByteArray(), StandardCharsets.ISO_8859_1),
+                () -> "Jackson: " + new String(expected, StandardCharsets.UTF_8));
+    }
+
+    private static HotelDTO hotel(Long id, String name, String notes) {
+        return HotelDTO.builder()
+                .id(id)
+                .name(name)
+                .address(AddressDTO.builder()
+                        .id(id)
+                        .postalCode("101000")
+                        .city("Москва")
+                        .street("Тверская улица")
+                        .building("15")
+                        .latitude(55.7616)
+                        .longitude(37.6090)
+                        .build())
+                .category(HotelCategory.FIVE_STARS)
+                .notes(notes)
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.example.hotel.rest.it;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Интеграционные тесты чтения примечаний через весь стек: hotel-rest -> Remote EJB -> WildFly -> MariaDB
+ *
+ * Требуют запущенного docker-compose (init.sql: у отеля 1 есть примечания) и выполняются профилем it:
+ * mvn verify -Pit -pl hotel-rest [-Dhotel.it.base-url=http://localhost:8081]
+ */
+class HotelNotesIT {
+
+    private static final String BASE_URL = System.getProperty("hotel.it.base-url", "http://localhost:8081");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void getHotelWithNotes() throws Exception {
+        JsonNode hotel = get("/api/v1/hotels/1?fields=id,name,address,notes");
+
+        assertEquals(1, hotel.get("id").asInt());
+        assertFalse(hotel.path("notes").asText().isEmpty());
+        assertTrue(hotel.hasNonNull("address"));
+    }
+
+    @Test
+    void trimmedAddressDoesNotLeakIntoOtherResponses() throws Exception {
+        JsonNode trimmed = get("/api/v1/hotels/1?fields=id,name");
+        assertTrue(trimmed.path("address").isMissingNode() || trimmed.get("address").isNull());
+
+        JsonNode full = get("/api/v1/hotels/1");
+        assertTrue(full.hasNonNull("address"));
+    }
+
+    @Test
+    void listWithNotes() throws Exception {
+        JsonNode page = get("/api/v1/hotels?fields=id,name,notes&sortBy=id&size=5");
+
+        assertTrue(page.get("content").size() > 0);
+        assertFalse(page.get("content").get(0).path("notes").asText().isEmpty());
+    }
+
+    private JsonNode get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                        .header("Accept", "application/json")
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), path + ": " + response.body());
+        return mapper.readTree(response.body());
+    }
+}
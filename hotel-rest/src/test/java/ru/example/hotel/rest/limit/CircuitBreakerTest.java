@@ -0,0 +1,96 @@
+package ru.example.hotel.rest.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ejb.EJBException;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Тесты переходов CircuitBreaker: CLOSED -> OPEN -> HALF_OPEN -> CLOSED/OPEN
+ */
+class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CircuitBreaker breaker = new CircuitBreaker();
+
+    @BeforeEach
+    void setUp() {
+        breaker.registry = registry;
+        breaker.enabled = true;
+        breaker.failureThreshold = 5;
+        breaker.openMillis = 100;
+        breaker.init();
+    }
+
+    @Test
+    void testWrappedValidationErrorsDoNotOpen() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(EJBException.class, () -> breaker.call(() -> {
+                throw new EJBException(new ConstraintViolationException("name: must not be blank", Set.of()));
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+        assertEquals("ok", breaker.call(() -> "ok"));
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        fail(4);
+        // Успех сбрасывает счётчик отказов подряд
+        breaker.call(() -> "ok");
+        fail(4);
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, state());
+        CircuitOpenException open = assertThrows(CircuitOpenException.class, () -> breaker.call(() -> "not called"));
+        assertEquals(1, open.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testTrialCallClosesOrReopens() throws InterruptedException {
+        fail(5);
+        Thread.sleep(150);
+
+        // Неудачная проба снова размыкает цепь
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, state());
+        assertThrows(CircuitOpenException.class, () -> breaker.call(() -> "not called"));
+
+        Thread.sleep(150);
+        assertEquals("ok", breaker.call(() -> "ok"));
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+    }
+
+    @Test
+    void testOnlyOneTrialCall() throws InterruptedException {
+        fail(5);
+        Thread.sleep(150);
+
+        String result = breaker.call(() -> {
+            assertEquals(CircuitBreaker.State.HALF_OPEN, state());
+            assertThrows(CircuitOpenException.class, () -> breaker.call(() -> "concurrent"));
+            return "trial";
+        });
+        assertEquals("trial", result);
+        assertEquals(CircuitBreaker.State.CLOSED, state());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(EJBException.class, () -> breaker.call(() -> {
+                throw new EJBException("Connection reset");
+            }));
+        }
+    }
+
+    private CircuitBreaker.State state() {
+        return CircuitBreaker.State.values()[(int) registry.get("hotel.remote.circuit").gauge().value()];
+    }
+}
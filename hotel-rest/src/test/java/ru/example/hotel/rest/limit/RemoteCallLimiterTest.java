@@ -0,0 +1,95 @@
+package ru.example.hotel.rest.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ejb.EJBException;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.example.hotel.api.exception.InvalidRequestException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Тесты бюджетов RemoteCallLimiter: какие исходы вызова снижают предел
+ */
+class RemoteCallLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RemoteCallLimiter limiter = new RemoteCallLimiter();
+
+    @BeforeEach
+    void setUp() {
+        limiter.registry = registry;
+        limiter.enabled = true;
+        limiter.readInitial = 50;
+        limiter.readMin = 5;
+        limiter.readMax = 400;
+        limiter.writeInitial = 10;
+        limiter.writeMin = 2;
+        limiter.writeMax = 50;
+        // Без сглаживания по задержкам предел меняют только отказы: задержки вызовов в тесте - шум
+        limiter.smoothing = 0.0;
+        limiter.probeMultiplier = 30;
+        limiter.retryAfterSeconds = 1;
+        limiter.init();
+    }
+
+    @Test
+    void testCallerErrorsDoNotLowerLimit() {
+        for (int i = 0; i < 5; i++) {
+            // Нарушение Bean Validation на стороне WildFly приходит обёрнутым в EJBException
+            assertThrows(EJBException.class, () -> limiter.write(() -> {
+                throw new EJBException(new ConstraintViolationException("name: must not be blank", Set.of()));
+            }));
+            assertThrows(InvalidRequestException.class, () -> limiter.write(() -> {
+                throw new InvalidRequestException("Invalid reservation");
+            }));
+            assertThrows(EJBException.class, () -> limiter.read(() -> {
+                throw new EJBException(new IllegalArgumentException("Unknown hotel category"));
+            }));
+        }
+
+        assertEquals(10, limit("write"));
+        assertEquals(50, limit("read"));
+        assertEquals(0, inFlight("write"));
+    }
+
+    @Test
+    void testFailuresLowerLimit() {
+        assertThrows(EJBException.class, () -> limiter.write(() -> {
+            throw new EJBException("Connection reset");
+        }));
+        assertEquals(9, limit("write"));
+
+        for (int i = 0; i < 20; i++) {
+            assertThrows(IllegalStateException.class, () -> limiter.write(() -> {
+                throw new IllegalStateException("timed out");
+            }));
+        }
+        assertEquals(2, limit("write"));
+        assertEquals(50, limit("read"));
+    }
+
+    @Test
+    void testRejectsOverLimit() {
+        limiter.writeInitial = 2;
+        limiter.init();
+
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+                () -> limiter.write(() -> limiter.write(() -> limiter.write(() -> "third"))));
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals("ok", limiter.write(() -> limiter.write(() -> "ok")));
+        assertEquals(0, inFlight("write"));
+    }
+
+    private double limit(String budget) {
+        return registry.get("hotel.remote.limit").tag("budget", budget).gauge().value();
+    }
+
+    private double inFlight(String budget) {
+        return registry.get("hotel.remote.in_flight").tag("budget", budget).gauge().value();
+    }
+}
@@ -0,0 +1,160 @@
+package ru.example.hotel.rest.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelChangesDTO;
+import ru.example.hotel.api.dto.HotelDTO;
+import ru.example.hotel.rest.MockHotelService;
+import ru.example.hotel.rest.limit.CircuitBreaker;
+import ru.example.hotel.rest.limit.RemoteCallLimiter;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты CatalogMirror: загрузка каталога, догоняние журнала и ответы из копии
+ */
+class CatalogMirrorTest {
+
+    @TempDir
+    Path directory;
+
+    private final ScriptedHotelService hotelService = new ScriptedHotelService();
+    private final CatalogMirror mirror = new CatalogMirror();
+
+    @BeforeEach
+    void setUp() {
+        // Отключённые ограничители выполняют вызов напрямую
+        mirror.breaker = new CircuitBreaker();
+        mirror.limiter = new RemoteCallLimiter();
+        mirror.hotelService = hotelService;
+        mirror.enabled = true;
+        mirror.file = directory.resolve("catalog.snapshot").toString();
+        mirror.maxLagMillis = 60_000;
+        // Страницы по одному отелю: загрузка проходит каталог в несколько вызовов
+        mirror.pageSize = 1;
+        mirror.rewriteThreshold = 10_000;
+    }
+
+    @Test
+    void testServesAfterCatchingUp() {
+        hotelService.log.add(position(false, 5));
+        mirror.refresh();
+        // Каталог загружен, но журнал с его позиции ещё не догнан
+        assertFalse(mirror.isServing());
+
+        hotelService.log.add(changes(6, List.of(renamed(1L)), List.of(2L)));
+        mirror.refresh();
+        assertTrue(mirror.isServing());
+        assertEquals("Grand Hotel Moscow (renamed)", mirror.find(1L).orElseThrow().getName());
+        assertTrue(mirror.find(2L).isEmpty());
+        assertTrue(mirror.find(99L).isEmpty());
+    }
+
+    @Test
+    void testClientsWhoWroteRecentlyAreNotServed() {
+        hotelService.log.add(position(false, 5));
+        mirror.refresh();
+        mirror.refresh();
+        assertTrue(mirror.isServing(Set.of("session-1")));
+
+        mirror.recordWrite(Set.of("session-1"));
+        // Запись клиента может ещё не дойти до копии из журнала: его чтения идут в WildFly
+        assertFalse(mirror.isServing(Set.of("session-1")));
+        assertTrue(mirror.isServing(Set.of("session-2")));
+        assertTrue(mirror.isServing(Set.of()));
+    }
+
+    @Test
+    void testRewriteMergesChanges() throws Exception {
+        mirror.rewriteThreshold = 1;
+        hotelService.log.add(position(false, 5));
+        mirror.refresh();
+        hotelService.log.add(changes(6, List.of(renamed(1L)), List.of(2L)));
+        mirror.refresh();
+
+        CatalogSnapshot rewritten = CatalogSnapshot.open(directory.resolve("catalog.snapshot"));
+        assertEquals(1, rewritten.size());
+        assertEquals(6, rewritten.getSequence());
+        assertTrue(mirror.isServing());
+        assertEquals("Grand Hotel Moscow (renamed)", mirror.find(1L).orElseThrow().getName());
+        assertTrue(mirror.find(2L).isEmpty());
+    }
+
+    @Test
+    void testReloadDoesNotSkipHotelsDeletedDuringLoad() {
+        hotelService.create(HotelDTO.builder()
+                .name("Казань Палас")
+                .category(HotelCategory.FIVE_STARS)
+                .build());
+        // Отель 1 удаляется сразу после первой страницы: смещение следующей страницы пропустило бы отель 2
+        hotelService.deleteAfterFirstPage = 1L;
+        hotelService.log.add(position(false, 5));
+        mirror.refresh();
+        hotelService.log.add(changes(6, List.of(), List.of(1L)));
+        mirror.refresh();
+
+        assertTrue(mirror.isServing());
+        assertTrue(mirror.find(1L).isEmpty());
+        assertEquals("Невский Палас", mirror.find(2L).orElseThrow().getName());
+        assertEquals("Казань Палас", mirror.find(3L).orElseThrow().getName());
+    }
+
+    private static HotelChangesDTO position(boolean complete, long sequence) {
+        return HotelChangesDTO.builder()
+                .epoch("test")
+                .sequence(sequence)
+                .complete(complete)
+                .changed(List.of())
+                .deleted(List.of())
+                .build();
+    }
+
+    private static HotelChangesDTO changes(long sequence, List<HotelDTO> changed, List<Long> deleted) {
+        HotelChangesDTO changes = position(true, sequence);
+        changes.setChanged(changed);
+        changes.setDeleted(deleted);
+        return changes;
+    }
+
+    private HotelDTO renamed(Long id) {
+        HotelDTO hotel = hotelService.findById(id).orElseThrow();
+        hotel.setName(hotel.getName() + " (renamed)");
+        return hotel;
+    }
+
+    /**
+     * MockHotelService с заранее заданными ответами журнала изменений
+     */
+    private static class ScriptedHotelService extends MockHotelService {
+
+        final Deque<HotelChangesDTO> log = new ArrayDeque<>();
+
+        Long deleteAfterFirstPage;
+
+        @Override
+        public HotelChangesDTO changesSince(String epoch, long sequence) {
+            // Ответы кончились: новых изменений нет
+            return log.isEmpty() ? changes(sequence, List.of(), List.of()) : log.poll();
+        }
+
+        @Override
+        public List<HotelDTO> findCatalogPage(long afterId, int limit) {
+            List<HotelDTO> page = super.findCatalogPage(afterId, limit);
+            if (deleteAfterFirstPage != null) {
+                delete(deleteAfterFirstPage);
+                deleteAfterFirstPage = null;
+            }
+            return page;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.example.hotel.rest.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.example.hotel.api.dto.AddressDTO;
+import ru.example.hotel.api.dto.HotelCategory;
+import ru.example.hotel.api.dto.HotelDTO;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Тесты формата снимка каталога
+ */
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndFind() throws Exception {
+        HotelDTO moscow = HotelDTO.builder()
+                .id(7L)
+                .name("Гостиница «Москва»")
+                .address(AddressDTO.builder()
+                        .id(70L)
+                        .postalCode("101000")
+                        .city("Москва")
+                        .street("Охотный ряд")
+                        .building("2")
+                        .latitude(55.7573)
+                        .longitude(37.6166)
+                        .build())
+                .category(HotelCategory.FIVE_STARS)
+                .build();
+        HotelDTO noAddress = HotelDTO.builder()
+                .id(3L)
+                .name("Без адреса")
+                .build();
+        Path file = directory.resolve("catalog.snapshot");
+
+        CatalogSnapshot.write(file, "epoch-1", 42, List.of(moscow, noAddress));
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertEquals("epoch-1", snapshot.getEpoch());
+        assertEquals(42, snapshot.getSequence());
+        assertEquals(2, snapshot.size());
+        assertEquals(moscow, snapshot.find(7).orElseThrow());
+        assertEquals(noAddress, snapshot.find(3).orElseThrow());
+        assertTrue(snapshot.find(5).isEmpty());
+    }
+
+    @Test
+    void testForEachInIdOrder() throws Exception {
+        List<HotelDTO> hotels = new ArrayList<>();
+        for (long id = 100; id > 0; id--) {
+            hotels.add(HotelDTO.builder()
+                    .id(id)
+                    .name("Hotel " + id)
+                    .address(AddressDTO.builder().city(id % 2 == 0 ? "Казань" : "Сочи").build())
+                    .build());
+        }
+        Path file = directory.resolve("catalog.snapshot");
+        CatalogSnapshot.write(file, "epoch-2", 0, hotels);
+
+        List<Long> ids = new ArrayList<>();
+        CatalogSnapshot.open(file).forEach(hotel -> ids.add(hotel.getId()));
+
+        assertEquals(100, ids.size());
+        assertEquals(1L, ids.get(0));
+        assertEquals(100L, ids.get(99));
+        assertEquals("Казань", CatalogSnapshot.open(file).find(42).orElseThrow().getAddress().getCity());
+    }
+}
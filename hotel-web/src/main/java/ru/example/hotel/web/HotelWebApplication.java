@@ -0,0 +1,14 @@
+package ru.example.hotel.web;
+
+import jakarta.ws.rs.ApplicationPath;
+import jakarta.ws.rs.core.Application;
+
+/**
+ * JAX-RS приложение для co-located режима
+ *
+ * Ресурсы из hotel-jaxrs работают внутри WildFly и получают HotelService через CDI:
+ * это Local-представление HotelServiceBean, вызов идёт по ссылке без сериализации и сети
+ */
+@ApplicationPath("/")
+public class HotelWebApplication extends Application {
+}